@@ -0,0 +1,27 @@
+package com.banque.accountservice.client;
+
+import feign.RequestInterceptor;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Forwards the caller's Authorization header. Deliberately not a @Configuration so it
+ * only applies to the Feign clients that reference it.
+ */
+public class AuthForwardingFeignConfig {
+
+    @Bean
+    public RequestInterceptor authForwardingInterceptor() {
+        return template -> {
+            if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+                HttpServletRequest request = attributes.getRequest();
+                String authHeader = request.getHeader("Authorization");
+                if (authHeader != null && !authHeader.isEmpty()) {
+                    template.header("Authorization", authHeader);
+                }
+            }
+        };
+    }
+}
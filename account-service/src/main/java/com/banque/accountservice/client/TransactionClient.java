@@ -0,0 +1,14 @@
+package com.banque.accountservice.client;
+
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+
+@FeignClient(name = "transaction-service", url = "${feign.client.config.transaction-service.url}",
+        configuration = AuthForwardingFeignConfig.class)
+public interface TransactionClient {
+
+    // Invalidate transaction-service's cached view of an account after a status change
+    @DeleteMapping("/api/transactions/cache/accounts/{accountNumber}")
+    void evictAccount(@PathVariable("accountNumber") String accountNumber);
+}
@@ -0,0 +1,100 @@
+package com.banque.accountservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings for the in-memory account number filter ({@code account.number-filter.*}).
+ */
+@Component
+@ConfigurationProperties(prefix = "account.number-filter")
+public class AccountNumberFilterProperties {
+
+    // Off: every lookup goes to the database
+    private boolean enabled = true;
+    private double falsePositiveRate = 0.01;
+    // Lower bound on the filter capacity, whatever the current table size
+    private long minExpectedInsertions = 1_000_000;
+    // Capacity = accounts at build time x headroom; a fuller filter is rebuilt early
+    private double headroom = 1.5;
+    private long rebuildIntervalMs = 600000;
+    // Accounts created by other instances become visible after at most this delay
+    private long catchUpIntervalMs = 1000;
+    // Ids re-read behind the high-water mark (AUTO_INCREMENT ids may commit out of order)
+    private int catchUpLookback = 1000;
+    private int scanPageSize = 10000;
+    // Without a successful catch-up for this long, negative answers are no longer trusted
+    private long maxStalenessMs = 5000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public double getFalsePositiveRate() {
+        return falsePositiveRate;
+    }
+
+    public void setFalsePositiveRate(double falsePositiveRate) {
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    public long getMinExpectedInsertions() {
+        return minExpectedInsertions;
+    }
+
+    public void setMinExpectedInsertions(long minExpectedInsertions) {
+        this.minExpectedInsertions = minExpectedInsertions;
+    }
+
+    public double getHeadroom() {
+        return headroom;
+    }
+
+    public void setHeadroom(double headroom) {
+        this.headroom = headroom;
+    }
+
+    public long getRebuildIntervalMs() {
+        return rebuildIntervalMs;
+    }
+
+    public void setRebuildIntervalMs(long rebuildIntervalMs) {
+        this.rebuildIntervalMs = rebuildIntervalMs;
+    }
+
+    public long getCatchUpIntervalMs() {
+        return catchUpIntervalMs;
+    }
+
+    public void setCatchUpIntervalMs(long catchUpIntervalMs) {
+        this.catchUpIntervalMs = catchUpIntervalMs;
+    }
+
+    public int getCatchUpLookback() {
+        return catchUpLookback;
+    }
+
+    public void setCatchUpLookback(int catchUpLookback) {
+        this.catchUpLookback = catchUpLookback;
+    }
+
+    public int getScanPageSize() {
+        return scanPageSize;
+    }
+
+    public void setScanPageSize(int scanPageSize) {
+        this.scanPageSize = scanPageSize;
+    }
+
+    public long getMaxStalenessMs() {
+        return maxStalenessMs;
+    }
+
+    public void setMaxStalenessMs(long maxStalenessMs) {
+        this.maxStalenessMs = maxStalenessMs;
+    }
+}
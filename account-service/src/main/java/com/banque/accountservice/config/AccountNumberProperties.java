@@ -0,0 +1,23 @@
+package com.banque.accountservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings for the block account number allocator ({@code account.numbers.*}).
+ */
+@Component
+@ConfigurationProperties(prefix = "account.numbers")
+public class AccountNumberProperties {
+
+    // Numbers reserved per database round trip; unused numbers of a block are lost on shutdown
+    private int blockSize = 100;
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    public void setBlockSize(int blockSize) {
+        this.blockSize = blockSize;
+    }
+}
@@ -3,25 +3,47 @@ package com.banque.accountservice.config;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import java.util.concurrent.TimeUnit;
+import java.util.List;
 
 @Configuration
 public class CacheConfig {
 
+    // Account views by account number (AccountDTO, balances included)
+    public static final String ACCOUNTS = "accounts";
+    // Owning client id by account number; an account never changes owner
+    public static final String CLIENTS = "clients";
+    // Account lists by client id
+    public static final String ACCOUNTS_BY_CLIENT = "accountsByClient";
+    // Positive existence checks by account number; accounts are closed, never deleted
+    public static final String ACCOUNT_EXISTS = "accountExists";
+
+    private static final List<String> CACHE_NAMES = List.of(ACCOUNTS, CLIENTS, ACCOUNTS_BY_CLIENT, ACCOUNT_EXISTS);
+
+    /**
+     * Every cache is registered up front with its own size and TTL, so that actuator binds
+     * {@code cache.gets}, {@code cache.puts} and {@code cache.evictions} for each of them at startup.
+     * Puts and evictions are deferred until the surrounding transaction commits: an eviction
+     * can no longer be followed by a reader re-caching the uncommitted previous state.
+     */
     @Bean
-    public CacheManager cacheManager() {
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager(
-                "accounts", "clients", "accountsByClient"
-        );
+    public CacheManager cacheManager(CacheProperties properties) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // Static mode: an unknown cache name is a configuration error, not a new unbounded cache
+        cacheManager.setCacheNames(List.of());
 
-        cacheManager.setCaffeine(Caffeine.newBuilder()
-                .expireAfterWrite(15, TimeUnit.MINUTES)
-                .maximumSize(1000)
-                .recordStats());
+        for (String name : CACHE_NAMES) {
+            CacheProperties.Spec spec = properties.specFor(name);
+            cacheManager.registerCustomCache(name, Caffeine.newBuilder()
+                    .expireAfterWrite(spec.getExpireAfterWrite())
+                    .maximumSize(spec.getMaximumSize())
+                    .recordStats()
+                    .build());
+        }
 
-        return cacheManager;
+        return new TransactionAwareCacheManagerProxy(cacheManager);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,58 @@
+package com.banque.accountservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings for fund holds and the expiry sweeper ({@code account.holds.*}).
+ */
+@Component
+@ConfigurationProperties(prefix = "account.holds")
+public class HoldProperties {
+
+    private long defaultTtlSeconds = 604800;
+    private long maxTtlSeconds = 2592000;
+    private long sweepIntervalMs = 60000;
+    private int sweepChunkSize = 500;
+    private int maxChunksPerSweep = 20;
+
+    public long getDefaultTtlSeconds() {
+        return defaultTtlSeconds;
+    }
+
+    public void setDefaultTtlSeconds(long defaultTtlSeconds) {
+        this.defaultTtlSeconds = defaultTtlSeconds;
+    }
+
+    public long getMaxTtlSeconds() {
+        return maxTtlSeconds;
+    }
+
+    public void setMaxTtlSeconds(long maxTtlSeconds) {
+        this.maxTtlSeconds = maxTtlSeconds;
+    }
+
+    public long getSweepIntervalMs() {
+        return sweepIntervalMs;
+    }
+
+    public void setSweepIntervalMs(long sweepIntervalMs) {
+        this.sweepIntervalMs = sweepIntervalMs;
+    }
+
+    public int getSweepChunkSize() {
+        return sweepChunkSize;
+    }
+
+    public void setSweepChunkSize(int sweepChunkSize) {
+        this.sweepChunkSize = sweepChunkSize;
+    }
+
+    public int getMaxChunksPerSweep() {
+        return maxChunksPerSweep;
+    }
+
+    public void setMaxChunksPerSweep(int maxChunksPerSweep) {
+        this.maxChunksPerSweep = maxChunksPerSweep;
+    }
+}
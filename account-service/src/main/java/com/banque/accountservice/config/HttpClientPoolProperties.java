@@ -0,0 +1,89 @@
+package com.banque.accountservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Connection pool settings of the Feign clients ({@code http-client.pool.*}).
+ */
+@Component
+@ConfigurationProperties(prefix = "http-client.pool")
+public class HttpClientPoolProperties {
+
+    private int maxTotal = 200;
+    private int maxPerRoute = 50;
+    // Base URL of a target service -> maximum number of connections to it
+    private Map<String, Integer> routeLimits = new HashMap<>();
+    private long connectTimeoutMs = 5000;
+    private long socketTimeoutMs = 5000;
+    private long timeToLiveSeconds = 300;
+    private long idleEvictionSeconds = 30;
+    private long validateAfterInactivityMs = 2000;
+
+    public int getMaxTotal() {
+        return maxTotal;
+    }
+
+    public void setMaxTotal(int maxTotal) {
+        this.maxTotal = maxTotal;
+    }
+
+    public int getMaxPerRoute() {
+        return maxPerRoute;
+    }
+
+    public void setMaxPerRoute(int maxPerRoute) {
+        this.maxPerRoute = maxPerRoute;
+    }
+
+    public Map<String, Integer> getRouteLimits() {
+        return routeLimits;
+    }
+
+    public void setRouteLimits(Map<String, Integer> routeLimits) {
+        this.routeLimits = routeLimits;
+    }
+
+    public long getConnectTimeoutMs() {
+        return connectTimeoutMs;
+    }
+
+    public void setConnectTimeoutMs(long connectTimeoutMs) {
+        this.connectTimeoutMs = connectTimeoutMs;
+    }
+
+    public long getSocketTimeoutMs() {
+        return socketTimeoutMs;
+    }
+
+    public void setSocketTimeoutMs(long socketTimeoutMs) {
+        this.socketTimeoutMs = socketTimeoutMs;
+    }
+
+    public long getTimeToLiveSeconds() {
+        return timeToLiveSeconds;
+    }
+
+    public void setTimeToLiveSeconds(long timeToLiveSeconds) {
+        this.timeToLiveSeconds = timeToLiveSeconds;
+    }
+
+    public long getIdleEvictionSeconds() {
+        return idleEvictionSeconds;
+    }
+
+    public void setIdleEvictionSeconds(long idleEvictionSeconds) {
+        this.idleEvictionSeconds = idleEvictionSeconds;
+    }
+
+    public long getValidateAfterInactivityMs() {
+        return validateAfterInactivityMs;
+    }
+
+    public void setValidateAfterInactivityMs(long validateAfterInactivityMs) {
+        this.validateAfterInactivityMs = validateAfterInactivityMs;
+    }
+}
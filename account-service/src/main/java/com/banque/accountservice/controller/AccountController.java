@@ -3,7 +3,11 @@ package com.banque.accountservice.controller;
 import com.banque.accountservice.dto.AccountCreationDTO;
 import com.banque.accountservice.dto.AccountDTO;
 import com.banque.accountservice.dto.AccountResponseDTO;
+import com.banque.accountservice.dto.AccountSummaryDTO;
+import com.banque.accountservice.dto.AccountTransferDTO;
+import com.banque.accountservice.dto.AccountTransferResultDTO;
 import com.banque.accountservice.dto.AccountUpdateDTO;
+import com.banque.accountservice.dto.BalanceCreditDTO;
 import com.banque.accountservice.model.AccountType;
 import com.banque.accountservice.service.AccountService;
 import jakarta.validation.Valid;
@@ -43,6 +47,12 @@ public class AccountController {
         return ResponseEntity.ok(clientId);
     }
 
+    @GetMapping("/{accountNumber}/summary")
+    @PreAuthorize("hasAnyRole('USER', 'EMPLOYEE', 'ADMIN')")
+    public ResponseEntity<AccountSummaryDTO> getAccountSummary(@PathVariable String accountNumber) {
+        return ResponseEntity.ok(accountService.getAccountSummary(accountNumber));
+    }
+
     @PostMapping
     @PreAuthorize("hasAnyRole('EMPLOYEE', 'ADMIN')")
     public ResponseEntity<AccountResponseDTO> createAccount(@Valid @RequestBody AccountCreationDTO accountCreationDTO) {
@@ -96,11 +106,39 @@ public class AccountController {
     @PreAuthorize("hasAnyRole('EMPLOYEE', 'ADMIN')")
     public ResponseEntity<AccountDTO> updateBalance(
             @PathVariable String accountNumber,
-            @RequestParam BigDecimal amount) {
-        AccountDTO updatedAccount = accountService.updateBalance(accountNumber, amount);
+            @RequestParam BigDecimal amount,
+            @RequestParam(required = false) String reference) {
+        AccountDTO updatedAccount = accountService.updateBalance(accountNumber, amount, reference);
         return ResponseEntity.ok(updatedAccount);
     }
 
+    // Same authority as PUT /balance: a transfer writes two balances
+    @PostMapping("/transfers")
+    @PreAuthorize("hasAnyRole('EMPLOYEE', 'ADMIN')")
+    public ResponseEntity<AccountTransferResultDTO> transfer(@Valid @RequestBody AccountTransferDTO transferDTO) {
+        AccountTransferResultDTO result = accountService.transfer(transferDTO);
+        return ResponseEntity.ok(result);
+    }
+
+    @PostMapping("/transfers/cancel")
+    @PreAuthorize("hasAnyRole('EMPLOYEE', 'ADMIN')")
+    public ResponseEntity<AccountTransferResultDTO> cancelTransfer(@Valid @RequestBody AccountTransferDTO transferDTO) {
+        return ResponseEntity.ok(accountService.cancelTransfer(transferDTO));
+    }
+
+    @PostMapping("/exists")
+    @PreAuthorize("hasAnyRole('USER', 'EMPLOYEE', 'ADMIN')")
+    public ResponseEntity<List<String>> findActiveAccountNumbers(@RequestBody List<String> accountNumbers) {
+        return ResponseEntity.ok(accountService.findActiveAccountNumbers(accountNumbers));
+    }
+
+    @PostMapping("/credits")
+    @PreAuthorize("hasAnyRole('EMPLOYEE', 'ADMIN')")
+    public ResponseEntity<Integer> creditAccounts(@RequestBody List<BalanceCreditDTO> credits,
+            @RequestParam(required = false) String reference) {
+        return ResponseEntity.ok(accountService.creditAccounts(reference, credits));
+    }
+
     @PutMapping("/{accountId}/close")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<AccountResponseDTO> closeAccount(@PathVariable Long accountId) {
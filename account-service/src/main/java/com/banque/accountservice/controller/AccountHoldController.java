@@ -0,0 +1,64 @@
+package com.banque.accountservice.controller;
+
+import com.banque.accountservice.dto.AccountHoldDTO;
+import com.banque.accountservice.dto.HoldCaptureDTO;
+import com.banque.accountservice.dto.HoldRequestDTO;
+import com.banque.accountservice.service.AccountHoldService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/accounts")
+@CrossOrigin(origins = "http://localhost:8080")
+public class AccountHoldController {
+
+    private final AccountHoldService holdService;
+
+    public AccountHoldController(AccountHoldService holdService) {
+        this.holdService = holdService;
+    }
+
+    @PostMapping("/{accountNumber}/holds")
+    @PreAuthorize("hasAnyRole('EMPLOYEE', 'ADMIN')")
+    public ResponseEntity<AccountHoldDTO> placeHold(@PathVariable String accountNumber,
+                                                    @Valid @RequestBody HoldRequestDTO request) {
+        return new ResponseEntity<>(holdService.placeHold(accountNumber, request), HttpStatus.CREATED);
+    }
+
+    @GetMapping("/{accountNumber}/available-balance")
+    @PreAuthorize("hasAnyRole('USER', 'EMPLOYEE', 'ADMIN')")
+    public ResponseEntity<BigDecimal> getAvailableBalance(@PathVariable String accountNumber) {
+        return ResponseEntity.ok(holdService.getAvailableBalance(accountNumber));
+    }
+
+    @GetMapping("/holds/{holdId}")
+    @PreAuthorize("hasAnyRole('EMPLOYEE', 'ADMIN')")
+    public ResponseEntity<AccountHoldDTO> getHold(@PathVariable String holdId) {
+        return ResponseEntity.ok(holdService.getHold(holdId));
+    }
+
+    @PostMapping("/holds/{holdId}/capture")
+    @PreAuthorize("hasAnyRole('EMPLOYEE', 'ADMIN')")
+    public ResponseEntity<AccountHoldDTO> captureHold(@PathVariable String holdId,
+                                                      @RequestParam(required = false) BigDecimal amount) {
+        return ResponseEntity.ok(holdService.captureHold(holdId, amount));
+    }
+
+    @PostMapping("/holds/captures")
+    @PreAuthorize("hasAnyRole('EMPLOYEE', 'ADMIN')")
+    public ResponseEntity<Integer> captureHolds(@RequestBody List<HoldCaptureDTO> captures) {
+        return ResponseEntity.ok(holdService.captureHolds(captures));
+    }
+
+    @PostMapping("/holds/{holdId}/release")
+    @PreAuthorize("hasAnyRole('EMPLOYEE', 'ADMIN')")
+    public ResponseEntity<AccountHoldDTO> releaseHold(@PathVariable String holdId) {
+        return ResponseEntity.ok(holdService.releaseHold(holdId));
+    }
+}
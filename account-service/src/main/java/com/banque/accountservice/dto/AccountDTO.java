@@ -10,6 +10,8 @@ public class AccountDTO {
     private String accountNumber;
     private AccountType accountType;
     private BigDecimal balance;
+    private BigDecimal heldAmount;
+    private BigDecimal availableBalance;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private LocalDateTime closedAt;
@@ -56,6 +58,22 @@ public class AccountDTO {
         this.balance = balance;
     }
 
+    public BigDecimal getHeldAmount() {
+        return heldAmount;
+    }
+
+    public void setHeldAmount(BigDecimal heldAmount) {
+        this.heldAmount = heldAmount;
+    }
+
+    public BigDecimal getAvailableBalance() {
+        return availableBalance;
+    }
+
+    public void setAvailableBalance(BigDecimal availableBalance) {
+        this.availableBalance = availableBalance;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
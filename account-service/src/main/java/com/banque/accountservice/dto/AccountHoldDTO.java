@@ -0,0 +1,62 @@
+package com.banque.accountservice.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class AccountHoldDTO {
+    private String id;
+    private String accountNumber;
+    private BigDecimal amount;
+    private BigDecimal capturedAmount;
+    private String status;
+    private LocalDateTime expiresAt;
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    public void setAccountNumber(String accountNumber) {
+        this.accountNumber = accountNumber;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public BigDecimal getCapturedAmount() {
+        return capturedAmount;
+    }
+
+    public void setCapturedAmount(BigDecimal capturedAmount) {
+        this.capturedAmount = capturedAmount;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,57 @@
+package com.banque.accountservice.dto;
+
+import com.banque.accountservice.model.AccountType;
+
+public class AccountSummaryDTO {
+    private String accountNumber;
+    private Long clientId;
+    private boolean active;
+    private AccountType accountType;
+
+    public AccountSummaryDTO() {
+    }
+
+    public AccountSummaryDTO(String accountNumber, Long clientId, boolean active) {
+        this.accountNumber = accountNumber;
+        this.clientId = clientId;
+        this.active = active;
+    }
+
+    public AccountSummaryDTO(String accountNumber, Long clientId, boolean active, AccountType accountType) {
+        this(accountNumber, clientId, active);
+        this.accountType = accountType;
+    }
+
+    // Getters and Setters
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    public void setAccountNumber(String accountNumber) {
+        this.accountNumber = accountNumber;
+    }
+
+    public Long getClientId() {
+        return clientId;
+    }
+
+    public void setClientId(Long clientId) {
+        this.clientId = clientId;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public void setActive(boolean active) {
+        this.active = active;
+    }
+
+    public AccountType getAccountType() {
+        return accountType;
+    }
+
+    public void setAccountType(AccountType accountType) {
+        this.accountType = accountType;
+    }
+}
@@ -0,0 +1,93 @@
+package com.banque.accountservice.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class AccountTransferResultDTO {
+    private String sourceAccountNumber;
+    private Long sourceClientId;
+    private BigDecimal sourceBalance;
+    private String destinationAccountNumber;
+    private Long destinationClientId;
+    private BigDecimal amount;
+    private LocalDateTime timestamp;
+    private String reference;
+    private String status;
+
+    public AccountTransferResultDTO() {
+        this.timestamp = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public String getSourceAccountNumber() {
+        return sourceAccountNumber;
+    }
+
+    public void setSourceAccountNumber(String sourceAccountNumber) {
+        this.sourceAccountNumber = sourceAccountNumber;
+    }
+
+    public Long getSourceClientId() {
+        return sourceClientId;
+    }
+
+    public void setSourceClientId(Long sourceClientId) {
+        this.sourceClientId = sourceClientId;
+    }
+
+    public BigDecimal getSourceBalance() {
+        return sourceBalance;
+    }
+
+    public void setSourceBalance(BigDecimal sourceBalance) {
+        this.sourceBalance = sourceBalance;
+    }
+
+    public String getDestinationAccountNumber() {
+        return destinationAccountNumber;
+    }
+
+    public void setDestinationAccountNumber(String destinationAccountNumber) {
+        this.destinationAccountNumber = destinationAccountNumber;
+    }
+
+    public Long getDestinationClientId() {
+        return destinationClientId;
+    }
+
+    public void setDestinationClientId(Long destinationClientId) {
+        this.destinationClientId = destinationClientId;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(LocalDateTime timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    public String getReference() {
+        return reference;
+    }
+
+    public void setReference(String reference) {
+        this.reference = reference;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+}
@@ -0,0 +1,32 @@
+package com.banque.accountservice.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+import java.math.BigDecimal;
+
+public class HoldCaptureDTO {
+
+    @NotBlank(message = "Hold id is required")
+    private String holdId;
+
+    // Optional; the full hold is captured when absent, otherwise the remainder is released
+    @Positive(message = "Amount must be positive")
+    private BigDecimal amount;
+
+    // Getters and Setters
+    public String getHoldId() {
+        return holdId;
+    }
+
+    public void setHoldId(String holdId) {
+        this.holdId = holdId;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+}
@@ -0,0 +1,33 @@
+package com.banque.accountservice.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import java.math.BigDecimal;
+
+public class HoldRequestDTO {
+
+    @NotNull(message = "Amount is required")
+    @Positive(message = "Amount must be positive")
+    private BigDecimal amount;
+
+    // Optional; defaults to account.holds.default-ttl-seconds, capped at account.holds.max-ttl-seconds
+    @Positive(message = "TTL must be positive")
+    private Long ttlSeconds;
+
+    // Getters and Setters
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public Long getTtlSeconds() {
+        return ttlSeconds;
+    }
+
+    public void setTtlSeconds(Long ttlSeconds) {
+        this.ttlSeconds = ttlSeconds;
+    }
+}
@@ -0,0 +1,8 @@
+package com.banque.accountservice.exception;
+
+public class AccountInactiveException extends RuntimeException {
+
+    public AccountInactiveException(String accountNumber) {
+        super("Account is not active: " + accountNumber);
+    }
+}
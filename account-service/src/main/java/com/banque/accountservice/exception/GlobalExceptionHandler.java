@@ -27,6 +27,36 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(AccountInactiveException.class)
+    public ResponseEntity<AccountResponseDTO> handleAccountInactiveException(AccountInactiveException ex, WebRequest request) {
+        AccountResponseDTO errorResponse = AccountResponseDTO.failure(ex.getMessage());
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(TransferCancelledException.class)
+    public ResponseEntity<AccountResponseDTO> handleTransferCancelledException(TransferCancelledException ex, WebRequest request) {
+        AccountResponseDTO errorResponse = AccountResponseDTO.failure(ex.getMessage());
+        return new ResponseEntity<>(errorResponse, HttpStatus.GONE);
+    }
+
+    @ExceptionHandler(HoldNotFoundException.class)
+    public ResponseEntity<AccountResponseDTO> handleHoldNotFoundException(HoldNotFoundException ex, WebRequest request) {
+        AccountResponseDTO errorResponse = AccountResponseDTO.failure(ex.getMessage());
+        return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(HoldNotActiveException.class)
+    public ResponseEntity<AccountResponseDTO> handleHoldNotActiveException(HoldNotActiveException ex, WebRequest request) {
+        AccountResponseDTO errorResponse = AccountResponseDTO.failure(ex.getMessage());
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<AccountResponseDTO> handleIllegalArgumentException(IllegalArgumentException ex, WebRequest request) {
+        AccountResponseDTO errorResponse = AccountResponseDTO.failure(ex.getMessage());
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, String>> handleValidationExceptions(MethodArgumentNotValidException ex) {
         Map<String, String> errors = new HashMap<>();
@@ -0,0 +1,10 @@
+package com.banque.accountservice.exception;
+
+import com.banque.accountservice.model.AccountHold;
+
+public class HoldNotActiveException extends RuntimeException {
+
+    public HoldNotActiveException(String holdId, AccountHold.Status status) {
+        super(String.format("Hold %s is no longer active (status: %s)", holdId, status));
+    }
+}
@@ -0,0 +1,8 @@
+package com.banque.accountservice.exception;
+
+public class HoldNotFoundException extends RuntimeException {
+
+    public HoldNotFoundException(String holdId) {
+        super("Hold not found: " + holdId);
+    }
+}
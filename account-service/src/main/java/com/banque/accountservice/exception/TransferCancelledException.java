@@ -0,0 +1,15 @@
+package com.banque.accountservice.exception;
+
+public class TransferCancelledException extends RuntimeException {
+
+    private final String reference;
+
+    public TransferCancelledException(String reference) {
+        super(String.format("Transfer %s has been cancelled and cannot be applied", reference));
+        this.reference = reference;
+    }
+
+    public String getReference() {
+        return reference;
+    }
+}
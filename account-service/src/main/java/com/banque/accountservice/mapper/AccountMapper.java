@@ -0,0 +1,44 @@
+package com.banque.accountservice.mapper;
+
+import com.banque.accountservice.dto.AccountDTO;
+import com.banque.accountservice.model.Account;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hand-written {@link Account} to {@link AccountDTO} mapping: plain getter/setter calls, no reflective
+ * introspection or property descriptor lookups per conversion. A field added to both classes must be
+ * added here as well.
+ */
+public final class AccountMapper {
+
+    private AccountMapper() {
+    }
+
+    public static AccountDTO toDTO(Account account) {
+        AccountDTO dto = new AccountDTO();
+        dto.setId(account.getId());
+        // Reads the foreign key only: a lazy client proxy is not initialized by getId()
+        dto.setClientId(account.getClient() == null ? null : account.getClient().getId());
+        dto.setAccountNumber(account.getAccountNumber());
+        dto.setAccountType(account.getAccountType());
+        dto.setBalance(account.getBalance());
+        dto.setHeldAmount(account.getHeldAmount());
+        dto.setAvailableBalance(account.getAvailableBalance());
+        dto.setCreatedAt(account.getCreatedAt());
+        dto.setUpdatedAt(account.getUpdatedAt());
+        dto.setClosedAt(account.getClosedAt());
+        dto.setActive(account.isActive());
+        return dto;
+    }
+
+    // Presized list, no stream pipeline
+    public static List<AccountDTO> toDTOs(List<Account> accounts) {
+        List<AccountDTO> dtos = new ArrayList<>(accounts.size());
+        for (Account account : accounts) {
+            dtos.add(toDTO(account));
+        }
+        return dtos;
+    }
+}
@@ -0,0 +1,22 @@
+package com.banque.accountservice.mapper;
+
+import com.banque.accountservice.dto.ClientCreationDTO;
+import com.banque.accountservice.model.Client;
+
+/**
+ * Hand-written mapping between {@link Client} and its DTOs.
+ */
+public final class ClientMapper {
+
+    private ClientMapper() {
+    }
+
+    public static Client toEntity(ClientCreationDTO dto) {
+        Client client = new Client();
+        client.setFirstName(dto.getFirstName());
+        client.setLastName(dto.getLastName());
+        client.setEmail(dto.getEmail());
+        client.setPhoneNumber(dto.getPhoneNumber());
+        return client;
+    }
+}
@@ -22,6 +22,10 @@ public class Account {
     @Column(nullable = false, precision = 19, scale = 4)
     private BigDecimal balance;
 
+    // Sum of the ACTIVE holds on this account, maintained by every place/capture/release/expiry
+    @Column(nullable = false, precision = 19, scale = 4)
+    private BigDecimal heldAmount;
+
     @Column(nullable = false)
     private LocalDateTime createdAt;
 
@@ -34,8 +38,8 @@ public class Account {
     @Column(nullable = false)
     private boolean active;
 
-    // Relation avec Client
-    @ManyToOne
+    // Relation avec Client : chargée à la demande ; getClient().getId() lit la clé étrangère sans requête
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "client_id", nullable = false)
     private Client client;
 
@@ -44,6 +48,7 @@ public class Account {
         this.createdAt = LocalDateTime.now();
         this.active = true;
         this.balance = BigDecimal.ZERO;
+        this.heldAmount = BigDecimal.ZERO;
     }
 
     // Getters and Setters
@@ -79,6 +84,19 @@ public class Account {
         this.balance = balance;
     }
 
+    public BigDecimal getHeldAmount() {
+        return heldAmount;
+    }
+
+    public void setHeldAmount(BigDecimal heldAmount) {
+        this.heldAmount = heldAmount;
+    }
+
+    // Balance that debits may still use: funds reserved by holds are excluded
+    public BigDecimal getAvailableBalance() {
+        return balance.subtract(heldAmount);
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
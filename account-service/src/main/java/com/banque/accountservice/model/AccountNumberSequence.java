@@ -0,0 +1,35 @@
+package com.banque.accountservice.model;
+
+import jakarta.persistence.*;
+
+@Entity
+@Table(name = "account_number_sequences")
+public class AccountNumberSequence {
+
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    // First value of the next block to hand out
+    @Column(nullable = false)
+    private long nextVal;
+
+    public AccountNumberSequence() {
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public long getNextVal() {
+        return nextVal;
+    }
+
+    public void setNextVal(long nextVal) {
+        this.nextVal = nextVal;
+    }
+}
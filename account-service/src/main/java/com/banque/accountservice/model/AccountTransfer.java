@@ -0,0 +1,129 @@
+package com.banque.accountservice.model;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "account_transfers")
+public class AccountTransfer {
+
+    public enum Status {
+        APPLIED, CANCELLED, REVERSED
+    }
+
+    @Id
+    @Column(length = 64)
+    private String reference;
+
+    @Column(nullable = false)
+    private String sourceAccountNumber;
+
+    @Column(nullable = false)
+    private String destinationAccountNumber;
+
+    @Column(nullable = false, precision = 19, scale = 4)
+    private BigDecimal amount;
+
+    @Column
+    private Long sourceClientId;
+
+    @Column
+    private Long destinationClientId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Status status;
+
+    @Column
+    private LocalDateTime createdAt;
+
+    @Column
+    private LocalDateTime updatedAt;
+
+    public AccountTransfer() {
+    }
+
+    public AccountTransfer(String reference, String sourceAccountNumber, String destinationAccountNumber,
+                           BigDecimal amount, Status status) {
+        this.reference = reference;
+        this.sourceAccountNumber = sourceAccountNumber;
+        this.destinationAccountNumber = destinationAccountNumber;
+        this.amount = amount;
+        this.status = status;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public String getReference() {
+        return reference;
+    }
+
+    public void setReference(String reference) {
+        this.reference = reference;
+    }
+
+    public String getSourceAccountNumber() {
+        return sourceAccountNumber;
+    }
+
+    public void setSourceAccountNumber(String sourceAccountNumber) {
+        this.sourceAccountNumber = sourceAccountNumber;
+    }
+
+    public String getDestinationAccountNumber() {
+        return destinationAccountNumber;
+    }
+
+    public void setDestinationAccountNumber(String destinationAccountNumber) {
+        this.destinationAccountNumber = destinationAccountNumber;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public Long getSourceClientId() {
+        return sourceClientId;
+    }
+
+    public void setSourceClientId(Long sourceClientId) {
+        this.sourceClientId = sourceClientId;
+    }
+
+    public Long getDestinationClientId() {
+        return destinationClientId;
+    }
+
+    public void setDestinationClientId(Long destinationClientId) {
+        this.destinationClientId = destinationClientId;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,66 @@
+package com.banque.accountservice.model;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "balance_movements")
+public class BalanceMovement {
+
+    @Id
+    @Column(length = 64)
+    private String reference;
+
+    @Column(nullable = false)
+    private int accountCount;
+
+    @Column(nullable = false, precision = 19, scale = 4)
+    private BigDecimal totalAmount;
+
+    @Column
+    private LocalDateTime createdAt;
+
+    public BalanceMovement() {
+    }
+
+    public BalanceMovement(String reference, int accountCount, BigDecimal totalAmount) {
+        this.reference = reference;
+        this.accountCount = accountCount;
+        this.totalAmount = totalAmount;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public String getReference() {
+        return reference;
+    }
+
+    public void setReference(String reference) {
+        this.reference = reference;
+    }
+
+    public int getAccountCount() {
+        return accountCount;
+    }
+
+    public void setAccountCount(int accountCount) {
+        this.accountCount = accountCount;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public void setTotalAmount(BigDecimal totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
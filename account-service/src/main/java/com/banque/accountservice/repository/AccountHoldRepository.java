@@ -0,0 +1,37 @@
+package com.banque.accountservice.repository;
+
+import com.banque.accountservice.model.AccountHold;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AccountHoldRepository extends JpaRepository<AccountHold, String> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT h FROM AccountHold h WHERE h.id = :id")
+    Optional<AccountHold> findByIdForUpdate(@Param("id") String id);
+
+    // Locked in id order so that concurrent settlement batches cannot deadlock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT h FROM AccountHold h WHERE h.id IN :ids ORDER BY h.id")
+    List<AccountHold> findAllByIdForUpdate(@Param("ids") Collection<String> ids);
+
+    // SKIP LOCKED: holds being captured or released right now are left for the next sweep
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT h FROM AccountHold h WHERE h.status = com.banque.accountservice.model.AccountHold.Status.ACTIVE " +
+            "AND h.expiresAt <= :now ORDER BY h.expiresAt")
+    List<AccountHold> findExpiredForUpdate(@Param("now") LocalDateTime now, Pageable pageable);
+}
@@ -0,0 +1,20 @@
+package com.banque.accountservice.repository;
+
+import com.banque.accountservice.model.AccountNumberSequence;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface AccountNumberSequenceRepository extends JpaRepository<AccountNumberSequence, String> {
+
+    // Serializes block reservations between instances
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM AccountNumberSequence s WHERE s.name = :name")
+    Optional<AccountNumberSequence> findForUpdate(@Param("name") String name);
+}
@@ -1,11 +1,19 @@
 package com.banque.accountservice.repository;
 
+import com.banque.accountservice.dto.AccountSummaryDTO;
 import com.banque.accountservice.model.Account;
 import com.banque.accountservice.model.AccountType;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,8 +30,86 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
     @Query("SELECT a FROM Account a WHERE a.client.id = :clientId AND a.active = true")
     List<Account> findActiveAccountsByClientId(@Param("clientId") Long clientId);
 
+    // Verrou pessimiste (SELECT ... FOR UPDATE) pour les opérations de virement
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.accountNumber = :accountNumber")
+    Optional<Account> findByAccountNumberForUpdate(@Param("accountNumber") String accountNumber);
+
+    /**
+     * Applies a balance delta in a single guarded UPDATE. Credits always apply;
+     * debits only apply while the resulting available balance (balance minus holds)
+     * stays at or above the floor.
+     *
+     * @return the number of updated rows (0 if the account is missing or the floor would be crossed)
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Account a SET a.balance = a.balance + :amount, a.updatedAt = :updatedAt " +
+            "WHERE a.accountNumber = :accountNumber " +
+            "AND (:amount >= 0 OR a.balance - a.heldAmount + :amount >= :floor)")
+    int applyBalanceDelta(@Param("accountNumber") String accountNumber,
+                          @Param("amount") BigDecimal amount,
+                          @Param("floor") BigDecimal floor,
+                          @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Reserves funds on an active account in a single guarded UPDATE.
+     *
+     * @return 1 if the hold fits in the available balance, 0 otherwise
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Account a SET a.heldAmount = a.heldAmount + :amount, a.updatedAt = :updatedAt " +
+            "WHERE a.accountNumber = :accountNumber AND a.active = true " +
+            "AND a.balance - a.heldAmount >= :amount")
+    int reserve(@Param("accountNumber") String accountNumber,
+                @Param("amount") BigDecimal amount,
+                @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Settles holds on an account: debits the captured amount and drops the held amount
+     * (captured or released) from the reservations, in one UPDATE.
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Account a SET a.balance = a.balance - :captured, a.heldAmount = a.heldAmount - :held, " +
+            "a.updatedAt = :updatedAt WHERE a.accountNumber = :accountNumber")
+    int settleHolds(@Param("accountNumber") String accountNumber,
+                    @Param("captured") BigDecimal captured,
+                    @Param("held") BigDecimal held,
+                    @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Query("SELECT a.balance - a.heldAmount FROM Account a WHERE a.accountNumber = :accountNumber")
+    Optional<BigDecimal> findAvailableBalanceByAccountNumber(@Param("accountNumber") String accountNumber);
+
+    @Query("SELECT a.client.id FROM Account a WHERE a.accountNumber = :accountNumber")
+    Optional<Long> findClientIdByAccountNumber(@Param("accountNumber") String accountNumber);
+
+    @Query("SELECT c.email FROM Account a JOIN a.client c WHERE a.accountNumber = :accountNumber")
+    Optional<String> findClientEmailByAccountNumber(@Param("accountNumber") String accountNumber);
+
+    @Query("SELECT DISTINCT a.client.id FROM Account a WHERE a.accountNumber IN :accountNumbers")
+    List<Long> findClientIdsByAccountNumbers(@Param("accountNumbers") Collection<String> accountNumbers);
+
+    @Query("SELECT a.balance FROM Account a WHERE a.accountNumber = :accountNumber")
+    Optional<BigDecimal> findBalanceByAccountNumber(@Param("accountNumber") String accountNumber);
+
+    @Query("SELECT a.accountNumber FROM Account a WHERE a.accountNumber IN :accountNumbers AND a.active = true")
+    List<String> findActiveAccountNumbers(@Param("accountNumbers") Collection<String> accountNumbers);
+
+    @Query("SELECT new com.banque.accountservice.dto.AccountSummaryDTO(a.accountNumber, a.client.id, a.active, a.accountType) " +
+            "FROM Account a WHERE a.accountNumber = :accountNumber")
+    Optional<AccountSummaryDTO> findSummaryByAccountNumber(@Param("accountNumber") String accountNumber);
+
     boolean existsByAccountNumber(String accountNumber);
 
+    // Keyset scan over the primary key, used to build the account number filter
+    @Query("SELECT a.id AS id, a.accountNumber AS accountNumber FROM Account a WHERE a.id > :afterId ORDER BY a.id")
+    List<AccountNumberRow> findAccountNumbersAfter(@Param("afterId") long afterId, Pageable pageable);
+
+    interface AccountNumberRow {
+        Long getId();
+
+        String getAccountNumber();
+    }
+
     List<Account> findByAccountType(AccountType accountType);
 
  }
\ No newline at end of file
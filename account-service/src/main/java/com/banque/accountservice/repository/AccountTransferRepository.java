@@ -0,0 +1,9 @@
+package com.banque.accountservice.repository;
+
+import com.banque.accountservice.model.AccountTransfer;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AccountTransferRepository extends JpaRepository<AccountTransfer, String> {
+}
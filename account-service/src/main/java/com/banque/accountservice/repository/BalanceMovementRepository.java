@@ -0,0 +1,9 @@
+package com.banque.accountservice.repository;
+
+import com.banque.accountservice.model.BalanceMovement;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface BalanceMovementRepository extends JpaRepository<BalanceMovement, String> {
+}
@@ -0,0 +1,46 @@
+package com.banque.accountservice.rpc;
+
+/**
+ * Binary protocol of the internal account channel (transaction-service to account-service).
+ *
+ * <pre>
+ * request  : int length | long correlationId | byte opcode | payload
+ * response : int length | long correlationId | byte status | payload
+ * </pre>
+ *
+ * {@code length} counts the bytes that follow it. Strings and amounts are written with
+ * {@link java.io.DataOutput#writeUTF(String)}, amounts as {@code BigDecimal.toPlainString()}.
+ * The first request on a connection must be {@link #HELLO} carrying the shared secret.
+ * Requests may be pipelined; responses can come back in any order and are matched on
+ * the correlation id. A non-OK response carries a UTF error message.
+ * <p>
+ * Balance-changing requests start with the caller's roles (comma-separated, without the
+ * {@code ROLE_} prefix). The peer is trusted to report them, as it authenticated with the
+ * shared secret; the server applies the same role rules as the HTTP endpoints.
+ */
+public final class AccountRpcProtocol {
+
+    public static final int MAX_FRAME_LENGTH = 64 * 1024;
+
+    // Opcodes
+    public static final byte HELLO = 0;          // secret -> (empty)
+    public static final byte EXISTS = 1;         // accountNumber -> boolean
+    public static final byte BALANCE_CHECK = 2;  // accountNumber, amount -> boolean
+    public static final byte UPDATE_BALANCE = 3; // roles, accountNumber, amount -> (empty)
+    public static final byte SUMMARY = 4;        // accountNumber -> long clientId, boolean active, UTF accountType
+    public static final byte TRANSFER = 5;       // roles, source, destination, amount -> long, long, sourceBalance
+    public static final byte CLIENT_ID = 6;      // accountNumber -> long
+
+    // Status codes
+    public static final byte OK = 0;
+    public static final byte NOT_FOUND = 1;
+    public static final byte INSUFFICIENT_BALANCE = 2;
+    public static final byte INACTIVE = 3;
+    public static final byte BAD_REQUEST = 4;
+    public static final byte UNAUTHORIZED = 5;
+    public static final byte ERROR = 6;
+    public static final byte FORBIDDEN = 7;
+
+    private AccountRpcProtocol() {
+    }
+}
@@ -0,0 +1,310 @@
+package com.banque.accountservice.rpc;
+
+import com.banque.accountservice.dto.AccountSummaryDTO;
+import com.banque.accountservice.dto.AccountTransferDTO;
+import com.banque.accountservice.dto.AccountTransferResultDTO;
+import com.banque.accountservice.exception.AccountInactiveException;
+import com.banque.accountservice.exception.AccountNotFoundException;
+import com.banque.accountservice.exception.InsufficientBalanceException;
+import com.banque.accountservice.service.AccountService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.banque.accountservice.rpc.AccountRpcProtocol.*;
+
+/**
+ * Internal TCP endpoint serving the account operations used by transaction-service
+ * (see {@link AccountRpcProtocol}). A connection authenticates once with the shared
+ * secret, so there is no per-call JWT validation, and each connection can carry many
+ * in-flight requests. Balance updates and transfers carry the caller's roles and require
+ * EMPLOYEE or ADMIN, like PUT /balance and POST /transfers.
+ */
+@Component
+@ConditionalOnProperty(name = "account.rpc.enabled", havingValue = "true")
+public class AccountRpcServer implements SmartLifecycle {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AccountRpcServer.class);
+
+    // Roles allowed to change balances, as on the HTTP endpoints
+    private static final Set<String> BALANCE_WRITERS = Set.of("EMPLOYEE", "ADMIN");
+
+    private final AccountService accountService;
+    private final AccountRpcProperties properties;
+    private final byte[] secret;
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+
+    private volatile ServerSocket serverSocket;
+    private volatile boolean running;
+    private ExecutorService workers;
+
+    public AccountRpcServer(AccountService accountService, AccountRpcProperties properties) {
+        if (properties.getSecret() == null || properties.getSecret().isEmpty()) {
+            throw new IllegalStateException("account.rpc.secret must be set when account.rpc.enabled is true");
+        }
+        this.accountService = accountService;
+        this.properties = properties;
+        this.secret = properties.getSecret().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void start() {
+        try {
+            serverSocket = new ServerSocket(properties.getPort(), 128, InetAddress.getByName(properties.getBindAddress()));
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot open account RPC port " + properties.getPort(), e);
+        }
+        // Bounded queue: when it is full the connection reader runs the call itself, which
+        // stops it from reading further frames (backpressure on the client)
+        workers = new ThreadPoolExecutor(properties.getWorkerThreads(), properties.getWorkerThreads(),
+                60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(1000),
+                runnable -> newThread(runnable, "account-rpc-worker"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        running = true;
+        newThread(this::acceptLoop, "account-rpc-accept").start();
+        LOGGER.info("Account RPC channel listening on {}:{}", properties.getBindAddress(), properties.getPort());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            if (serverSocket != null) {
+                serverSocket.close();
+            }
+        } catch (IOException e) {
+            LOGGER.debug("Error closing account RPC server socket", e);
+        }
+        connections.forEach(this::closeQuietly);
+        if (workers != null) {
+            workers.shutdown();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                if (connections.size() >= properties.getMaxConnections()) {
+                    LOGGER.warn("Account RPC connection limit reached, rejecting {}", socket.getRemoteSocketAddress());
+                    closeQuietly(socket);
+                    continue;
+                }
+                socket.setTcpNoDelay(true);
+                connections.add(socket);
+                newThread(() -> serve(socket), "account-rpc-conn").start();
+            } catch (IOException e) {
+                if (running) {
+                    LOGGER.warn("Account RPC accept failed: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        ReentrantLock writeLock = new ReentrantLock();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()))) {
+
+            if (!authenticate(in, out)) {
+                return;
+            }
+
+            while (running) {
+                int length = in.readInt();
+                if (length < 9 || length > MAX_FRAME_LENGTH) {
+                    LOGGER.warn("Invalid account RPC frame length {} from {}", length, socket.getRemoteSocketAddress());
+                    return;
+                }
+                byte[] frame = new byte[length];
+                in.readFully(frame);
+                workers.execute(() -> respond(frame, out, writeLock));
+            }
+        } catch (EOFException e) {
+            // Client closed the connection
+        } catch (IOException e) {
+            if (running) {
+                LOGGER.debug("Account RPC connection {} closed: {}", socket.getRemoteSocketAddress(), e.getMessage());
+            }
+        } finally {
+            connections.remove(socket);
+            closeQuietly(socket);
+        }
+    }
+
+    private boolean authenticate(DataInputStream in, DataOutputStream out) throws IOException {
+        int length = in.readInt();
+        if (length < 9 || length > MAX_FRAME_LENGTH) {
+            return false;
+        }
+        long correlationId = in.readLong();
+        byte opcode = in.readByte();
+        byte[] presented = new byte[length - 9];
+        in.readFully(presented);
+
+        String candidate = opcode == HELLO
+                ? new DataInputStream(new ByteArrayInputStream(presented)).readUTF()
+                : "";
+        boolean accepted = MessageDigest.isEqual(secret, candidate.getBytes(StandardCharsets.UTF_8));
+        writeFrame(out, correlationId, accepted ? OK : UNAUTHORIZED,
+                accepted ? new byte[0] : error("Invalid RPC secret"));
+        out.flush();
+        return accepted;
+    }
+
+    private void respond(byte[] frame, DataOutputStream out, ReentrantLock writeLock) {
+        long correlationId = 0;
+        byte status;
+        byte[] payload;
+        try {
+            DataInputStream request = new DataInputStream(new ByteArrayInputStream(frame));
+            correlationId = request.readLong();
+            byte opcode = request.readByte();
+            payload = handle(opcode, request);
+            status = OK;
+        } catch (AccountNotFoundException e) {
+            status = NOT_FOUND;
+            payload = error(e.getMessage());
+        } catch (InsufficientBalanceException e) {
+            status = INSUFFICIENT_BALANCE;
+            payload = error(e.getMessage());
+        } catch (AccountInactiveException e) {
+            status = INACTIVE;
+            payload = error(e.getMessage());
+        } catch (AccessDeniedException e) {
+            status = FORBIDDEN;
+            payload = error(e.getMessage());
+        } catch (IllegalArgumentException | IOException e) {
+            status = BAD_REQUEST;
+            payload = error(e.getMessage());
+        } catch (RuntimeException e) {
+            LOGGER.error("Account RPC call failed", e);
+            status = ERROR;
+            payload = error(e.getMessage());
+        }
+
+        writeLock.lock();
+        try {
+            writeFrame(out, correlationId, status, payload);
+            out.flush();
+        } catch (IOException e) {
+            LOGGER.debug("Cannot write account RPC response: {}", e.getMessage());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private byte[] handle(byte opcode, DataInputStream request) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(32);
+        DataOutputStream response = new DataOutputStream(buffer);
+        switch (opcode) {
+            case EXISTS -> response.writeBoolean(accountService.accountExists(request.readUTF()));
+            case BALANCE_CHECK -> {
+                String accountNumber = request.readUTF();
+                response.writeBoolean(accountService.hasSufficientBalance(accountNumber, readAmount(request)));
+            }
+            case UPDATE_BALANCE -> {
+                requireBalanceWriter(request.readUTF());
+                String accountNumber = request.readUTF();
+                accountService.updateBalance(accountNumber, readAmount(request));
+            }
+            case SUMMARY -> {
+                AccountSummaryDTO summary = accountService.getAccountSummary(request.readUTF());
+                response.writeLong(summary.getClientId());
+                response.writeBoolean(summary.isActive());
+                response.writeUTF(summary.getAccountType() == null ? "" : summary.getAccountType().name());
+            }
+            case TRANSFER -> {
+                requireBalanceWriter(request.readUTF());
+                AccountTransferDTO transfer = new AccountTransferDTO();
+                transfer.setSourceAccountNumber(request.readUTF());
+                transfer.setDestinationAccountNumber(request.readUTF());
+                transfer.setAmount(readAmount(request));
+                AccountTransferResultDTO result = accountService.transfer(transfer);
+                response.writeLong(result.getSourceClientId());
+                response.writeLong(result.getDestinationClientId());
+                response.writeUTF(result.getSourceBalance().toPlainString());
+            }
+            case CLIENT_ID -> response.writeLong(accountService.getClientIdByAccountNumber(request.readUTF()));
+            default -> throw new IllegalArgumentException("Unknown opcode " + opcode);
+        }
+        response.flush();
+        return buffer.toByteArray();
+    }
+
+    private void requireBalanceWriter(String roles) {
+        if (Arrays.stream(roles.split(",")).map(String::trim).noneMatch(BALANCE_WRITERS::contains)) {
+            throw new AccessDeniedException("Balance changes require the EMPLOYEE or ADMIN role");
+        }
+    }
+
+    private BigDecimal readAmount(DataInputStream request) throws IOException {
+        try {
+            return new BigDecimal(request.readUTF());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid amount");
+        }
+    }
+
+    private void writeFrame(DataOutputStream out, long correlationId, byte status, byte[] payload) throws IOException {
+        out.writeInt(9 + payload.length);
+        out.writeLong(correlationId);
+        out.writeByte(status);
+        out.write(payload);
+    }
+
+    private byte[] error(String message) {
+        try {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            new DataOutputStream(buffer).writeUTF(message == null ? "" : message);
+            return buffer.toByteArray();
+        } catch (IOException e) {
+            return new byte[0];
+        }
+    }
+
+    private Thread newThread(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            LOGGER.debug("Error closing account RPC connection", e);
+        }
+    }
+}
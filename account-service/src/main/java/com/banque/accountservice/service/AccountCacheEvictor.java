@@ -0,0 +1,60 @@
+package com.banque.accountservice.service;
+
+import com.banque.accountservice.config.CacheConfig;
+import com.banque.accountservice.repository.AccountRepository;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * Evicts the cached views of an account after a write: its {@code accounts} entry and the
+ * {@code accountsByClient} list of its owner. Evictions go through the transaction-aware cache
+ * manager, so they take effect when the writing transaction commits.
+ */
+@Component
+public class AccountCacheEvictor {
+
+    private final AccountRepository accountRepository;
+    private final Cache accounts;
+    private final Cache clients;
+    private final Cache accountsByClient;
+
+    public AccountCacheEvictor(AccountRepository accountRepository, CacheManager cacheManager) {
+        this.accountRepository = accountRepository;
+        this.accounts = cacheManager.getCache(CacheConfig.ACCOUNTS);
+        this.clients = cacheManager.getCache(CacheConfig.CLIENTS);
+        this.accountsByClient = cacheManager.getCache(CacheConfig.ACCOUNTS_BY_CLIENT);
+    }
+
+    public void evict(String accountNumber, Long clientId) {
+        accounts.evict(accountNumber);
+        if (clientId != null) {
+            accountsByClient.evict(clientId);
+        }
+    }
+
+    // Owner resolved from the clients cache, or with a single-column lookup on a miss
+    public void evict(String accountNumber) {
+        Long clientId = clients.get(accountNumber, Long.class);
+        if (clientId == null) {
+            clientId = accountRepository.findClientIdByAccountNumber(accountNumber).orElse(null);
+        }
+        evict(accountNumber, clientId);
+    }
+
+    // Batch writes: owners resolved with one query instead of one per account
+    public void evictAll(Collection<String> accountNumbers) {
+        if (accountNumbers.isEmpty()) {
+            return;
+        }
+        accountNumbers.forEach(accounts::evict);
+        accountRepository.findClientIdsByAccountNumbers(accountNumbers).forEach(accountsByClient::evict);
+    }
+
+    // A new account changes its owner's list
+    public void evictClient(Long clientId) {
+        accountsByClient.evict(clientId);
+    }
+}
@@ -0,0 +1,72 @@
+package com.banque.accountservice.service;
+
+import com.banque.accountservice.dto.AccountHoldDTO;
+import com.banque.accountservice.dto.HoldCaptureDTO;
+import com.banque.accountservice.dto.HoldRequestDTO;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public interface AccountHoldService {
+
+    /**
+     * Reserve funds on an account. The hold is accepted only if it fits in the
+     * available balance (balance minus the active holds).
+     *
+     * @param accountNumber The account number
+     * @param request       Amount and optional time to live of the hold
+     * @return The active hold
+     */
+    AccountHoldDTO placeHold(String accountNumber, HoldRequestDTO request);
+
+    /**
+     * Capture a hold: debit the captured amount and release the rest of the reservation
+     *
+     * @param holdId The hold id
+     * @param amount Amount to debit, or null to capture the whole hold
+     * @return The captured hold
+     */
+    AccountHoldDTO captureHold(String holdId, BigDecimal amount);
+
+    /**
+     * Capture several holds in one transaction, with a single balance update per account.
+     * All holds must be active; otherwise nothing is captured.
+     *
+     * @param captures The holds to capture
+     * @return The number of captured holds
+     */
+    int captureHolds(List<HoldCaptureDTO> captures);
+
+    /**
+     * Release a hold without debiting the account. Releasing a hold that was already
+     * released or has expired has no effect.
+     *
+     * @param holdId The hold id
+     * @return The hold
+     */
+    AccountHoldDTO releaseHold(String holdId);
+
+    /**
+     * Get a hold by id
+     *
+     * @param holdId The hold id
+     * @return The hold
+     */
+    AccountHoldDTO getHold(String holdId);
+
+    /**
+     * Get the balance that is not reserved by active holds
+     *
+     * @param accountNumber The account number
+     * @return The available balance
+     */
+    BigDecimal getAvailableBalance(String accountNumber);
+
+    /**
+     * Expire at most {@code limit} holds past their expiry date, in one transaction
+     *
+     * @param limit Maximum number of holds to expire
+     * @return The number of expired holds
+     */
+    int expireHolds(int limit);
+}
@@ -0,0 +1,229 @@
+package com.banque.accountservice.service;
+
+import com.banque.accountservice.config.HoldProperties;
+import com.banque.accountservice.dto.AccountHoldDTO;
+import com.banque.accountservice.dto.HoldCaptureDTO;
+import com.banque.accountservice.dto.HoldRequestDTO;
+import com.banque.accountservice.exception.AccountInactiveException;
+import com.banque.accountservice.exception.AccountNotFoundException;
+import com.banque.accountservice.exception.HoldNotActiveException;
+import com.banque.accountservice.exception.HoldNotFoundException;
+import com.banque.accountservice.exception.InsufficientBalanceException;
+import com.banque.accountservice.model.Account;
+import com.banque.accountservice.model.AccountHold;
+import com.banque.accountservice.repository.AccountHoldRepository;
+import com.banque.accountservice.repository.AccountRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+@Service
+public class AccountHoldServiceImpl implements AccountHoldService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AccountHoldServiceImpl.class);
+
+    private final AccountRepository accountRepository;
+    private final AccountHoldRepository holdRepository;
+    private final HoldProperties properties;
+    private final AccountCacheEvictor cacheEvictor;
+
+    public AccountHoldServiceImpl(AccountRepository accountRepository, AccountHoldRepository holdRepository,
+            HoldProperties properties, AccountCacheEvictor cacheEvictor) {
+        this.accountRepository = accountRepository;
+        this.holdRepository = holdRepository;
+        this.properties = properties;
+        this.cacheEvictor = cacheEvictor;
+    }
+
+    @Override
+    @Transactional
+    public AccountHoldDTO placeHold(String accountNumber, HoldRequestDTO request) {
+        BigDecimal amount = request.getAmount();
+        if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("Amount must be positive");
+        }
+        long ttlSeconds = request.getTtlSeconds() == null
+                ? properties.getDefaultTtlSeconds()
+                : Math.min(request.getTtlSeconds(), properties.getMaxTtlSeconds());
+
+        // Single guarded UPDATE: the availability check and the reservation cannot interleave
+        LocalDateTime now = LocalDateTime.now();
+        if (accountRepository.reserve(accountNumber, amount, now) == 0) {
+            Account account = accountRepository.findByAccountNumber(accountNumber)
+                    .orElseThrow(() -> new AccountNotFoundException(accountNumber, "account number"));
+            if (!account.isActive()) {
+                throw new AccountInactiveException(accountNumber);
+            }
+            throw new InsufficientBalanceException(accountNumber, account.getAvailableBalance(), amount);
+        }
+        cacheEvictor.evict(accountNumber);
+
+        AccountHold hold = holdRepository.save(new AccountHold(UUID.randomUUID().toString(), accountNumber, amount,
+                now.plusSeconds(ttlSeconds)));
+        LOGGER.info("Hold {} placed on {} for {}", hold.getId(), accountNumber, amount);
+        return toDTO(hold);
+    }
+
+    @Override
+    @Transactional
+    public AccountHoldDTO captureHold(String holdId, BigDecimal amount) {
+        AccountHold hold = holdRepository.findByIdForUpdate(holdId)
+                .orElseThrow(() -> new HoldNotFoundException(holdId));
+        LocalDateTime now = LocalDateTime.now();
+        checkCapturable(hold, now);
+        BigDecimal captured = markCaptured(hold, amount, now);
+        holdRepository.save(hold);
+        // The captured amount is covered by the reservation, so this debit cannot overdraw the account
+        accountRepository.settleHolds(hold.getAccountNumber(), captured, hold.getAmount(), now);
+        cacheEvictor.evict(hold.getAccountNumber());
+
+        LOGGER.info("Hold {} captured for {}", holdId, captured);
+        return toDTO(hold);
+    }
+
+    @Override
+    @Transactional
+    public int captureHolds(List<HoldCaptureDTO> captures) {
+        if (captures == null || captures.isEmpty()) {
+            return 0;
+        }
+        Map<String, BigDecimal> requested = new HashMap<>();
+        for (HoldCaptureDTO capture : captures) {
+            if (requested.containsKey(capture.getHoldId())) {
+                throw new IllegalArgumentException("Hold captured twice in the same batch: " + capture.getHoldId());
+            }
+            requested.put(capture.getHoldId(), capture.getAmount());
+        }
+
+        List<AccountHold> holds = holdRepository.findAllByIdForUpdate(requested.keySet());
+        if (holds.size() != requested.size()) {
+            holds.forEach(hold -> requested.remove(hold.getId()));
+            throw new HoldNotFoundException(requested.keySet().iterator().next());
+        }
+
+        // One UPDATE per account, in account number order so that concurrent batches lock rows in the same order
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, BigDecimal[]> perAccount = new TreeMap<>();
+        for (AccountHold hold : holds) {
+            checkCapturable(hold, now);
+            BigDecimal captured = markCaptured(hold, requested.get(hold.getId()), now);
+            BigDecimal[] totals = perAccount.computeIfAbsent(hold.getAccountNumber(),
+                    n -> new BigDecimal[] { BigDecimal.ZERO, BigDecimal.ZERO });
+            totals[0] = totals[0].add(captured);
+            totals[1] = totals[1].add(hold.getAmount());
+        }
+        holdRepository.saveAll(holds);
+        perAccount.forEach((accountNumber, totals) ->
+                accountRepository.settleHolds(accountNumber, totals[0], totals[1], now));
+        cacheEvictor.evictAll(perAccount.keySet());
+
+        LOGGER.info("Captured {} holds on {} accounts in one batch", holds.size(), perAccount.size());
+        return holds.size();
+    }
+
+    // A hold past its expiry is treated as expired even before the expiry job has released it
+    private void checkCapturable(AccountHold hold, LocalDateTime now) {
+        if (hold.getStatus() != AccountHold.Status.ACTIVE) {
+            throw new HoldNotActiveException(hold.getId(), hold.getStatus());
+        }
+        if (hold.getExpiresAt().isBefore(now)) {
+            throw new HoldNotActiveException(hold.getId(), AccountHold.Status.EXPIRED);
+        }
+    }
+
+    @Override
+    @Transactional
+    public AccountHoldDTO releaseHold(String holdId) {
+        AccountHold hold = holdRepository.findByIdForUpdate(holdId)
+                .orElseThrow(() -> new HoldNotFoundException(holdId));
+        if (hold.getStatus() == AccountHold.Status.CAPTURED) {
+            throw new HoldNotActiveException(holdId, hold.getStatus());
+        }
+        if (hold.getStatus() != AccountHold.Status.ACTIVE) {
+            return toDTO(hold);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        hold.setStatus(AccountHold.Status.RELEASED);
+        hold.setUpdatedAt(now);
+        holdRepository.save(hold);
+        accountRepository.settleHolds(hold.getAccountNumber(), BigDecimal.ZERO, hold.getAmount(), now);
+        cacheEvictor.evict(hold.getAccountNumber());
+
+        LOGGER.info("Hold {} released", holdId);
+        return toDTO(hold);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public AccountHoldDTO getHold(String holdId) {
+        return holdRepository.findById(holdId)
+                .map(this::toDTO)
+                .orElseThrow(() -> new HoldNotFoundException(holdId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BigDecimal getAvailableBalance(String accountNumber) {
+        return accountRepository.findAvailableBalanceByAccountNumber(accountNumber)
+                .orElseThrow(() -> new AccountNotFoundException(accountNumber, "account number"));
+    }
+
+    @Override
+    @Transactional
+    public int expireHolds(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<AccountHold> expired = holdRepository.findExpiredForUpdate(now, PageRequest.of(0, limit));
+        if (expired.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, BigDecimal> releasedPerAccount = new TreeMap<>();
+        for (AccountHold hold : expired) {
+            hold.setStatus(AccountHold.Status.EXPIRED);
+            hold.setUpdatedAt(now);
+            releasedPerAccount.merge(hold.getAccountNumber(), hold.getAmount(), BigDecimal::add);
+        }
+        holdRepository.saveAll(expired);
+        releasedPerAccount.forEach((accountNumber, released) ->
+                accountRepository.settleHolds(accountNumber, BigDecimal.ZERO, released, now));
+        cacheEvictor.evictAll(releasedPerAccount.keySet());
+
+        LOGGER.info("Expired {} holds on {} accounts", expired.size(), releasedPerAccount.size());
+        return expired.size();
+    }
+
+    // Sets the hold as captured and returns the amount to debit
+    private BigDecimal markCaptured(AccountHold hold, BigDecimal amount, LocalDateTime now) {
+        BigDecimal captured = amount == null ? hold.getAmount() : amount;
+        if (captured.compareTo(BigDecimal.ZERO) <= 0 || captured.compareTo(hold.getAmount()) > 0) {
+            throw new IllegalArgumentException(String.format(
+                    "Capture amount for hold %s must be between 0 and %s", hold.getId(), hold.getAmount()));
+        }
+        hold.setStatus(AccountHold.Status.CAPTURED);
+        hold.setCapturedAmount(captured);
+        hold.setUpdatedAt(now);
+        return captured;
+    }
+
+    private AccountHoldDTO toDTO(AccountHold hold) {
+        AccountHoldDTO dto = new AccountHoldDTO();
+        dto.setId(hold.getId());
+        dto.setAccountNumber(hold.getAccountNumber());
+        dto.setAmount(hold.getAmount());
+        dto.setCapturedAmount(hold.getCapturedAmount());
+        dto.setStatus(hold.getStatus().name());
+        dto.setExpiresAt(hold.getExpiresAt());
+        return dto;
+    }
+}
@@ -0,0 +1,126 @@
+package com.banque.accountservice.service;
+
+import com.banque.accountservice.config.AccountNumberProperties;
+import com.banque.accountservice.model.AccountNumberSequence;
+import com.banque.accountservice.repository.AccountNumberSequenceRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out account numbers from blocks reserved in {@code account_number_sequences}. Each instance
+ * reserves a block of consecutive sequence values in one short transaction, then serves them from memory
+ * with a lock-free increment; blocks never overlap, so numbers are unique across instances without any
+ * existence check. A number is the 9-digit sequence value followed by its Luhn check digit.
+ */
+@Component
+public class AccountNumberAllocator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AccountNumberAllocator.class);
+
+    static final String SEQUENCE_NAME = "accounts";
+    static final long FIRST_VALUE = 100_000_000L;
+    static final long LAST_VALUE = 999_999_999L;
+
+    // Reserves size consecutive values and returns the first one
+    interface BlockSource {
+        long reserve(int size);
+    }
+
+    private static final class Block {
+        private final AtomicLong next;
+        private final long end;
+
+        private Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+
+    private final BlockSource source;
+    private final int blockSize;
+    private volatile Block block = new Block(0, 0);
+
+    @Autowired
+    public AccountNumberAllocator(AccountNumberSequenceRepository sequenceRepository,
+            PlatformTransactionManager transactionManager, AccountNumberProperties properties) {
+        // Own transaction: the block stays reserved even if the account creation that triggered it rolls back,
+        // since its numbers may already have been handed out to other callers
+        TransactionTemplate requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.source = size -> requiresNew.execute(status -> {
+            AccountNumberSequence sequence = sequenceRepository.findForUpdate(SEQUENCE_NAME)
+                    .orElseThrow(() -> new IllegalStateException("Account number sequence is missing"));
+            long start = sequence.getNextVal();
+            sequence.setNextVal(start + size);
+            return start;
+        });
+        this.blockSize = properties.getBlockSize();
+    }
+
+    AccountNumberAllocator(BlockSource source, int blockSize) {
+        this.source = source;
+        this.blockSize = blockSize;
+    }
+
+    public String next() {
+        while (true) {
+            Block current = block;
+            long value = current.next.getAndIncrement();
+            if (value < current.end) {
+                return encode(value);
+            }
+            refill(current);
+        }
+    }
+
+    // Only one caller reserves a new block; the others find it installed when they get the lock
+    private synchronized void refill(Block exhausted) {
+        if (block != exhausted) {
+            return;
+        }
+        long start = source.reserve(blockSize);
+        if (start < FIRST_VALUE || start + blockSize - 1 > LAST_VALUE) {
+            throw new IllegalStateException("Account number space exhausted");
+        }
+        block = new Block(start, start + blockSize);
+        LOGGER.debug("Reserved account numbers {} to {}", start, start + blockSize - 1);
+    }
+
+    static String encode(long value) {
+        String digits = Long.toString(value);
+        return digits + luhnCheckDigit(digits);
+    }
+
+    public static boolean isValid(String accountNumber) {
+        if (accountNumber == null || accountNumber.length() < 2 || !accountNumber.chars().allMatch(Character::isDigit)) {
+            return false;
+        }
+        String digits = accountNumber.substring(0, accountNumber.length() - 1);
+        return accountNumber.charAt(accountNumber.length() - 1) - '0' == luhnCheckDigit(digits);
+    }
+
+    // Luhn: every second digit from the right (starting with the rightmost payload digit) is doubled
+    static int luhnCheckDigit(String digits) {
+        int sum = 0;
+        boolean doubled = true;
+        for (int i = digits.length() - 1; i >= 0; i--) {
+            int digit = digits.charAt(i) - '0';
+            if (doubled) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+            doubled = !doubled;
+        }
+        return (10 - sum % 10) % 10;
+    }
+}
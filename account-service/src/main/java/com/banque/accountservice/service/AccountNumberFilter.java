@@ -0,0 +1,238 @@
+package com.banque.accountservice.service;
+
+import com.banque.accountservice.config.AccountNumberFilterProperties;
+import com.banque.accountservice.repository.AccountRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+/**
+ * In-memory Bloom filter over every account number. A negative answer is definite as of the last
+ * successful catch-up scan, so {@link #mightContain(String)} lets existence checks skip the database
+ * for numbers that were never issued.
+ * <p>
+ * The filter is fully rebuilt every {@code rebuild-interval-ms} with a keyset scan of the accounts
+ * table, and kept current in between: accounts created here are added at once, accounts created by
+ * other instances are picked up by a catch-up scan above the highest id seen. Rebuild and catch-up
+ * take separate locks, so catch-up scans keep running during a long rebuild. Until the first build
+ * completes, or when no catch-up has succeeded within {@code max-staleness-ms}, every number is
+ * reported as possibly present.
+ */
+@Component
+public class AccountNumberFilter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AccountNumberFilter.class);
+
+    private final AccountRepository accountRepository;
+    private final AccountNumberFilterProperties properties;
+
+    private volatile BloomFilter current;
+    // Filter being built: numbers added meanwhile go into both, so the swap loses none
+    private volatile BloomFilter building;
+    private final AtomicLong highWaterId = new AtomicLong();
+    // Start of the last scan that brought the current filter up to date
+    private volatile long syncedAt;
+    private final Object rebuildLock = new Object();
+    private final Object catchUpLock = new Object();
+
+    public AccountNumberFilter(AccountRepository accountRepository, AccountNumberFilterProperties properties) {
+        this.accountRepository = accountRepository;
+        this.properties = properties;
+    }
+
+    // false: the number was never issued. true: it may have been, ask the database
+    public boolean mightContain(String accountNumber) {
+        if (accountNumber == null) {
+            return false;
+        }
+        BloomFilter filter = current;
+        if (!properties.isEnabled() || filter == null) {
+            return true;
+        }
+        // Catch-up stalled (database errors, overloaded scheduler): accounts created elsewhere may be missing
+        if (System.currentTimeMillis() - syncedAt > properties.getMaxStalenessMs()) {
+            return true;
+        }
+        return filter.mightContain(accountNumber);
+    }
+
+    public void add(String accountNumber) {
+        BloomFilter filter = current;
+        if (filter != null) {
+            filter.add(accountNumber);
+        }
+        BloomFilter next = building;
+        if (next != null) {
+            next.add(accountNumber);
+        }
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${account.number-filter.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            if (!properties.isEnabled()) {
+                current = null;
+                return;
+            }
+            long started = System.currentTimeMillis();
+            long expected = Math.max(properties.getMinExpectedInsertions(),
+                    (long) (accountRepository.count() * properties.getHeadroom()));
+            BloomFilter next = new BloomFilter(expected, properties.getFalsePositiveRate());
+            // From here on, local additions and catch-up scans also go into the new filter
+            building = next;
+            try {
+                long maxId = scanInto(next::add, 0L);
+                highWaterId.accumulateAndGet(maxId, Math::max);
+                if (current == null) {
+                    syncedAt = started;
+                }
+                current = next;
+                LOGGER.info("Account number filter rebuilt: {} numbers, {} KiB, {} hash functions, {} ms",
+                        next.size(), next.bitCount() / 8192, next.hashCount(), System.currentTimeMillis() - started);
+            } catch (RuntimeException e) {
+                LOGGER.error("Account number filter rebuild failed, keeping the previous filter: {}", e.getMessage());
+            } finally {
+                building = null;
+            }
+        }
+    }
+
+    @Scheduled(initialDelayString = "${account.number-filter.catch-up-interval-ms:1000}",
+            fixedDelayString = "${account.number-filter.catch-up-interval-ms:1000}")
+    public void catchUp() {
+        BloomFilter filter;
+        synchronized (catchUpLock) {
+            filter = current;
+            if (filter == null || !properties.isEnabled()) {
+                return;
+            }
+            long started = System.currentTimeMillis();
+            try {
+                long after = Math.max(0L, highWaterId.get() - properties.getCatchUpLookback());
+                // Into the filter being rebuilt as well: its scan may already be past these ids
+                highWaterId.accumulateAndGet(scanInto(this::add, after), Math::max);
+            } catch (RuntimeException e) {
+                LOGGER.warn("Account number filter catch-up failed: {}", e.getMessage());
+                return;
+            }
+            syncedAt = started;
+        }
+        // Past its capacity the false positive rate climbs quickly; a rebuild already running is not waited for
+        if (filter.size() > filter.capacity() && building == null) {
+            rebuild();
+        }
+    }
+
+    // Passes every account number above afterId to sink; returns the highest id read
+    private long scanInto(Consumer<String> sink, long afterId) {
+        int pageSize = properties.getScanPageSize();
+        long last = afterId;
+        List<AccountRepository.AccountNumberRow> page;
+        do {
+            page = accountRepository.findAccountNumbersAfter(last, PageRequest.of(0, pageSize));
+            for (AccountRepository.AccountNumberRow row : page) {
+                sink.accept(row.getAccountNumber());
+                last = row.getId();
+            }
+        } while (page.size() == pageSize);
+        return last;
+    }
+
+    /**
+     * Lock-free Bloom filter: bits set with CAS in an {@link AtomicLongArray}, k positions derived by
+     * double hashing from one 64-bit hash of the number.
+     */
+    static final class BloomFilter {
+
+        private final AtomicLongArray words;
+        private final long bits;
+        private final int hashes;
+        private final long capacity;
+        private final AtomicLong size = new AtomicLong();
+
+        BloomFilter(long expectedInsertions, double falsePositiveRate) {
+            long n = Math.max(1, expectedInsertions);
+            long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            int words = (int) Math.min(Integer.MAX_VALUE - 8, (m + 63) >>> 6);
+            this.words = new AtomicLongArray(words);
+            this.bits = (long) words << 6;
+            this.hashes = Math.max(1, (int) Math.round((double) bits / n * Math.log(2)));
+            this.capacity = n;
+        }
+
+        void add(String value) {
+            long hash = hash64(value);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            boolean changed = false;
+            for (int i = 1; i <= hashes; i++) {
+                long bit = ((h1 + (long) i * h2) & Long.MAX_VALUE) % bits;
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long old;
+                do {
+                    old = words.get(word);
+                    if ((old & mask) != 0) {
+                        break;
+                    }
+                    changed = true;
+                } while (!words.compareAndSet(word, old, old | mask));
+            }
+            if (changed) {
+                size.incrementAndGet();
+            }
+        }
+
+        boolean mightContain(String value) {
+            long hash = hash64(value);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= hashes; i++) {
+                long bit = ((h1 + (long) i * h2) & Long.MAX_VALUE) % bits;
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // Approximate number of distinct values added (re-adds of a known number are not counted)
+        long size() {
+            return size.get();
+        }
+
+        long capacity() {
+            return capacity;
+        }
+
+        long bitCount() {
+            return bits;
+        }
+
+        int hashCount() {
+            return hashes;
+        }
+
+        // FNV-1a over the characters, finished with the MurmurHash3 64-bit mixer
+        private static long hash64(String value) {
+            long h = 0xcbf29ce484222325L;
+            for (int i = 0; i < value.length(); i++) {
+                h ^= value.charAt(i);
+                h *= 0x100000001b3L;
+            }
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            h *= 0xc4ceb93e01ed9cd5L;
+            h ^= h >>> 33;
+            return h;
+        }
+    }
+}
@@ -78,6 +78,65 @@ public interface AccountService {
      */
     AccountDTO updateBalance(String accountNumber, BigDecimal amount);
 
+    /**
+     * Update the balance of an account at most once per reference. A retry with
+     * a reference that was already applied returns the account without changing it.
+     *
+     * @param accountNumber The account number
+     * @param amount        The amount to update (positive for credit, negative for
+     *                      debit)
+     * @param reference     Caller reference, or null for a plain update
+     * @return Updated account details
+     */
+    AccountDTO updateBalance(String accountNumber, BigDecimal amount, String reference);
+
+    /**
+     * Transfer funds between two accounts in a single database transaction.
+     * Both rows are locked in account-number order so that concurrent opposite
+     * transfers cannot deadlock.
+     *
+     * @param transferDTO Source, destination and amount of the transfer
+     * @return Client IDs of both accounts and the new source balance
+     */
+    AccountTransferResultDTO transfer(AccountTransferDTO transferDTO);
+
+    /**
+     * Cancel a referenced transfer. If it was applied, the amount is moved back from the
+     * destination to the source account; if it was not, the reference is recorded as
+     * cancelled so that a late retry can never apply it.
+     *
+     * @param transferDTO Reference, source, destination and amount of the transfer
+     * @return The transfer with its final status (CANCELLED or REVERSED)
+     */
+    AccountTransferResultDTO cancelTransfer(AccountTransferDTO transferDTO);
+
+    /**
+     * Get the owner and active flag of an account without loading the full entity
+     *
+     * @param accountNumber The account number
+     * @return Account number, owning client ID and active flag
+     */
+    AccountSummaryDTO getAccountSummary(String accountNumber);
+
+    /**
+     * Filter a list of account numbers down to the ones that exist and are active
+     *
+     * @param accountNumbers The account numbers to check
+     * @return The subset of account numbers that can receive funds
+     */
+    List<String> findActiveAccountNumbers(List<String> accountNumbers);
+
+    /**
+     * Credit several accounts in a single database transaction. Either every
+     * credit is applied or none is. A batch whose reference was already applied
+     * is acknowledged without crediting again.
+     *
+     * @param reference Caller reference of the batch, or null
+     * @param credits   The accounts to credit and their amounts
+     * @return The number of credited accounts
+     */
+    int creditAccounts(String reference, List<BalanceCreditDTO> credits);
+
     /**
      * Updates account active status
      *
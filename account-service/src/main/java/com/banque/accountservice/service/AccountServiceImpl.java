@@ -1,28 +1,44 @@
 package com.banque.accountservice.service;
 
 import com.banque.accountservice.client.NotificationClient;
+import com.banque.accountservice.client.TransactionClient;
+import com.banque.accountservice.config.CacheConfig;
 import com.banque.accountservice.dto.AccountCreationDTO;
 import com.banque.accountservice.dto.AccountDTO;
 import com.banque.accountservice.dto.AccountResponseDTO;
+import com.banque.accountservice.dto.AccountSummaryDTO;
+import com.banque.accountservice.dto.AccountTransferDTO;
+import com.banque.accountservice.dto.AccountTransferResultDTO;
 import com.banque.accountservice.dto.AccountUpdateDTO;
+import com.banque.accountservice.dto.BalanceCreditDTO;
+import com.banque.accountservice.exception.AccountInactiveException;
 import com.banque.accountservice.exception.AccountNotFoundException;
 import com.banque.accountservice.exception.InsufficientBalanceException;
+import com.banque.accountservice.exception.TransferCancelledException;
+import com.banque.accountservice.mapper.AccountMapper;
 import com.banque.accountservice.model.Account;
+import com.banque.accountservice.model.AccountTransfer;
 import com.banque.accountservice.model.AccountType;
+import com.banque.accountservice.model.BalanceMovement;
 import com.banque.accountservice.model.Client;
 import com.banque.accountservice.repository.AccountRepository;
+import com.banque.accountservice.repository.AccountTransferRepository;
+import com.banque.accountservice.repository.BalanceMovementRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Random;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -41,12 +57,9 @@ public class AccountServiceImpl implements AccountService {
     @Override
     @Transactional(readOnly = true)
     public String getClientEmailByAccountNumber(String accountNumber) {
-        Account account = accountRepository.findByAccountNumber(accountNumber)
+        // Single-column projection: neither the account nor the client entity is loaded
+        return accountRepository.findClientEmailByAccountNumber(accountNumber)
                 .orElseThrow(() -> new AccountNotFoundException(accountNumber, "account number"));
-        if (account.getClient() == null) {
-            throw new RuntimeException("Client not found for this account");
-        }
-        return account.getClient().getEmail();
     }
 
     // Adding missing BusinessRuleException class
@@ -60,13 +73,31 @@ public class AccountServiceImpl implements AccountService {
     private static final String ACCOUNT_TYPE_CURRENT = "CURRENT";
     private static final String ACCOUNT_TYPE_SAVINGS = "SAVINGS";
 
+    // Lowest balance a debit through updateBalance may leave on an account
+    private static final BigDecimal BALANCE_FLOOR = BigDecimal.ZERO;
+
     private final AccountRepository accountRepository;
     private final NotificationClient notificationClient;
+    private final TransactionClient transactionClient;
+    private final AccountTransferRepository transferRepository;
+    private final BalanceMovementRepository movementRepository;
+    private final AccountCacheEvictor cacheEvictor;
+    private final AccountNumberFilter accountNumbers;
+    private final AccountNumberAllocator accountNumberAllocator;
 
     @Autowired
-    public AccountServiceImpl(AccountRepository accountRepository, NotificationClient notificationClient) {
+    public AccountServiceImpl(AccountRepository accountRepository, NotificationClient notificationClient,
+            TransactionClient transactionClient, AccountTransferRepository transferRepository,
+            BalanceMovementRepository movementRepository, AccountCacheEvictor cacheEvictor, AccountNumberFilter accountNumbers,
+            AccountNumberAllocator accountNumberAllocator) {
         this.accountRepository = accountRepository;
         this.notificationClient = notificationClient;
+        this.transactionClient = transactionClient;
+        this.transferRepository = transferRepository;
+        this.movementRepository = movementRepository;
+        this.cacheEvictor = cacheEvictor;
+        this.accountNumbers = accountNumbers;
+        this.accountNumberAllocator = accountNumberAllocator;
     }
 
     @Override
@@ -80,8 +111,8 @@ public class AccountServiceImpl implements AccountService {
         }
 
         try {
-            // Generate a unique account number
-            String accountNumber = generateAccountNumber();
+            // Unique across instances by construction: no existence check needed
+            String accountNumber = accountNumberAllocator.next();
 
             // Create a new account entity
             Account account = new Account();
@@ -98,6 +129,11 @@ public class AccountServiceImpl implements AccountService {
 
             // Save the account
             Account savedAccount = accountRepository.save(account);
+            cacheEvictor.evictClient(accountCreationDTO.getClientId());
+            // Added now for this instance's readers, and again once committed in case a filter
+            // rebuild scanned the table before the row became visible
+            accountNumbers.add(accountNumber);
+            runAfterCommit(() -> accountNumbers.add(accountNumber));
 
             // Envoi de la notification via FeignClient
             try {
@@ -121,37 +157,34 @@ public class AccountServiceImpl implements AccountService {
         Account account = accountRepository.findById(accountId)
                 .orElseThrow(() -> new AccountNotFoundException(accountId));
 
-        return convertToDTO(account);
+        return AccountMapper.toDTO(account);
     }
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.CLIENTS)
     public Long getClientIdByAccountNumber(String accountNumber) {
-        Account account = accountRepository.findByAccountNumber(accountNumber)
+        return accountRepository.findClientIdByAccountNumber(accountNumber)
                 .orElseThrow(() -> new AccountNotFoundException(accountNumber, "account number"));
-        if (account.getClient() == null) {
-            throw new RuntimeException("Client not found for this account");
-        }
-        return account.getClient().getId();
     }
 
     @Override
     @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    @Cacheable(cacheNames = CacheConfig.ACCOUNTS)
     public AccountDTO getAccountByAccountNumber(String accountNumber) {
         Account account = accountRepository.findByAccountNumber(accountNumber)
                 .orElseThrow(() -> new AccountNotFoundException(accountNumber, "account number"));
 
-        return convertToDTO(account);
+        return AccountMapper.toDTO(account);
     }
 
     @Override
     @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    @Cacheable(cacheNames = CacheConfig.ACCOUNTS_BY_CLIENT)
     public List<AccountDTO> getAccountsByClientId(Long clientId) {
         List<Account> accounts = accountRepository.findByClientId(clientId);
 
-        return accounts.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return AccountMapper.toDTOs(accounts);
     }
 
     @Override
@@ -159,9 +192,7 @@ public class AccountServiceImpl implements AccountService {
     public List<AccountDTO> getActiveAccountsByClientId(Long clientId) {
         List<Account> activeAccounts = accountRepository.findActiveAccountsByClientId(clientId);
 
-        return activeAccounts.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return AccountMapper.toDTOs(activeAccounts);
     }
 
     @Override
@@ -182,6 +213,8 @@ public class AccountServiceImpl implements AccountService {
         account.setActive(active);
 
         Account updatedAccount = accountRepository.save(account);
+        cacheEvictor.evict(account.getAccountNumber(), account.getClient().getId());
+        evictFromTransactionCache(account.getAccountNumber());
 
         // Send notification - Using only client ID for simplified notification
         try {
@@ -200,38 +233,243 @@ public class AccountServiceImpl implements AccountService {
     @Override
     @Transactional
     public AccountDTO updateBalance(String accountNumber, BigDecimal amount) {
+        return updateBalance(accountNumber, amount, null);
+    }
+
+    @Override
+    @Transactional
+    public AccountDTO updateBalance(String accountNumber, BigDecimal amount, String reference) {
         if (amount == null) {
             throw new IllegalArgumentException("Amount cannot be null");
         }
+        if (reference != null && !recordMovement(reference, 1, amount)) {
+            LOGGER.info("Balance update {} already applied to {}", reference, accountNumber);
+            return accountRepository.findByAccountNumber(accountNumber)
+                    .map(AccountMapper::toDTO)
+                    .orElseThrow(() -> new AccountNotFoundException(accountNumber, "account number"));
+        }
 
-        Account account = accountRepository.findByAccountNumber(accountNumber)
+        // Single guarded UPDATE: no read-modify-write, so concurrent deposits/withdrawals never lose updates
+        int updated = accountRepository.applyBalanceDelta(accountNumber, amount, BALANCE_FLOOR, LocalDateTime.now());
+        if (updated == 0) {
+            BigDecimal currentBalance = accountRepository.findAvailableBalanceByAccountNumber(accountNumber)
+                    .orElseThrow(() -> new AccountNotFoundException(accountNumber, "account number"));
+            throw new InsufficientBalanceException(accountNumber, currentBalance, amount.abs());
+        }
+
+        // Row is still locked by our UPDATE, so this read returns the new balance
+        Account updatedAccount = accountRepository.findByAccountNumber(accountNumber)
                 .orElseThrow(() -> new AccountNotFoundException(accountNumber, "account number"));
+        Long clientId = updatedAccount.getClient().getId();
+        cacheEvictor.evict(accountNumber, clientId);
 
-        // Check for sufficient balance if trying to withdraw
-        if (amount.compareTo(BigDecimal.ZERO) < 0 &&
-                account.getBalance().add(amount).compareTo(BigDecimal.ZERO) < 0) {
-            throw new InsufficientBalanceException(accountNumber, account.getBalance(), amount.abs());
+        // Send notification about balance update once the row lock is released
+        if (amount.compareTo(BigDecimal.ZERO) > 0) {
+            runAfterCommit(() -> sendNotification(
+                    () -> notificationClient.sendDepositNotification(clientId, accountNumber, amount),
+                    "Failed to send deposit notification"));
+        } else {
+            runAfterCommit(() -> sendNotification(
+                    () -> notificationClient.sendWithdrawalNotification(clientId, accountNumber, amount.abs()),
+                    "Failed to send withdrawal notification"));
         }
 
-        account.setBalance(account.getBalance().add(amount));
-        account.setUpdatedAt(LocalDateTime.now());
+        return AccountMapper.toDTO(updatedAccount);
+    }
 
-        Account updatedAccount = accountRepository.save(account);
+    @Override
+    @Transactional
+    public AccountTransferResultDTO transfer(AccountTransferDTO transferDTO) {
+        BigDecimal amount = transferDTO.getAmount();
+        if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("Amount must be positive");
+        }
 
-        // Send notification about balance update
-        if (amount.compareTo(BigDecimal.ZERO) > 0) {
-            sendNotification(
-                    () -> notificationClient.sendDepositNotification(account.getClient().getId(), accountNumber,
-                            amount),
-                    "Failed to send deposit notification");
-        } else {
-            sendNotification(
-                    () -> notificationClient.sendWithdrawalNotification(account.getClient().getId(), accountNumber,
-                            amount.abs()),
-                    "Failed to send withdrawal notification");
+        String sourceNumber = transferDTO.getSourceAccountNumber();
+        String destinationNumber = transferDTO.getDestinationAccountNumber();
+        if (sourceNumber == null || sourceNumber.equals(destinationNumber)) {
+            throw new IllegalArgumentException("Source and destination accounts must be different");
+        }
+
+        Account[] locked = lockInOrder(sourceNumber, destinationNumber);
+        Account source = locked[0];
+        Account destination = locked[1];
+
+        // A referenced transfer is applied at most once: a retry gets the original result back.
+        // Both account rows are locked above, so concurrent calls with the same reference are serialized
+        String reference = transferDTO.getReference();
+        AccountTransfer existing = reference == null ? null : transferRepository.findById(reference).orElse(null);
+        if (existing != null) {
+            if (existing.getStatus() != AccountTransfer.Status.APPLIED) {
+                throw new TransferCancelledException(reference);
+            }
+            LOGGER.info("Transfer {} already applied, returning the recorded result", reference);
+            return toTransferResult(existing, source.getBalance());
+        }
+
+        if (!source.isActive()) {
+            throw new AccountInactiveException(sourceNumber);
+        }
+        if (!destination.isActive()) {
+            throw new AccountInactiveException(destinationNumber);
+        }
+        // Funds reserved by holds cannot be transferred
+        if (source.getAvailableBalance().compareTo(amount) < 0) {
+            throw new InsufficientBalanceException(sourceNumber, source.getAvailableBalance(), amount);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        source.setBalance(source.getBalance().subtract(amount));
+        source.setUpdatedAt(now);
+        destination.setBalance(destination.getBalance().add(amount));
+        destination.setUpdatedAt(now);
+        accountRepository.save(source);
+        accountRepository.save(destination);
+        cacheEvictor.evict(sourceNumber, source.getClient().getId());
+        cacheEvictor.evict(destinationNumber, destination.getClient().getId());
+
+        LOGGER.info("Transferred {} from {} to {}", amount, sourceNumber, destinationNumber);
+
+        AccountTransferResultDTO result = new AccountTransferResultDTO();
+        result.setSourceAccountNumber(sourceNumber);
+        result.setSourceClientId(source.getClient().getId());
+        result.setSourceBalance(source.getBalance());
+        result.setDestinationAccountNumber(destinationNumber);
+        result.setDestinationClientId(destination.getClient().getId());
+        result.setAmount(amount);
+
+        if (reference != null) {
+            AccountTransfer applied = new AccountTransfer(reference, sourceNumber, destinationNumber, amount,
+                    AccountTransfer.Status.APPLIED);
+            applied.setSourceClientId(result.getSourceClientId());
+            applied.setDestinationClientId(result.getDestinationClientId());
+            transferRepository.save(applied);
+            result.setReference(reference);
+            result.setStatus(AccountTransfer.Status.APPLIED.name());
+        }
+        return result;
+    }
+
+    @Override
+    @Transactional
+    public AccountTransferResultDTO cancelTransfer(AccountTransferDTO transferDTO) {
+        String reference = transferDTO.getReference();
+        if (reference == null || reference.isBlank()) {
+            throw new IllegalArgumentException("Transfer reference is required");
+        }
+        String sourceNumber = transferDTO.getSourceAccountNumber();
+        String destinationNumber = transferDTO.getDestinationAccountNumber();
+        if (sourceNumber == null || sourceNumber.equals(destinationNumber)) {
+            throw new IllegalArgumentException("Source and destination accounts must be different");
+        }
+
+        // Same lock order as transfer(): a cancellation and an in-flight apply cannot interleave
+        Account[] locked = lockInOrder(sourceNumber, destinationNumber);
+        Account source = locked[0];
+        Account destination = locked[1];
+
+        AccountTransfer transfer = transferRepository.findById(reference).orElse(null);
+        if (transfer == null) {
+            // Never applied: record the reference so that it can no longer be applied
+            transfer = new AccountTransfer(reference, sourceNumber, destinationNumber, transferDTO.getAmount(),
+                    AccountTransfer.Status.CANCELLED);
+            transferRepository.save(transfer);
+            LOGGER.info("Transfer {} cancelled before being applied", reference);
+        } else if (transfer.getStatus() == AccountTransfer.Status.APPLIED) {
+            BigDecimal amount = transfer.getAmount();
+            if (destination.getAvailableBalance().compareTo(amount) < 0) {
+                throw new InsufficientBalanceException(destinationNumber, destination.getAvailableBalance(), amount);
+            }
+            LocalDateTime now = LocalDateTime.now();
+            destination.setBalance(destination.getBalance().subtract(amount));
+            destination.setUpdatedAt(now);
+            source.setBalance(source.getBalance().add(amount));
+            source.setUpdatedAt(now);
+            accountRepository.save(destination);
+            accountRepository.save(source);
+            cacheEvictor.evict(sourceNumber, source.getClient().getId());
+            cacheEvictor.evict(destinationNumber, destination.getClient().getId());
+
+            transfer.setStatus(AccountTransfer.Status.REVERSED);
+            transfer.setUpdatedAt(now);
+            transferRepository.save(transfer);
+            LOGGER.info("Transfer {} reversed: {} moved back from {} to {}", reference, amount,
+                    destinationNumber, sourceNumber);
         }
 
-        return convertToDTO(updatedAccount);
+        return toTransferResult(transfer, source.getBalance());
+    }
+
+    // Locks the two accounts, lower account number first, to avoid deadlocks between opposite transfers.
+    // Returns {source, destination}
+    private Account[] lockInOrder(String sourceNumber, String destinationNumber) {
+        boolean sourceFirst = sourceNumber.compareTo(destinationNumber) < 0;
+        Account first = lockAccount(sourceFirst ? sourceNumber : destinationNumber);
+        Account second = lockAccount(sourceFirst ? destinationNumber : sourceNumber);
+        return sourceFirst ? new Account[] { first, second } : new Account[] { second, first };
+    }
+
+    private AccountTransferResultDTO toTransferResult(AccountTransfer transfer, BigDecimal sourceBalance) {
+        AccountTransferResultDTO result = new AccountTransferResultDTO();
+        result.setReference(transfer.getReference());
+        result.setStatus(transfer.getStatus().name());
+        result.setSourceAccountNumber(transfer.getSourceAccountNumber());
+        result.setSourceClientId(transfer.getSourceClientId());
+        result.setSourceBalance(sourceBalance);
+        result.setDestinationAccountNumber(transfer.getDestinationAccountNumber());
+        result.setDestinationClientId(transfer.getDestinationClientId());
+        result.setAmount(transfer.getAmount());
+        return result;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public AccountSummaryDTO getAccountSummary(String accountNumber) {
+        return accountRepository.findSummaryByAccountNumber(accountNumber)
+                .orElseThrow(() -> new AccountNotFoundException(accountNumber, "account number"));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<String> findActiveAccountNumbers(List<String> accountNumbers) {
+        if (accountNumbers == null || accountNumbers.isEmpty()) {
+            return List.of();
+        }
+        return accountRepository.findActiveAccountNumbers(accountNumbers);
+    }
+
+    @Override
+    @Transactional
+    public int creditAccounts(String reference, List<BalanceCreditDTO> credits) {
+        // Sorted so that concurrent batches always lock rows in the same order
+        List<BalanceCreditDTO> ordered = new ArrayList<>(credits);
+        ordered.sort(Comparator.comparing(BalanceCreditDTO::getAccountNumber));
+
+        BigDecimal total = BigDecimal.ZERO;
+        for (BalanceCreditDTO credit : ordered) {
+            if (credit.getAmount() == null || credit.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
+                throw new IllegalArgumentException("Amount must be positive for account " + credit.getAccountNumber());
+            }
+            total = total.add(credit.getAmount());
+        }
+        if (reference != null && !recordMovement(reference, ordered.size(), total)) {
+            LOGGER.info("Credit batch {} already applied", reference);
+            return ordered.size();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (BalanceCreditDTO credit : ordered) {
+            int updated = accountRepository.applyBalanceDelta(credit.getAccountNumber(), credit.getAmount(),
+                    BALANCE_FLOOR, now);
+            if (updated == 0) {
+                throw new AccountNotFoundException(credit.getAccountNumber(), "account number");
+            }
+        }
+
+        cacheEvictor.evictAll(ordered.stream().map(BalanceCreditDTO::getAccountNumber).toList());
+
+        LOGGER.info("Credited {} accounts in one batch", ordered.size());
+        return ordered.size();
     }
 
     @Override
@@ -248,6 +486,8 @@ public class AccountServiceImpl implements AccountService {
         account.setClosedAt(LocalDateTime.now());
         account.setUpdatedAt(LocalDateTime.now());
         accountRepository.save(account);
+        cacheEvictor.evict(account.getAccountNumber(), account.getClient().getId());
+        evictFromTransactionCache(account.getAccountNumber());
 
         sendNotification(
                 () -> notificationClient.sendAccountClosureNotification(account.getClient().getId(),
@@ -257,34 +497,57 @@ public class AccountServiceImpl implements AccountService {
         return AccountResponseDTO.success("Account closed successfully", account.getAccountNumber());
     }
 
+    // Only positive answers are cached: a number looked up before its account was created must not stick
     @Override
+    @Cacheable(cacheNames = CacheConfig.ACCOUNT_EXISTS, unless = "!#result")
     public boolean accountExists(String accountNumber) {
+        // Definite negative from the filter: no database round trip
+        if (!accountNumbers.mightContain(accountNumber)) {
+            return false;
+        }
         return accountRepository.existsByAccountNumber(accountNumber);
     }
 
     @Override
     public boolean hasSufficientBalance(String accountNumber, BigDecimal amount) {
-        Account account = accountRepository.findByAccountNumber(accountNumber)
+        BigDecimal available = accountRepository.findAvailableBalanceByAccountNumber(accountNumber)
                 .orElseThrow(() -> new AccountNotFoundException(accountNumber, "account number"));
 
-        return account.getBalance().compareTo(amount) >= 0;
+        return available.compareTo(amount) >= 0;
     }
 
-    private AccountDTO convertToDTO(Account account) {
-        AccountDTO accountDTO = new AccountDTO();
-        BeanUtils.copyProperties(account, accountDTO);
-        return accountDTO;
+    // Inserted before the balances are touched and rolled back with them: a concurrent call with the
+    // same reference blocks on the primary key and then fails, a later retry sees the reference
+    private boolean recordMovement(String reference, int accountCount, BigDecimal total) {
+        if (movementRepository.existsById(reference)) {
+            return false;
+        }
+        movementRepository.saveAndFlush(new BalanceMovement(reference, accountCount, total));
+        return true;
     }
 
-    private String generateAccountNumber() {
-        Random random = new Random();
-        String accountNumber;
+    private Account lockAccount(String accountNumber) {
+        return accountRepository.findByAccountNumberForUpdate(accountNumber)
+                .orElseThrow(() -> new AccountNotFoundException(accountNumber, "account number"));
+    }
 
-        do {
-            accountNumber = String.format("%010d", random.nextInt(1_000_000_000));
-        } while (accountRepository.existsByAccountNumber(accountNumber));
+    private void evictFromTransactionCache(String accountNumber) {
+        runAfterCommit(() -> sendNotification(
+                () -> transactionClient.evictAccount(accountNumber),
+                "Failed to invalidate transaction-service account cache"));
+    }
 
-        return accountNumber;
+    private void runAfterCommit(Runnable task) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            task.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                task.run();
+            }
+        });
     }
 
     private void sendNotification(Runnable notificationTask, String errorMessage) {
@@ -305,8 +568,9 @@ public class AccountServiceImpl implements AccountService {
         if (accountUpdateDTO.getAccountType() != null) {
             account.setAccountType(AccountType.valueOf(accountUpdateDTO.getAccountType()));
         }
-        if (accountUpdateDTO.getActive() != null) {
+        if (accountUpdateDTO.getActive() != null && accountUpdateDTO.getActive() != account.isActive()) {
             account.setActive(accountUpdateDTO.getActive());
+            evictFromTransactionCache(account.getAccountNumber());
         }
         if (accountUpdateDTO.getBalance() != null) {
             account.setBalance(accountUpdateDTO.getBalance());
@@ -314,8 +578,9 @@ public class AccountServiceImpl implements AccountService {
 
         account.setUpdatedAt(LocalDateTime.now());
         Account updatedAccount = accountRepository.save(account);
+        cacheEvictor.evict(account.getAccountNumber(), account.getClient().getId());
 
-        return convertToDTO(updatedAccount);
+        return AccountMapper.toDTO(updatedAccount);
     }
 
     // Helper methods
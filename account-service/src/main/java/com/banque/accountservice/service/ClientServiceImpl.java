@@ -1,6 +1,7 @@
 package com.banque.accountservice.service;
 
 import com.banque.accountservice.dto.ClientCreationDTO;
+import com.banque.accountservice.mapper.ClientMapper;
 import com.banque.accountservice.model.Client;
 import com.banque.accountservice.repository.ClientRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,11 +17,6 @@ public class ClientServiceImpl implements ClientService {
         if (clientRepository.existsByEmail(dto.getEmail())) {
             throw new RuntimeException("Client with this email already exists");
         }
-        Client client = new Client();
-        client.setFirstName(dto.getFirstName());
-        client.setLastName(dto.getLastName());
-        client.setEmail(dto.getEmail());
-        client.setPhoneNumber(dto.getPhoneNumber());
-        return clientRepository.save(client);
+        return clientRepository.save(ClientMapper.toEntity(dto));
     }
 }
\ No newline at end of file
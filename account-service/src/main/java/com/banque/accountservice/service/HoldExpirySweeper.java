@@ -0,0 +1,42 @@
+package com.banque.accountservice.service;
+
+import com.banque.accountservice.config.HoldProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically expires holds past their expiry date. Each chunk runs in its own short
+ * transaction and a run stops after {@code account.holds.max-chunks-per-sweep} chunks,
+ * so a backlog of expired holds never holds account row locks for long.
+ */
+@Component
+public class HoldExpirySweeper {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HoldExpirySweeper.class);
+
+    private final AccountHoldService holdService;
+    private final HoldProperties properties;
+
+    public HoldExpirySweeper(AccountHoldService holdService, HoldProperties properties) {
+        this.holdService = holdService;
+        this.properties = properties;
+    }
+
+    @Scheduled(fixedDelayString = "${account.holds.sweep-interval-ms:60000}")
+    public void sweep() {
+        int chunkSize = properties.getSweepChunkSize();
+        int total = 0;
+        for (int chunk = 0; chunk < properties.getMaxChunksPerSweep(); chunk++) {
+            int expired = holdService.expireHolds(chunkSize);
+            total += expired;
+            if (expired < chunkSize) {
+                break;
+            }
+        }
+        if (total > 0) {
+            LOGGER.info("Hold expiry sweep released {} holds", total);
+        }
+    }
+}
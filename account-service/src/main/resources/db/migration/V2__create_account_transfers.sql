@@ -0,0 +1,14 @@
+-- V2__create_account_transfers.sql
+-- Transfers carrying a caller reference (transaction-service saga id): makes retries
+-- idempotent and lets a cancelled reference never be applied afterwards
+CREATE TABLE IF NOT EXISTS account_transfers (
+    reference VARCHAR(64) PRIMARY KEY,
+    source_account_number VARCHAR(20) NOT NULL,
+    destination_account_number VARCHAR(20) NOT NULL,
+    amount DECIMAL(19,4) NOT NULL,
+    source_client_id BIGINT NULL,
+    destination_client_id BIGINT NULL,
+    status VARCHAR(16) NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NULL
+);
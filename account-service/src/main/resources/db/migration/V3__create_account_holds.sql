@@ -0,0 +1,17 @@
+-- V3__create_account_holds.sql
+-- Fund reservations: accounts.held_amount is the running sum of ACTIVE holds,
+-- so the available balance (balance - held_amount) never needs an aggregate query
+ALTER TABLE accounts ADD COLUMN held_amount DECIMAL(19,4) NOT NULL DEFAULT 0.0000;
+
+CREATE TABLE IF NOT EXISTS account_holds (
+    id VARCHAR(36) PRIMARY KEY,
+    account_number VARCHAR(20) NOT NULL,
+    amount DECIMAL(19,4) NOT NULL,
+    captured_amount DECIMAL(19,4) NULL,
+    status VARCHAR(16) NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NULL,
+    INDEX idx_hold_status_expires (status, expires_at),
+    INDEX idx_hold_account (account_number)
+);
@@ -0,0 +1,11 @@
+-- V4__create_account_number_sequences.sql
+-- Account number blocks reserved per instance (service/AccountNumberAllocator).
+-- Numbers are 9 sequence digits + 1 Luhn check digit. The sequence starts at 100000000, so new
+-- numbers never begin with 0 and cannot collide with the legacy random numbers ("%010d" of a
+-- value below 10^9, which always begin with 0)
+CREATE TABLE IF NOT EXISTS account_number_sequences (
+    name VARCHAR(64) PRIMARY KEY,
+    next_val BIGINT NOT NULL
+);
+
+INSERT INTO account_number_sequences (name, next_val) VALUES ('accounts', 100000000);
@@ -0,0 +1,9 @@
+-- V5__create_balance_movements.sql
+-- References of balance updates and credit batches sent by transaction-service batch jobs:
+-- a retried call with an already recorded reference is acknowledged without being applied again
+CREATE TABLE IF NOT EXISTS balance_movements (
+    reference VARCHAR(64) PRIMARY KEY,
+    account_count INT NOT NULL,
+    total_amount DECIMAL(19,4) NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
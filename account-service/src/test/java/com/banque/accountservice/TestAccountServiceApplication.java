@@ -0,0 +1,11 @@
+package com.banque.accountservice;
+
+import org.springframework.boot.SpringApplication;
+
+// Starts the application on the test classpath, so that the benchmarks (benchmark package, test sources)
+// stay out of the jar. mvn spring-boot:test-run -Dspring-boot.run.profiles=<benchmark profile>
+public class TestAccountServiceApplication {
+    public static void main(String[] args) {
+        SpringApplication.from(AccountServiceApplication::main).run(args);
+    }
+}
@@ -0,0 +1,82 @@
+package com.banque.accountservice.benchmark;
+
+import com.banque.accountservice.dto.AccountCreationDTO;
+import com.banque.accountservice.dto.AccountResponseDTO;
+import com.banque.accountservice.model.AccountType;
+import com.banque.accountservice.service.AccountService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Measures createAccount throughput (accounts/second) with concurrent callers.
+ * Run only against a disposable database, with an existing client, from the test sources:
+ *   mvn spring-boot:test-run -Dspring-boot.run.profiles=benchmark
+ *   -Dspring-boot.run.arguments="--benchmark.accounts.client-id=..."
+ * Stop notification-service first, or its calls are part of the measurement.
+ */
+@Component
+@Profile("benchmark")
+public class AccountCreationBenchmark implements CommandLineRunner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AccountCreationBenchmark.class);
+
+    private final AccountService accountService;
+    private final long clientId;
+    private final int accounts;
+    private final int threads;
+
+    public AccountCreationBenchmark(AccountService accountService,
+            @Value("${benchmark.accounts.client-id}") long clientId,
+            @Value("${benchmark.accounts.count:20000}") int accounts,
+            @Value("${benchmark.accounts.threads:16}") int threads) {
+        this.accountService = accountService;
+        this.clientId = clientId;
+        this.accounts = accounts;
+        this.threads = threads;
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        AtomicInteger remaining = new AtomicInteger(accounts);
+        AtomicInteger failures = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                workers.add(pool.submit(() -> {
+                    while (remaining.getAndDecrement() > 0) {
+                        AccountCreationDTO request = new AccountCreationDTO();
+                        request.setClientId(clientId);
+                        request.setAccountType(AccountType.CHECKING);
+                        request.setInitialDeposit(BigDecimal.TEN);
+                        AccountResponseDTO response = accountService.createAccount(request);
+                        if (!response.isSuccess()) {
+                            failures.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        LOGGER.info("createAccount benchmark: {} accounts with {} threads in {} s ({} accounts/s, {} failures)",
+                accounts, threads, String.format("%.2f", seconds), Math.round(accounts / seconds), failures.get());
+    }
+}
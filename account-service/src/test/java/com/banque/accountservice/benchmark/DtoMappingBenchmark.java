@@ -0,0 +1,96 @@
+package com.banque.accountservice.benchmark;
+
+import com.banque.accountservice.dto.AccountDTO;
+import com.banque.accountservice.mapper.AccountMapper;
+import com.banque.accountservice.model.Account;
+import com.banque.accountservice.model.AccountType;
+import com.banque.accountservice.model.Client;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+/**
+ * Compares Account to AccountDTO mapping through BeanUtils.copyProperties (the previous path) with
+ * AccountMapper: ns/op and bytes allocated per mapping on the benchmark thread. Runs from the test sources:
+ *   mvn spring-boot:test-run -Dspring-boot.run.profiles=mapping-benchmark
+ */
+@Component
+@Profile("mapping-benchmark")
+public class DtoMappingBenchmark implements CommandLineRunner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DtoMappingBenchmark.class);
+
+    private final int warmupIterations;
+    private final int iterations;
+
+    // Keeps the JIT from discarding the mapped objects
+    private volatile int sink;
+
+    public DtoMappingBenchmark(@Value("${benchmark.mapping.warmup-iterations:2000000}") int warmupIterations,
+            @Value("${benchmark.mapping.iterations:5000000}") int iterations) {
+        this.warmupIterations = warmupIterations;
+        this.iterations = iterations;
+    }
+
+    @Override
+    public void run(String... args) {
+        Account account = sampleAccount();
+        Function<Account, AccountDTO> reflective = source -> {
+            AccountDTO dto = new AccountDTO();
+            BeanUtils.copyProperties(source, dto);
+            return dto;
+        };
+
+        measure("BeanUtils.copyProperties", reflective, account);
+        measure("AccountMapper", AccountMapper::toDTO, account);
+        // Second round: both paths fully compiled
+        measure("BeanUtils.copyProperties", reflective, account);
+        measure("AccountMapper", AccountMapper::toDTO, account);
+    }
+
+    private void measure(String name, Function<Account, AccountDTO> mapper, Account account) {
+        int hash = 0;
+        for (int i = 0; i < warmupIterations; i++) {
+            hash += mapper.apply(account).hashCode();
+        }
+
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            hash += mapper.apply(account).hashCode();
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        sink = hash;
+
+        LOGGER.info("{}: {} ns/op, {} bytes/op over {} mappings", name,
+                String.format("%.1f", (double) elapsed / iterations),
+                String.format("%.1f", (double) allocated / iterations), iterations);
+    }
+
+    private static Account sampleAccount() {
+        Client client = new Client();
+        client.setId(42L);
+        Account account = new Account();
+        account.setId(1L);
+        account.setClient(client);
+        account.setAccountNumber("1234567897");
+        account.setAccountType(AccountType.CHECKING);
+        account.setBalance(new BigDecimal("1520.75"));
+        account.setHeldAmount(new BigDecimal("120.00"));
+        account.setUpdatedAt(LocalDateTime.now());
+        return account;
+    }
+}
@@ -0,0 +1,134 @@
+package com.banque.accountservice.service;
+
+import com.banque.accountservice.config.AccountNumberProperties;
+import com.banque.accountservice.model.AccountNumberSequence;
+import com.banque.accountservice.repository.AccountNumberSequenceRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Block reservations through the real account_number_sequences row: SELECT ... FOR UPDATE in a
+ * REQUIRES_NEW transaction, from several allocators standing in for separate instances. Test methods are
+ * not transactional so that every reservation commits and is visible to the other threads.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.hbm2ddl.auto=create-drop"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AccountNumberAllocatorJpaTest {
+
+    private static final int BLOCK_SIZE = 7;
+
+    @Autowired
+    private AccountNumberSequenceRepository sequenceRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        AccountNumberSequence sequence = new AccountNumberSequence();
+        sequence.setName(AccountNumberAllocator.SEQUENCE_NAME);
+        sequence.setNextVal(AccountNumberAllocator.FIRST_VALUE);
+        sequenceRepository.save(sequence);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sequenceRepository.deleteAll();
+    }
+
+    @Test
+    void concurrentInstancesReserveDisjointBlocks() throws Exception {
+        int instances = 4;
+        int threadsPerInstance = 4;
+        int numbersPerThread = 500;
+        List<AccountNumberAllocator> allocators = new ArrayList<>();
+        for (int i = 0; i < instances; i++) {
+            allocators.add(allocator());
+        }
+
+        Set<String> issued = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(instances * threadsPerInstance);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> duplicates = new ArrayList<>();
+        try {
+            for (AccountNumberAllocator allocator : allocators) {
+                for (int t = 0; t < threadsPerInstance; t++) {
+                    duplicates.add(pool.submit(() -> {
+                        start.await();
+                        int seen = 0;
+                        for (int n = 0; n < numbersPerThread; n++) {
+                            if (!issued.add(allocator.next())) {
+                                seen++;
+                            }
+                        }
+                        return seen;
+                    }));
+                }
+            }
+            start.countDown();
+            for (Future<Integer> result : duplicates) {
+                assertEquals(0, result.get(60, TimeUnit.SECONDS));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(instances * threadsPerInstance * numbersPerThread, issued.size());
+        long nextVal = nextVal();
+        for (String number : issued) {
+            assertTrue(AccountNumberAllocator.isValid(number), number);
+            assertTrue(Long.parseLong(number.substring(0, 9)) < nextVal, number);
+        }
+        // Whole blocks only, and at most one partially used block per instance
+        long reserved = nextVal - AccountNumberAllocator.FIRST_VALUE;
+        assertEquals(0, reserved % BLOCK_SIZE);
+        assertTrue(reserved - issued.size() < (long) instances * BLOCK_SIZE);
+    }
+
+    @Test
+    void blockStaysReservedWhenTheCallerRollsBack() {
+        AccountNumberAllocator first = allocator();
+        TransactionTemplate caller = new TransactionTemplate(transactionManager);
+        String number = caller.execute(status -> {
+            status.setRollbackOnly();
+            return first.next();
+        });
+
+        assertEquals(AccountNumberAllocator.FIRST_VALUE + BLOCK_SIZE, nextVal());
+        assertNotEquals(number, allocator().next());
+    }
+
+    private AccountNumberAllocator allocator() {
+        AccountNumberProperties properties = new AccountNumberProperties();
+        properties.setBlockSize(BLOCK_SIZE);
+        return new AccountNumberAllocator(sequenceRepository, transactionManager, properties);
+    }
+
+    private long nextVal() {
+        return sequenceRepository.findById(AccountNumberAllocator.SEQUENCE_NAME).orElseThrow().getNextVal();
+    }
+}
@@ -0,0 +1,125 @@
+package com.banque.accountservice.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AccountNumberAllocatorTest {
+
+    // Stands in for the account_number_sequences row: SELECT ... FOR UPDATE + UPDATE serialize reservations
+    private static final class SharedSequence implements AccountNumberAllocator.BlockSource {
+        private long next;
+        private int reservations;
+
+        SharedSequence(long start) {
+            this.next = start;
+        }
+
+        @Override
+        public synchronized long reserve(int size) {
+            long start = next;
+            next += size;
+            reservations++;
+            return start;
+        }
+    }
+
+    @Test
+    void numbersAreUniqueAcrossConcurrentInstances() throws Exception {
+        int instances = 4;
+        int threadsPerInstance = 8;
+        int numbersPerThread = 5_000;
+        // Small blocks: many refills racing with each other and with the other instances
+        SharedSequence sequence = new SharedSequence(AccountNumberAllocator.FIRST_VALUE);
+        List<AccountNumberAllocator> allocators = new ArrayList<>();
+        for (int i = 0; i < instances; i++) {
+            allocators.add(new AccountNumberAllocator(sequence, 7));
+        }
+
+        Set<String> issued = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(instances * threadsPerInstance);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> duplicates = new ArrayList<>();
+        try {
+            for (AccountNumberAllocator allocator : allocators) {
+                for (int t = 0; t < threadsPerInstance; t++) {
+                    duplicates.add(pool.submit(() -> {
+                        start.await();
+                        int seen = 0;
+                        for (int n = 0; n < numbersPerThread; n++) {
+                            if (!issued.add(allocator.next())) {
+                                seen++;
+                            }
+                        }
+                        return seen;
+                    }));
+                }
+            }
+            start.countDown();
+            for (Future<Integer> result : duplicates) {
+                assertEquals(0, result.get(60, TimeUnit.SECONDS));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(instances * threadsPerInstance * numbersPerThread, issued.size());
+        for (String number : issued) {
+            assertEquals(10, number.length());
+            assertTrue(AccountNumberAllocator.isValid(number), number);
+        }
+        // At most one partially used block per instance
+        long reserved = (long) sequence.reservations * 7;
+        assertTrue(reserved - issued.size() < instances * 7L);
+    }
+
+    @Test
+    void checkDigitDetectsSingleDigitErrorsAndAdjacentSwaps() {
+        String number = AccountNumberAllocator.encode(123_456_789L);
+        assertEquals("1234567897", number);
+        assertTrue(AccountNumberAllocator.isValid(number));
+
+        for (int i = 0; i < number.length(); i++) {
+            for (char digit = '0'; digit <= '9'; digit++) {
+                if (digit != number.charAt(i)) {
+                    String altered = number.substring(0, i) + digit + number.substring(i + 1);
+                    assertFalse(AccountNumberAllocator.isValid(altered), altered);
+                }
+            }
+        }
+        assertFalse(AccountNumberAllocator.isValid("2134567897"));
+        assertFalse(AccountNumberAllocator.isValid("12345A7897"));
+    }
+
+    @Test
+    void newNumbersNeverCollideWithLegacyRandomNumbers() {
+        // Legacy numbers are "%010d" of a value below 10^9, so they always start with 0
+        AccountNumberAllocator allocator = new AccountNumberAllocator(
+                new SharedSequence(AccountNumberAllocator.FIRST_VALUE), 100);
+        for (int i = 0; i < 1_000; i++) {
+            assertTrue(allocator.next().charAt(0) != '0');
+        }
+    }
+
+    @Test
+    void failsOnceTheSequenceIsExhausted() {
+        AccountNumberAllocator allocator = new AccountNumberAllocator(
+                new SharedSequence(AccountNumberAllocator.LAST_VALUE - 1), 2);
+        allocator.next();
+        allocator.next();
+        assertThrows(IllegalStateException.class, allocator::next);
+    }
+}
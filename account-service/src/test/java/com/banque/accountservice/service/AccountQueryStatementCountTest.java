@@ -0,0 +1,186 @@
+package com.banque.accountservice.service;
+
+import com.banque.accountservice.client.NotificationClient;
+import com.banque.accountservice.client.TransactionClient;
+import com.banque.accountservice.model.Account;
+import com.banque.accountservice.model.AccountType;
+import com.banque.accountservice.model.Client;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * SQL statements issued by the read paths behind the AccountController endpoints. Caching is
+ * disabled (NoOpCacheManager) so that every call reaches the database.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.hbm2ddl.auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({ AccountServiceImpl.class, AccountQueryStatementCountTest.NoCaching.class })
+class AccountQueryStatementCountTest {
+
+    @TestConfiguration
+    static class NoCaching {
+        @Bean
+        CacheManager cacheManager() {
+            return new NoOpCacheManager();
+        }
+    }
+
+    @MockitoBean
+    private NotificationClient notificationClient;
+    @MockitoBean
+    private TransactionClient transactionClient;
+    @MockitoBean
+    private AccountCacheEvictor cacheEvictor;
+    @MockitoBean
+    private AccountNumberFilter accountNumberFilter;
+    @MockitoBean
+    private AccountNumberAllocator accountNumberAllocator;
+
+    @Autowired
+    private AccountService accountService;
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Long firstClientId;
+
+    @BeforeEach
+    void setUp() {
+        // Several clients: an eager client association would add one query per distinct client to the lists
+        Client first = client("first@example.com");
+        Client second = client("second@example.com");
+        Client third = client("third@example.com");
+        account("1000000001", first, AccountType.CHECKING);
+        account("1000000002", first, AccountType.CHECKING);
+        account("1000000003", first, AccountType.SAVINGS);
+        account("1000000004", second, AccountType.CHECKING);
+        account("1000000005", third, AccountType.CHECKING);
+        firstClientId = first.getId();
+
+        entityManager.flush();
+        entityManager.clear();
+        when(accountNumberFilter.mightContain(anyString())).thenReturn(true);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    // GET /api/accounts/type/{accountType}
+    @Test
+    void accountsByTypeDoNotLoadTheirClients() {
+        assertEquals(3, statements(() -> accountService.getAccountsByType(AccountType.CHECKING)).size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    // GET /api/accounts/client/{clientId}
+    @Test
+    void accountsByClientDoNotLoadTheClient() {
+        assertEquals(3, statements(() -> accountService.getAccountsByClientId(firstClientId)).size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    // GET /api/accounts/client/{clientId}/active
+    @Test
+    void activeAccountsByClientDoNotLoadTheClient() {
+        assertEquals(3, statements(() -> accountService.getActiveAccountsByClientId(firstClientId)).size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    // GET /api/accounts/number/{accountNumber}
+    @Test
+    void accountByNumberIsOneStatement() {
+        assertEquals(firstClientId, statements(() -> accountService.getAccountByAccountNumber("1000000001"))
+                .getClientId());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    // GET /api/accounts/{accountNumber}/client-id
+    @Test
+    void clientIdIsOneProjection() {
+        assertEquals(firstClientId, statements(() -> accountService.getClientIdByAccountNumber("1000000002")));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    // GET /api/accounts/{accountNumber}/client
+    @Test
+    void clientEmailIsOneProjection() {
+        assertEquals("first@example.com",
+                statements(() -> accountService.getClientEmailByAccountNumber("1000000003")));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    // GET /api/accounts/{accountNumber}/balance/check
+    @Test
+    void balanceCheckIsOneProjection() {
+        assertTrue(statements(() -> accountService.hasSufficientBalance("1000000004", new BigDecimal("50.00"))));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    // GET /api/accounts/{accountNumber}/summary
+    @Test
+    void summaryIsOneProjection() {
+        assertTrue(statements(() -> accountService.getAccountSummary("1000000005")).isActive());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    // GET /api/accounts/{accountNumber}/exists
+    @Test
+    void existsIsOneStatement() {
+        assertTrue(statements(() -> accountService.accountExists("1000000001")));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    // Counts only what the call itself issues
+    private <T> T statements(Supplier<T> call) {
+        statistics.clear();
+        T result = call.get();
+        entityManager.clear();
+        return result;
+    }
+
+    private Client client(String email) {
+        Client client = new Client();
+        client.setFirstName("Test");
+        client.setLastName("Client");
+        client.setEmail(email);
+        return entityManager.persist(client);
+    }
+
+    private void account(String accountNumber, Client client, AccountType type) {
+        Account account = new Account();
+        account.setAccountNumber(accountNumber);
+        account.setClient(client);
+        account.setAccountType(type);
+        account.setBalance(new BigDecimal("100.00"));
+        entityManager.persist(account);
+    }
+}
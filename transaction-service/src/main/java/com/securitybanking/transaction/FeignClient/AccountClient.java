@@ -4,11 +4,18 @@ import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import com.securitybanking.transaction.dto.AccountBalance;
+import com.securitybanking.transaction.dto.AccountCredit;
+import com.securitybanking.transaction.dto.AccountSummary;
+import com.securitybanking.transaction.dto.AccountTransferRequest;
+import com.securitybanking.transaction.dto.AccountTransferResult;
 import com.securitybanking.transaction.dto.ClientDTO;
 
 import java.math.BigDecimal;
+import java.util.List;
 
-@FeignClient(name = "ACCOUNT-SERVICE", url = "${account.service.url}")
+@FeignClient(name = "ACCOUNT-SERVICE", url = "${account.service.url}", primary = false,
+                qualifiers = "accountFeignClient")
 public interface AccountClient {
 
         @GetMapping("/api/accounts/{accountNumber}/exists")
@@ -24,10 +31,54 @@ public interface AccountClient {
                         @PathVariable String accountNumber,
                         @RequestParam BigDecimal amount);
 
+        // Virement atomique côté account-service (débit + crédit dans une seule transaction)
+        @PostMapping("/api/accounts/transfers")
+        AccountTransferResult transfer(@RequestBody AccountTransferRequest request);
+
         @GetMapping("/api/accounts/{accountNumber}/client")
         String getClientByAccountNumber(@PathVariable("accountNumber") String accountNumber);
 
         // Ajoute cette méthode pour récupérer l'ID du client (type Long)
         @GetMapping("/api/accounts/{accountNumber}/client-id")
         Long getClientIdByAccountNumber(@PathVariable("accountNumber") String accountNumber);
-}
\ No newline at end of file
+
+        // Existence, statut et client propriétaire en un appel (alimente AccountNearCache)
+        @GetMapping("/api/accounts/{accountNumber}/summary")
+        AccountSummary getAccountSummary(@RequestHeader(value = "Authorization", required = false) String authorization,
+                        @PathVariable("accountNumber") String accountNumber);
+
+        // Solde courant (relevés de compte : point de départ du solde d'ouverture)
+        @GetMapping("/api/accounts/number/{accountNumber}")
+        AccountBalance getAccountBalance(@RequestHeader("Authorization") String authorization,
+                        @PathVariable("accountNumber") String accountNumber);
+
+        // --- Traitements par lot : exécutés hors requête HTTP, le jeton est passé explicitement ---
+
+        @PostMapping("/api/accounts/exists")
+        List<String> findActiveAccountNumbers(@RequestHeader("Authorization") String authorization,
+                        @RequestBody List<String> accountNumbers);
+
+        // Référence du lot : un lot rejoué après une issue incertaine n'est crédité qu'une fois
+        @PostMapping("/api/accounts/credits")
+        Integer creditAccounts(@RequestHeader("Authorization") String authorization,
+                        @RequestParam("reference") String reference,
+                        @RequestBody List<AccountCredit> credits);
+
+        // --- Saga de virement (TransferSagaService / TransferSagaRecovery) ---
+
+        @PostMapping("/api/accounts/transfers")
+        AccountTransferResult transferAs(@RequestHeader("Authorization") String authorization,
+                        @RequestBody AccountTransferRequest request);
+
+        // Compensation : annule la référence, ou reverse le virement s'il a déjà été appliqué
+        @PostMapping("/api/accounts/transfers/cancel")
+        AccountTransferResult cancelTransfer(@RequestHeader("Authorization") String authorization,
+                        @RequestBody AccountTransferRequest request);
+
+        // Débit et remboursement des virements groupés, appliqués au plus une fois par référence
+        @PutMapping("/api/accounts/{accountNumber}/balance")
+        ResponseEntity<Void> updateBalanceAs(@RequestHeader("Authorization") String authorization,
+                        @PathVariable("accountNumber") String accountNumber,
+                        @RequestParam("amount") BigDecimal amount,
+                        @RequestParam("reference") String reference);
+}
@@ -0,0 +1,374 @@
+package com.securitybanking.transaction.FeignClient;
+
+import com.securitybanking.transaction.dto.AccountSummary;
+import com.securitybanking.transaction.dto.AccountTransferResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Client du canal binaire interne d'account-service (voir AccountRpcProtocol côté
+ * account-service) : trames préfixées par leur longueur sur quelques connexions TCP
+ * persistantes. Plusieurs requêtes sont envoyées sur une même connexion sans attendre
+ * les réponses (pipelining) ; un thread lecteur par connexion les associe par identifiant.
+ */
+@Component
+@ConditionalOnProperty(name = "transaction.account-rpc.enabled", havingValue = "true")
+public class AccountRpcClient implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountRpcClient.class);
+
+    private static final int MAX_FRAME_LENGTH = 64 * 1024;
+
+    // Codes d'opération
+    private static final byte HELLO = 0;
+    private static final byte EXISTS = 1;
+    private static final byte BALANCE_CHECK = 2;
+    private static final byte UPDATE_BALANCE = 3;
+    private static final byte SUMMARY = 4;
+    private static final byte TRANSFER = 5;
+    private static final byte CLIENT_ID = 6;
+
+    // Codes de statut
+    static final byte OK = 0;
+    static final byte NOT_FOUND = 1;
+    static final byte INSUFFICIENT_BALANCE = 2;
+    static final byte INACTIVE = 3;
+    static final byte BAD_REQUEST = 4;
+    static final byte UNAUTHORIZED = 5;
+    static final byte ERROR = 6;
+    static final byte FORBIDDEN = 7;
+
+    /** Réponse d'erreur du canal : statut et message renvoyés par account-service. */
+    public static class RpcException extends RuntimeException {
+        private final byte status;
+
+        RpcException(byte status, String message) {
+            super(message);
+            this.status = status;
+        }
+
+        public byte getStatus() {
+            return status;
+        }
+    }
+
+    @FunctionalInterface
+    private interface PayloadWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface PayloadReader<T> {
+        T read(DataInputStream in) throws IOException;
+    }
+
+    private final String host;
+    private final int port;
+    private final String secret;
+    private final long timeoutMs;
+    private final Connection[] connections;
+    private final ReentrantLock[] connectLocks;
+    private final AtomicInteger next = new AtomicInteger();
+    private final AtomicLong correlationIds = new AtomicLong();
+
+    public AccountRpcClient(@Value("${transaction.account-rpc.host:localhost}") String host,
+            @Value("${transaction.account-rpc.port:9082}") int port,
+            @Value("${transaction.account-rpc.secret}") String secret,
+            @Value("${transaction.account-rpc.connections:4}") int connections,
+            @Value("${transaction.account-rpc.timeout-ms:5000}") long timeoutMs) {
+        this.host = host;
+        this.port = port;
+        this.secret = secret;
+        this.timeoutMs = timeoutMs;
+        this.connections = new Connection[connections];
+        this.connectLocks = new ReentrantLock[connections];
+        for (int i = 0; i < connections; i++) {
+            connectLocks[i] = new ReentrantLock();
+        }
+    }
+
+    public boolean accountExists(String accountNumber) {
+        return await(existsAsync(accountNumber));
+    }
+
+    public CompletableFuture<Boolean> existsAsync(String accountNumber) {
+        return call(EXISTS, out -> out.writeUTF(accountNumber), DataInputStream::readBoolean);
+    }
+
+    public boolean hasSufficientBalance(String accountNumber, BigDecimal amount) {
+        return await(call(BALANCE_CHECK, out -> {
+            out.writeUTF(accountNumber);
+            out.writeUTF(amount.toPlainString());
+        }, DataInputStream::readBoolean));
+    }
+
+    // roles : rôles de l'appelant, contrôlés par account-service comme sur PUT /balance
+    public void updateBalance(String roles, String accountNumber, BigDecimal amount) {
+        await(call(UPDATE_BALANCE, out -> {
+            out.writeUTF(roles);
+            out.writeUTF(accountNumber);
+            out.writeUTF(amount.toPlainString());
+        }, in -> Boolean.TRUE));
+    }
+
+    public AccountSummary getAccountSummary(String accountNumber) {
+        return await(summaryAsync(accountNumber));
+    }
+
+    public CompletableFuture<AccountSummary> summaryAsync(String accountNumber) {
+        return call(SUMMARY, out -> out.writeUTF(accountNumber), in -> {
+            AccountSummary summary = new AccountSummary();
+            summary.setAccountNumber(accountNumber);
+            summary.setClientId(in.readLong());
+            summary.setActive(in.readBoolean());
+            String accountType = in.readUTF();
+            summary.setAccountType(accountType.isEmpty() ? null : accountType);
+            return summary;
+        });
+    }
+
+    public AccountTransferResult transfer(String roles, String source, String destination, BigDecimal amount) {
+        return await(call(TRANSFER, out -> {
+            out.writeUTF(roles);
+            out.writeUTF(source);
+            out.writeUTF(destination);
+            out.writeUTF(amount.toPlainString());
+        }, in -> {
+            AccountTransferResult result = new AccountTransferResult();
+            result.setSourceAccountNumber(source);
+            result.setDestinationAccountNumber(destination);
+            result.setSourceClientId(in.readLong());
+            result.setDestinationClientId(in.readLong());
+            result.setSourceBalance(new BigDecimal(in.readUTF()));
+            result.setAmount(amount);
+            return result;
+        }));
+    }
+
+    public Long getClientIdByAccountNumber(String accountNumber) {
+        return await(call(CLIENT_ID, out -> out.writeUTF(accountNumber), DataInputStream::readLong));
+    }
+
+    private <T> CompletableFuture<T> call(byte opcode, PayloadWriter payload, PayloadReader<T> reader) {
+        long correlationId = correlationIds.incrementAndGet();
+        byte[] frame;
+        try {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(64);
+            DataOutputStream out = new DataOutputStream(buffer);
+            out.writeInt(0); // longueur, renseignée ci-dessous
+            out.writeLong(correlationId);
+            out.writeByte(opcode);
+            payload.write(out);
+            frame = buffer.toByteArray();
+            int length = frame.length - 4;
+            frame[0] = (byte) (length >>> 24);
+            frame[1] = (byte) (length >>> 16);
+            frame[2] = (byte) (length >>> 8);
+            frame[3] = (byte) length;
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        Connection connection;
+        try {
+            connection = connection();
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(new UncheckedIOException("Canal comptes indisponible", e));
+        }
+        return connection.send(correlationId, frame).thenApply(response -> {
+            try {
+                return reader.read(response);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private <T> T await(CompletableFuture<T> call) {
+        try {
+            return call.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            call.cancel(false);
+            throw new RuntimeException("Canal comptes : délai dépassé");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new RuntimeException("Canal comptes indisponible", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Appel au canal comptes interrompu");
+        }
+    }
+
+    // Répartition circulaire sur les connexions ; reconnexion paresseuse d'une connexion fermée
+    private Connection connection() throws IOException {
+        int slot = Math.floorMod(next.getAndIncrement(), connections.length);
+        Connection connection = connections[slot];
+        if (connection != null && connection.isOpen()) {
+            return connection;
+        }
+        connectLocks[slot].lock();
+        try {
+            connection = connections[slot];
+            if (connection == null || !connection.isOpen()) {
+                connection = new Connection(slot);
+                connections[slot] = connection;
+            }
+            return connection;
+        } finally {
+            connectLocks[slot].unlock();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        for (Connection connection : connections) {
+            if (connection != null) {
+                connection.close(new IOException("Client arrêté"));
+            }
+        }
+    }
+
+    private final class Connection {
+        private final Socket socket;
+        private final DataOutputStream out;
+        private final DataInputStream in;
+        private final ReentrantLock writeLock = new ReentrantLock();
+        private final Map<Long, CompletableFuture<DataInputStream>> pending = new ConcurrentHashMap<>();
+        private volatile boolean open = true;
+
+        Connection(int slot) throws IOException {
+            socket = new Socket();
+            socket.setTcpNoDelay(true);
+            socket.setKeepAlive(true);
+            socket.connect(new InetSocketAddress(host, port), (int) timeoutMs);
+            out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            handshake();
+
+            Thread reader = new Thread(this::readLoop, "account-rpc-reader-" + slot);
+            reader.setDaemon(true);
+            reader.start();
+        }
+
+        // Authentification unique de la connexion par le secret partagé
+        private void handshake() throws IOException {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            new DataOutputStream(buffer).writeUTF(secret);
+            byte[] payload = buffer.toByteArray();
+            out.writeInt(9 + payload.length);
+            out.writeLong(0L);
+            out.writeByte(HELLO);
+            out.write(payload);
+            out.flush();
+
+            socket.setSoTimeout((int) timeoutMs);
+            int length = in.readInt();
+            in.readLong();
+            byte status = in.readByte();
+            in.skipNBytes(length - 9);
+            socket.setSoTimeout(0);
+            if (status != OK) {
+                socket.close();
+                throw new IOException("Canal comptes : secret refusé");
+            }
+        }
+
+        CompletableFuture<DataInputStream> send(long correlationId, byte[] frame) {
+            CompletableFuture<DataInputStream> response = new CompletableFuture<>();
+            if (!open) {
+                response.completeExceptionally(new UncheckedIOException(new IOException("Connexion fermée")));
+                return response;
+            }
+            pending.put(correlationId, response);
+            // Une réponse abandonnée (délai, annulation) ne doit pas rester en attente
+            response.whenComplete((result, error) -> pending.remove(correlationId));
+
+            writeLock.lock();
+            try {
+                out.write(frame);
+                out.flush();
+            } catch (IOException e) {
+                close(e);
+                response.completeExceptionally(new UncheckedIOException("Canal comptes indisponible", e));
+            } finally {
+                writeLock.unlock();
+            }
+            return response;
+        }
+
+        private void readLoop() {
+            try {
+                while (open) {
+                    int length = in.readInt();
+                    if (length < 9 || length > MAX_FRAME_LENGTH) {
+                        throw new IOException("Trame invalide (" + length + " octets)");
+                    }
+                    long correlationId = in.readLong();
+                    byte status = in.readByte();
+                    byte[] payload = new byte[length - 9];
+                    in.readFully(payload);
+
+                    CompletableFuture<DataInputStream> response = pending.remove(correlationId);
+                    if (response == null) {
+                        continue;
+                    }
+                    DataInputStream body = new DataInputStream(new ByteArrayInputStream(payload));
+                    if (status == OK) {
+                        response.complete(body);
+                    } else {
+                        response.completeExceptionally(new RpcException(status, body.readUTF()));
+                    }
+                }
+            } catch (IOException e) {
+                close(e);
+            }
+        }
+
+        boolean isOpen() {
+            return open;
+        }
+
+        void close(IOException cause) {
+            if (!open) {
+                return;
+            }
+            open = false;
+            logger.warn("Connexion au canal comptes fermée : {}", cause.getMessage());
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // déjà fermée
+            }
+            UncheckedIOException failure = new UncheckedIOException("Canal comptes indisponible", cause);
+            pending.values().forEach(response -> response.completeExceptionally(failure));
+            pending.clear();
+        }
+    }
+}
@@ -7,7 +7,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 
 import com.securitybanking.transaction.dto.NotificationRequest;
 
-@FeignClient(name = "notification-service", url = "http://localhost:8084/api/notifications")
+@FeignClient(name = "notification-service", url = "http://localhost:8084/api/notifications", primary = false)
 
 public interface NotificationClient {
 
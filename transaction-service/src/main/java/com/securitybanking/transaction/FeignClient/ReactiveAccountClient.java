@@ -0,0 +1,151 @@
+package com.securitybanking.transaction.FeignClient;
+
+import com.securitybanking.transaction.dto.AccountBalance;
+import com.securitybanking.transaction.dto.AccountCredit;
+import com.securitybanking.transaction.dto.AccountSummary;
+import com.securitybanking.transaction.dto.AccountTransferRequest;
+import com.securitybanking.transaction.dto.AccountTransferResult;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Équivalent non bloquant d'AccountClient (WebClient sur le pool Reactor Netty partagé).
+ * Le jeton est passé explicitement : les Mono s'exécutent hors du thread de la requête.
+ * Les erreurs HTTP remontent en WebClientResponseException.
+ */
+@Component
+@ConditionalOnProperty(name = "transaction.client.mode", havingValue = "reactive")
+public class ReactiveAccountClient {
+
+    private static final ParameterizedTypeReference<List<String>> STRING_LIST = new ParameterizedTypeReference<>() {
+    };
+
+    private final WebClient webClient;
+
+    public ReactiveAccountClient(@Qualifier("accountWebClient") WebClient webClient) {
+        this.webClient = webClient;
+    }
+
+    public Mono<Boolean> accountExists(String authorization, String accountNumber) {
+        return webClient.get()
+                .uri("/api/accounts/{accountNumber}/exists", accountNumber)
+                .headers(auth(authorization))
+                .retrieve()
+                .bodyToMono(Boolean.class);
+    }
+
+    public Mono<Boolean> hasSufficientBalance(String authorization, String accountNumber, BigDecimal amount) {
+        return webClient.get()
+                .uri(uri -> uri.path("/api/accounts/{accountNumber}/balance/check")
+                        .queryParam("amount", amount)
+                        .build(accountNumber))
+                .headers(auth(authorization))
+                .retrieve()
+                .bodyToMono(Boolean.class);
+    }
+
+    public Mono<Void> updateBalance(String authorization, String accountNumber, BigDecimal amount) {
+        return updateBalance(authorization, accountNumber, amount, null);
+    }
+
+    public Mono<Void> updateBalance(String authorization, String accountNumber, BigDecimal amount,
+            String reference) {
+        return webClient.put()
+                .uri(uri -> uri.path("/api/accounts/{accountNumber}/balance")
+                        .queryParam("amount", amount)
+                        .queryParamIfPresent("reference", Optional.ofNullable(reference))
+                        .build(accountNumber))
+                .headers(auth(authorization))
+                .retrieve()
+                .toBodilessEntity()
+                .then();
+    }
+
+    public Mono<AccountTransferResult> transfer(String authorization, AccountTransferRequest request) {
+        return webClient.post()
+                .uri("/api/accounts/transfers")
+                .headers(auth(authorization))
+                .bodyValue(request)
+                .retrieve()
+                .bodyToMono(AccountTransferResult.class);
+    }
+
+    public Mono<AccountTransferResult> cancelTransfer(String authorization, AccountTransferRequest request) {
+        return webClient.post()
+                .uri("/api/accounts/transfers/cancel")
+                .headers(auth(authorization))
+                .bodyValue(request)
+                .retrieve()
+                .bodyToMono(AccountTransferResult.class);
+    }
+
+    public Mono<String> getClientByAccountNumber(String authorization, String accountNumber) {
+        return webClient.get()
+                .uri("/api/accounts/{accountNumber}/client", accountNumber)
+                .headers(auth(authorization))
+                .retrieve()
+                .bodyToMono(String.class);
+    }
+
+    public Mono<Long> getClientIdByAccountNumber(String authorization, String accountNumber) {
+        return webClient.get()
+                .uri("/api/accounts/{accountNumber}/client-id", accountNumber)
+                .headers(auth(authorization))
+                .retrieve()
+                .bodyToMono(Long.class);
+    }
+
+    public Mono<AccountSummary> getAccountSummary(String authorization, String accountNumber) {
+        return webClient.get()
+                .uri("/api/accounts/{accountNumber}/summary", accountNumber)
+                .headers(auth(authorization))
+                .retrieve()
+                .bodyToMono(AccountSummary.class);
+    }
+
+    public Mono<AccountBalance> getAccountBalance(String authorization, String accountNumber) {
+        return webClient.get()
+                .uri("/api/accounts/number/{accountNumber}", accountNumber)
+                .headers(auth(authorization))
+                .retrieve()
+                .bodyToMono(AccountBalance.class);
+    }
+
+    public Mono<List<String>> findActiveAccountNumbers(String authorization, List<String> accountNumbers) {
+        return webClient.post()
+                .uri("/api/accounts/exists")
+                .headers(auth(authorization))
+                .bodyValue(accountNumbers)
+                .retrieve()
+                .bodyToMono(STRING_LIST);
+    }
+
+    public Mono<Integer> creditAccounts(String authorization, String reference, List<AccountCredit> credits) {
+        return webClient.post()
+                .uri(uri -> uri.path("/api/accounts/credits")
+                        .queryParam("reference", reference)
+                        .build())
+                .headers(auth(authorization))
+                .bodyValue(credits)
+                .retrieve()
+                .bodyToMono(Integer.class);
+    }
+
+    private Consumer<HttpHeaders> auth(String authorization) {
+        return headers -> {
+            if (authorization != null && !authorization.isEmpty()) {
+                headers.set(HttpHeaders.AUTHORIZATION, authorization);
+            }
+        };
+    }
+}
@@ -0,0 +1,38 @@
+package com.securitybanking.transaction.FeignClient;
+
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.function.Supplier;
+
+// En-tête Authorization de la requête HTTP en cours, à capturer avant de changer de thread.
+// Hors requête (tâches planifiées), un en-tête peut être lié au thread le temps d'un traitement
+public final class RequestAuthorization {
+
+    private static final ThreadLocal<String> BOUND = new ThreadLocal<>();
+
+    private RequestAuthorization() {
+    }
+
+    public static String current() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return attributes.getRequest().getHeader("Authorization");
+        }
+        return BOUND.get();
+    }
+
+    // Exécute action avec authorization comme en-tête courant du thread
+    public static <T> T callAs(String authorization, Supplier<T> action) {
+        String previous = BOUND.get();
+        BOUND.set(authorization);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                BOUND.remove();
+            } else {
+                BOUND.set(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.securitybanking.transaction.FeignClient;
+
+import com.securitybanking.transaction.dto.AccountBalance;
+import com.securitybanking.transaction.dto.AccountCredit;
+import com.securitybanking.transaction.dto.AccountSummary;
+import com.securitybanking.transaction.dto.AccountTransferRequest;
+import com.securitybanking.transaction.dto.AccountTransferResult;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * AccountClient servi par le canal binaire interne (transaction.account-rpc.enabled=true)
+ * pour les opérations unitaires ; les appels par lot et la lecture du client par numéro de compte
+ * restent en HTTP sur le client Feign, de même que les virements référencés de la saga. Les statuts du canal sont convertis en FeignException
+ * pour garder le comportement des appelants.
+ */
+@Component
+@Primary
+@ConditionalOnProperty(name = "transaction.account-rpc.enabled", havingValue = "true")
+public class RpcAccountClient implements AccountClient {
+
+    private final AccountRpcClient rpcClient;
+    private final AccountClient httpClient;
+
+    public RpcAccountClient(AccountRpcClient rpcClient, @Qualifier("accountFeignClient") AccountClient httpClient) {
+        this.rpcClient = rpcClient;
+        this.httpClient = httpClient;
+    }
+
+    @Override
+    public boolean accountExists(String accountNumber) {
+        return rpc("accountExists", () -> rpcClient.accountExists(accountNumber));
+    }
+
+    @Override
+    public boolean hasSufficientBalance(String accountNumber, BigDecimal amount) {
+        return rpc("hasSufficientBalance", () -> rpcClient.hasSufficientBalance(accountNumber, amount));
+    }
+
+    @Override
+    public ResponseEntity<Void> updateBalance(String accountNumber, BigDecimal amount) {
+        rpc("updateBalance", () -> {
+            rpcClient.updateBalance(callerRoles(), accountNumber, amount);
+            return null;
+        });
+        return ResponseEntity.ok().build();
+    }
+
+    @Override
+    public AccountTransferResult transfer(AccountTransferRequest request) {
+        if (request.getReference() != null) {
+            return httpClient.transfer(request);
+        }
+        return rpc("transfer", () -> rpcClient.transfer(callerRoles(), request.getSourceAccountNumber(),
+                request.getDestinationAccountNumber(), request.getAmount()));
+    }
+
+    @Override
+    public String getClientByAccountNumber(String accountNumber) {
+        return httpClient.getClientByAccountNumber(accountNumber);
+    }
+
+    @Override
+    public Long getClientIdByAccountNumber(String accountNumber) {
+        return rpc("getClientIdByAccountNumber", () -> rpcClient.getClientIdByAccountNumber(accountNumber));
+    }
+
+    @Override
+    public AccountSummary getAccountSummary(String authorization, String accountNumber) {
+        return rpc("getAccountSummary", () -> rpcClient.getAccountSummary(accountNumber));
+    }
+
+    @Override
+    public AccountBalance getAccountBalance(String authorization, String accountNumber) {
+        return httpClient.getAccountBalance(authorization, accountNumber);
+    }
+
+    @Override
+    public List<String> findActiveAccountNumbers(String authorization, List<String> accountNumbers) {
+        return httpClient.findActiveAccountNumbers(authorization, accountNumbers);
+    }
+
+    @Override
+    public Integer creditAccounts(String authorization, String reference, List<AccountCredit> credits) {
+        return httpClient.creditAccounts(authorization, reference, credits);
+    }
+
+    @Override
+    public AccountTransferResult transferAs(String authorization, AccountTransferRequest request) {
+        return httpClient.transferAs(authorization, request);
+    }
+
+    @Override
+    public AccountTransferResult cancelTransfer(String authorization, AccountTransferRequest request) {
+        return httpClient.cancelTransfer(authorization, request);
+    }
+
+    @Override
+    public ResponseEntity<Void> updateBalanceAs(String authorization, String accountNumber, BigDecimal amount,
+            String reference) {
+        // Le canal RPC ne porte pas de référence : mise à jour référencée en HTTP
+        return httpClient.updateBalanceAs(authorization, accountNumber, amount, reference);
+    }
+
+    // Rôles de l'utilisateur authentifié, transmis à account-service qui applique les règles des endpoints HTTP
+    private static String callerRoles() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            return "";
+        }
+        return authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .map(authority -> authority.startsWith("ROLE_") ? authority.substring(5) : authority)
+                .collect(Collectors.joining(","));
+    }
+
+    private <T> T rpc(String method, Supplier<T> call) {
+        try {
+            return call.get();
+        } catch (AccountRpcClient.RpcException e) {
+            throw WebClientErrors.toFeignException("AccountClient#" + method, e);
+        }
+    }
+}
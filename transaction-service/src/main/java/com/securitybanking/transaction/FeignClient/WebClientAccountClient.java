@@ -0,0 +1,114 @@
+package com.securitybanking.transaction.FeignClient;
+
+import com.securitybanking.transaction.dto.AccountBalance;
+import com.securitybanking.transaction.dto.AccountCredit;
+import com.securitybanking.transaction.dto.AccountSummary;
+import com.securitybanking.transaction.dto.AccountTransferRequest;
+import com.securitybanking.transaction.dto.AccountTransferResult;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * AccountClient servi par ReactiveAccountClient en mode réactif : les appelants existants
+ * (cache des comptes, lots, TransactionService) profitent du pool de connexions partagé
+ * sans changer de code. Chaque appel attend sa réponse sur le thread appelant.
+ */
+@Component
+@Primary
+@ConditionalOnExpression("'${transaction.client.mode:feign}' == 'reactive' and !${transaction.account-rpc.enabled:false}")
+public class WebClientAccountClient implements AccountClient {
+
+    private final ReactiveAccountClient reactiveClient;
+
+    public WebClientAccountClient(ReactiveAccountClient reactiveClient) {
+        this.reactiveClient = reactiveClient;
+    }
+
+    @Override
+    public boolean accountExists(String accountNumber) {
+        return Boolean.TRUE.equals(await("accountExists",
+                reactiveClient.accountExists(RequestAuthorization.current(), accountNumber)));
+    }
+
+    @Override
+    public boolean hasSufficientBalance(String accountNumber, BigDecimal amount) {
+        return Boolean.TRUE.equals(await("hasSufficientBalance",
+                reactiveClient.hasSufficientBalance(RequestAuthorization.current(), accountNumber, amount)));
+    }
+
+    @Override
+    public ResponseEntity<Void> updateBalance(String accountNumber, BigDecimal amount) {
+        await("updateBalance", reactiveClient.updateBalance(RequestAuthorization.current(), accountNumber, amount));
+        return ResponseEntity.ok().build();
+    }
+
+    @Override
+    public AccountTransferResult transfer(AccountTransferRequest request) {
+        return await("transfer", reactiveClient.transfer(RequestAuthorization.current(), request));
+    }
+
+    @Override
+    public String getClientByAccountNumber(String accountNumber) {
+        return await("getClientByAccountNumber",
+                reactiveClient.getClientByAccountNumber(RequestAuthorization.current(), accountNumber));
+    }
+
+    @Override
+    public Long getClientIdByAccountNumber(String accountNumber) {
+        return await("getClientIdByAccountNumber",
+                reactiveClient.getClientIdByAccountNumber(RequestAuthorization.current(), accountNumber));
+    }
+
+    @Override
+    public AccountSummary getAccountSummary(String authorization, String accountNumber) {
+        return await("getAccountSummary", reactiveClient.getAccountSummary(authorization, accountNumber));
+    }
+
+    @Override
+    public AccountBalance getAccountBalance(String authorization, String accountNumber) {
+        return await("getAccountBalance", reactiveClient.getAccountBalance(authorization, accountNumber));
+    }
+
+    @Override
+    public List<String> findActiveAccountNumbers(String authorization, List<String> accountNumbers) {
+        return await("findActiveAccountNumbers", reactiveClient.findActiveAccountNumbers(authorization, accountNumbers));
+    }
+
+    @Override
+    public Integer creditAccounts(String authorization, String reference, List<AccountCredit> credits) {
+        return await("creditAccounts", reactiveClient.creditAccounts(authorization, reference, credits));
+    }
+
+    @Override
+    public AccountTransferResult transferAs(String authorization, AccountTransferRequest request) {
+        return await("transferAs", reactiveClient.transfer(authorization, request));
+    }
+
+    @Override
+    public AccountTransferResult cancelTransfer(String authorization, AccountTransferRequest request) {
+        return await("cancelTransfer", reactiveClient.cancelTransfer(authorization, request));
+    }
+
+    @Override
+    public ResponseEntity<Void> updateBalanceAs(String authorization, String accountNumber, BigDecimal amount,
+            String reference) {
+        await("updateBalanceAs", reactiveClient.updateBalance(authorization, accountNumber, amount, reference));
+        return ResponseEntity.ok().build();
+    }
+
+    // Le délai est borné par transaction.client.response-timeout-ms
+    private <T> T await(String method, Mono<T> call) {
+        try {
+            return call.block();
+        } catch (WebClientResponseException e) {
+            throw WebClientErrors.toFeignException("AccountClient#" + method, e);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.securitybanking.transaction.FeignClient;
+
+import feign.FeignException;
+import feign.Request;
+import feign.Response;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Convertit une erreur HTTP WebClient (ou un statut du canal binaire) en FeignException
+ * équivalente, pour que les appelants des interfaces Feign (catch FeignException.NotFound, etc.)
+ * gardent le même comportement.
+ */
+final class WebClientErrors {
+
+    private WebClientErrors() {
+    }
+
+    static FeignException toFeignException(String methodKey, WebClientResponseException e) {
+        Request.HttpMethod method = e.getRequest() != null
+                ? Request.HttpMethod.valueOf(e.getRequest().getMethod().name())
+                : Request.HttpMethod.GET;
+        String url = e.getRequest() != null ? e.getRequest().getURI().toString() : "";
+        return toFeignException(methodKey, method, url, e.getStatusCode().value(), e.getStatusText(),
+                e.getResponseBodyAsByteArray());
+    }
+
+    static FeignException toFeignException(String methodKey, AccountRpcClient.RpcException e) {
+        int status = switch (e.getStatus()) {
+            case AccountRpcClient.NOT_FOUND -> 404;
+            case AccountRpcClient.INSUFFICIENT_BALANCE, AccountRpcClient.BAD_REQUEST -> 400;
+            case AccountRpcClient.INACTIVE -> 409;
+            case AccountRpcClient.UNAUTHORIZED -> 401;
+            case AccountRpcClient.FORBIDDEN -> 403;
+            default -> 500;
+        };
+        return toFeignException(methodKey, Request.HttpMethod.POST, "rpc:" + methodKey, status, e.getMessage(),
+                e.getMessage() == null ? new byte[0] : e.getMessage().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static FeignException toFeignException(String methodKey, Request.HttpMethod method, String url,
+            int status, String reason, byte[] body) {
+        Request request = Request.create(method, url, Map.of(), null, StandardCharsets.UTF_8, null);
+        Response response = Response.builder()
+                .status(status)
+                .reason(reason)
+                .request(request)
+                .headers(Map.of())
+                .body(body)
+                .build();
+        return FeignException.errorStatus(methodKey, response);
+    }
+}
@@ -0,0 +1,66 @@
+package com.securitybanking.transaction.FeignClient;
+
+import com.securitybanking.transaction.dto.NotificationRequest;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+// NotificationClient sur WebClient en mode réactif ; send() est la variante non bloquante
+@Component
+@Primary
+@ConditionalOnProperty(name = "transaction.client.mode", havingValue = "reactive")
+public class WebClientNotificationClient implements NotificationClient {
+
+    private final WebClient webClient;
+
+    public WebClientNotificationClient(@Qualifier("notificationWebClient") WebClient webClient) {
+        this.webClient = webClient;
+    }
+
+    public Mono<Void> send(NotificationRequest request) {
+        return webClient.post()
+                .uri("/api/notifications")
+                .headers(WebClientNotificationClient::authorize)
+                .bodyValue(request)
+                .retrieve()
+                .toBodilessEntity()
+                .then();
+    }
+
+    @Override
+    public void sendAccountCreationNotification(String clientId, NotificationRequest request) {
+        await("sendAccountCreationNotification", webClient.post()
+                .uri("/api/notifications/account-created/{clientId}", clientId)
+                .headers(WebClientNotificationClient::authorize)
+                .bodyValue(request)
+                .retrieve()
+                .toBodilessEntity()
+                .then());
+    }
+
+    @Override
+    public void sendGenericNotification(NotificationRequest request) {
+        await("sendGenericNotification", send(request));
+    }
+
+    // Même en-tête que le client Feign : requête en cours, ou jeton lié au thread (RequestAuthorization.callAs)
+    private static void authorize(HttpHeaders headers) {
+        String authorization = RequestAuthorization.current();
+        if (authorization != null) {
+            headers.set(HttpHeaders.AUTHORIZATION, authorization);
+        }
+    }
+
+    private void await(String method, Mono<Void> call) {
+        try {
+            call.block();
+        } catch (WebClientResponseException e) {
+            throw WebClientErrors.toFeignException("NotificationClient#" + method, e);
+        }
+    }
+}
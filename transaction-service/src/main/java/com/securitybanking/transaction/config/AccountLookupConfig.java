@@ -0,0 +1,43 @@
+package com.securitybanking.transaction.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class AccountLookupConfig {
+
+    // Lectures de comptes lancées en parallèle (virement : source et destination).
+    // Pool et file bornés : au-delà, l'appelant exécute lui-même la lecture
+    @Bean
+    public ThreadPoolTaskExecutor accountLookupExecutor(
+            @Value("${transaction.account-lookup.pool-size:16}") int poolSize,
+            @Value("${transaction.account-lookup.queue-capacity:200}") int queueCapacity,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("account-lookup-");
+        executor.setVirtualThreads(virtualThreads);
+        executor.setRejectedExecutionHandler(new java.util.concurrent.ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    // Rafraîchissements en arrière-plan d'AccountNearCache ; file pleine : l'entrée sera rafraîchie plus tard
+    @Bean
+    public ThreadPoolTaskExecutor accountCacheRefreshExecutor(
+            @Value("${transaction.account-cache.refresh-threads:2}") int threads,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(1000);
+        executor.setThreadNamePrefix("account-cache-refresh-");
+        executor.setVirtualThreads(virtualThreads);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,59 @@
+package com.securitybanking.transaction.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class BatchTransferConfig {
+
+    // En mode threads virtuels, les pools gardent leur taille (borne de concurrence vers
+    // account-service) mais leurs threads sont virtuels
+    private final boolean virtualThreads;
+
+    public BatchTransferConfig(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    // Exécute les traitements par lot (un thread par fichier en cours)
+    @Bean
+    public ThreadPoolTaskExecutor batchJobExecutor(@Value("${transaction.batch.max-concurrent-jobs:2}") int jobs) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(jobs);
+        executor.setMaxPoolSize(jobs);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("batch-job-");
+        executor.setVirtualThreads(virtualThreads);
+        executor.initialize();
+        return executor;
+    }
+
+    // Crédite les lots de destinataires en parallèle ; file bornée pour ne pas saturer account-service
+    @Bean
+    public ThreadPoolTaskExecutor batchChunkExecutor(@Value("${transaction.batch.parallelism:4}") int parallelism) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setQueueCapacity(1000);
+        executor.setThreadNamePrefix("batch-chunk-");
+        executor.setVirtualThreads(virtualThreads);
+        executor.initialize();
+        return executor;
+    }
+
+    // Exécute les échéances des ordres permanents ; la file contient exactement un lot réservé
+    @Bean
+    public ThreadPoolTaskExecutor standingOrderExecutor(
+            @Value("${transaction.standing-orders.parallelism:8}") int parallelism,
+            @Value("${transaction.standing-orders.batch-size:200}") int batchSize) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setQueueCapacity(batchSize);
+        executor.setThreadNamePrefix("standing-order-");
+        executor.setVirtualThreads(virtualThreads);
+        executor.initialize();
+        return executor;
+    }
+}
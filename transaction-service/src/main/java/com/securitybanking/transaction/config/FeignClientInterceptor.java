@@ -1,5 +1,6 @@
 package com.securitybanking.transaction.config;
 
+import com.securitybanking.transaction.FeignClient.RequestAuthorization;
 import feign.RequestInterceptor;
 import feign.RequestTemplate;
 import jakarta.servlet.http.HttpServletRequest;
@@ -12,6 +13,11 @@ public class FeignClientInterceptor implements RequestInterceptor {
 
     @Override
     public void apply(RequestTemplate template) {
+        // Jeton déjà fourni explicitement (traitements hors requête, rafraîchissement du cache)
+        if (template.headers().containsKey("Authorization")) {
+            return;
+        }
+
         ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
 
         if (attributes != null) {
@@ -24,6 +30,9 @@ public class FeignClientInterceptor implements RequestInterceptor {
             } else {
                 System.out.println("Aucun token JWT trouvé dans la requête entrante !");
             }
+        } else if (RequestAuthorization.current() != null) {
+            // Traitement planifié exécuté avec le jeton de service (RequestAuthorization.callAs)
+            template.header("Authorization", RequestAuthorization.current());
         }
     }
 }
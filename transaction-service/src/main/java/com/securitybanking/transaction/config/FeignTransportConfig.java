@@ -0,0 +1,93 @@
+package com.securitybanking.transaction.config;
+
+import feign.Client;
+import feign.hc5.ApacheHttp5Client;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.ManagedHttpClientConnectionFactory;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.io.ManagedHttpClientConnection;
+import org.apache.hc.client5.http.routing.HttpRoute;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.http.io.HttpConnectionFactory;
+import org.apache.hc.core5.pool.PoolConcurrencyPolicy;
+import org.apache.hc.core5.pool.PoolReusePolicy;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.net.Socket;
+import java.net.URISyntaxException;
+
+/**
+ * Transport commun à tous les clients Feign : Apache HttpClient 5 avec pool de connexions
+ * keep-alive (bornes globale et par route, éviction des connexions inactives).
+ * Métriques : jauges httpcomponents.httpclient.pool.* du pool, plus feign.http.requests et
+ * feign.http.connections.created ; taux de réutilisation = 1 - created / requests.
+ */
+@Configuration
+public class FeignTransportConfig {
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager feignConnectionManager(HttpClientPoolProperties properties,
+            MeterRegistry meterRegistry) throws URISyntaxException {
+        Counter created = Counter.builder("feign.http.connections.created")
+                .description("Connexions HTTP ouvertes par le pool Feign")
+                .register(meterRegistry);
+        HttpConnectionFactory<ManagedHttpClientConnection> countingFactory = new HttpConnectionFactory<>() {
+            @Override
+            public ManagedHttpClientConnection createConnection(Socket socket) throws IOException {
+                created.increment();
+                return ManagedHttpClientConnectionFactory.INSTANCE.createConnection(socket);
+            }
+        };
+
+        PoolingHttpClientConnectionManager manager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setConnectionFactory(countingFactory)
+                .setMaxConnTotal(properties.getMaxTotal())
+                .setMaxConnPerRoute(properties.getMaxPerRoute())
+                .setPoolConcurrencyPolicy(PoolConcurrencyPolicy.STRICT)
+                .setConnPoolPolicy(PoolReusePolicy.LIFO)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(properties.getConnectTimeoutMs()))
+                        .setSocketTimeout(Timeout.ofMilliseconds(properties.getSocketTimeoutMs()))
+                        .setTimeToLive(TimeValue.ofSeconds(properties.getTimeToLiveSeconds()))
+                        .setValidateAfterInactivity(TimeValue.ofMilliseconds(properties.getValidateAfterInactivityMs()))
+                        .build())
+                .build();
+
+        for (var limit : properties.getRouteLimits().entrySet()) {
+            manager.setMaxPerRoute(new HttpRoute(HttpHost.create(limit.getKey())), limit.getValue());
+        }
+
+        new PoolingHttpClientConnectionManagerMetricsBinder(manager, "feign").bindTo(meterRegistry);
+        return manager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient feignHttpClient(PoolingHttpClientConnectionManager feignConnectionManager,
+            HttpClientPoolProperties properties, MeterRegistry meterRegistry) {
+        Counter requests = Counter.builder("feign.http.requests")
+                .description("Requêtes HTTP émises par les clients Feign")
+                .register(meterRegistry);
+        return HttpClients.custom()
+                .setConnectionManager(feignConnectionManager)
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofSeconds(properties.getIdleEvictionSeconds()))
+                .addRequestInterceptorFirst((request, entity, context) -> requests.increment())
+                .build();
+    }
+
+    // Déclaré explicitement : un CloseableHttpClient applicatif désactive la configuration hc5 de Spring Cloud
+    @Bean
+    public Client feignClient(CloseableHttpClient feignHttpClient) {
+        return new ApacheHttp5Client(feignHttpClient);
+    }
+}
@@ -0,0 +1,64 @@
+package com.securitybanking.transaction.config;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+// Pile cliente non bloquante (Reactor Netty), activée par transaction.client.mode=reactive
+@Configuration
+@ConditionalOnProperty(name = "transaction.client.mode", havingValue = "reactive")
+public class ReactiveClientConfig {
+
+    // Pool partagé : connexions keep-alive réutilisées, file d'attente bornée (backpressure)
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider outboundConnectionProvider(
+            @Value("${transaction.client.max-connections:200}") int maxConnections,
+            @Value("${transaction.client.pending-acquire-max:1000}") int pendingAcquireMax,
+            @Value("${transaction.client.pending-acquire-timeout-ms:2000}") long pendingAcquireTimeoutMs,
+            @Value("${transaction.client.max-idle-seconds:30}") long maxIdleSeconds) {
+        return ConnectionProvider.builder("transaction-outbound")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMax)
+                .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMs))
+                .maxIdleTime(Duration.ofSeconds(maxIdleSeconds))
+                .evictInBackground(Duration.ofSeconds(maxIdleSeconds))
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public HttpClient outboundHttpClient(ConnectionProvider outboundConnectionProvider,
+            @Value("${transaction.client.connect-timeout-ms:5000}") int connectTimeoutMs,
+            @Value("${transaction.client.response-timeout-ms:5000}") long responseTimeoutMs) {
+        return HttpClient.create(outboundConnectionProvider)
+                .keepAlive(true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+                .responseTimeout(Duration.ofMillis(responseTimeoutMs));
+    }
+
+    @Bean
+    public WebClient accountWebClient(WebClient.Builder builder, HttpClient outboundHttpClient,
+            @Value("${account.service.url}") String accountServiceUrl) {
+        return builder.clone()
+                .baseUrl(accountServiceUrl)
+                .clientConnector(new ReactorClientHttpConnector(outboundHttpClient))
+                .build();
+    }
+
+    @Bean
+    public WebClient notificationWebClient(WebClient.Builder builder, HttpClient outboundHttpClient,
+            @Value("${notification.service.url}") String notificationServiceUrl) {
+        return builder.clone()
+                .baseUrl(notificationServiceUrl)
+                .clientConnector(new ReactorClientHttpConnector(outboundHttpClient))
+                .build();
+    }
+}
@@ -0,0 +1,54 @@
+package com.securitybanking.transaction.config;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Jeton de service pour les appels faits hors requête HTTP (reprise des sagas, tâches planifiées) :
+ * signé avec le secret partagé jwt.secret, rôle EMPLOYEE, renouvelé avant son expiration.
+ */
+@Component
+public class ServiceTokenProvider {
+
+    private static final String SUBJECT = "transaction-service";
+
+    private final String jwtSecret;
+    private final long ttlMillis;
+
+    private volatile String token;
+    private volatile long renewAt;
+
+    public ServiceTokenProvider(@Value("${jwt.secret}") String jwtSecret,
+            @Value("${transaction.service-token.ttl-seconds:300}") long ttlSeconds) {
+        this.jwtSecret = jwtSecret;
+        this.ttlMillis = ttlSeconds * 1000;
+    }
+
+    // Valeur complète de l'en-tête Authorization
+    public String authorization() {
+        long now = System.currentTimeMillis();
+        String current = token;
+        if (current == null || now >= renewAt) {
+            synchronized (this) {
+                if (token == null || now >= renewAt) {
+                    token = "Bearer " + Jwts.builder()
+                            .setSubject(SUBJECT)
+                            .claim("roles", List.of("EMPLOYEE"))
+                            .setIssuedAt(new Date(now))
+                            .setExpiration(new Date(now + ttlMillis))
+                            .signWith(Keys.hmacShaKeyFor(jwtSecret.getBytes())) // Même logique que auth-service
+                            .compact();
+                    // Renouvelé à mi-vie : un appel en cours ne part jamais avec un jeton sur le point d'expirer
+                    renewAt = now + ttlMillis / 2;
+                }
+                current = token;
+            }
+        }
+        return current;
+    }
+}
@@ -0,0 +1,22 @@
+package com.securitybanking.transaction.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class StatementExportConfig {
+
+    // Exécute l'export des relevés de fin de mois hors du thread de planification ; un seul export à la fois
+    // (sans file : un déclenchement pendant un export en cours est refusé)
+    @Bean
+    public ThreadPoolTaskExecutor statementExportExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("statement-export-");
+        executor.initialize();
+        return executor;
+    }
+}
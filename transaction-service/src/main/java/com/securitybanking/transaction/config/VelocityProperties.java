@@ -0,0 +1,129 @@
+package com.securitybanking.transaction.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@ConfigurationProperties(prefix = "transaction.velocity")
+public class VelocityProperties {
+
+    public enum Scope {
+        ACCOUNT, CLIENT
+    }
+
+    public enum Action {
+        REJECT, FLAG
+    }
+
+    private boolean enabled = true;
+    // Largeur d'un compartiment du compteur glissant ; les fenêtres des règles en sont des multiples
+    private int bucketSeconds = 10;
+    // Compteurs (compte ou client × type d'opération) gardés en mémoire au maximum
+    private long maxKeys = 100000;
+    private List<Rule> rules = new ArrayList<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getBucketSeconds() {
+        return bucketSeconds;
+    }
+
+    public void setBucketSeconds(int bucketSeconds) {
+        this.bucketSeconds = bucketSeconds;
+    }
+
+    public long getMaxKeys() {
+        return maxKeys;
+    }
+
+    public void setMaxKeys(long maxKeys) {
+        this.maxKeys = maxKeys;
+    }
+
+    public List<Rule> getRules() {
+        return rules;
+    }
+
+    public void setRules(List<Rule> rules) {
+        this.rules = rules;
+    }
+
+    public static class Rule {
+        private String name;
+        private Scope scope = Scope.ACCOUNT;
+        // DEPOT, RETRAIT, VIREMENT ; vide = toutes les opérations
+        private List<String> operations = new ArrayList<>();
+        private int windowSeconds = 600;
+        // 0 = pas de limite sur le nombre d'opérations
+        private int maxCount;
+        // null = pas de limite sur le montant cumulé
+        private BigDecimal maxAmount;
+        private Action action = Action.REJECT;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public Scope getScope() {
+            return scope;
+        }
+
+        public void setScope(Scope scope) {
+            this.scope = scope;
+        }
+
+        public List<String> getOperations() {
+            return operations;
+        }
+
+        public void setOperations(List<String> operations) {
+            this.operations = operations;
+        }
+
+        public int getWindowSeconds() {
+            return windowSeconds;
+        }
+
+        public void setWindowSeconds(int windowSeconds) {
+            this.windowSeconds = windowSeconds;
+        }
+
+        public int getMaxCount() {
+            return maxCount;
+        }
+
+        public void setMaxCount(int maxCount) {
+            this.maxCount = maxCount;
+        }
+
+        public BigDecimal getMaxAmount() {
+            return maxAmount;
+        }
+
+        public void setMaxAmount(BigDecimal maxAmount) {
+            this.maxAmount = maxAmount;
+        }
+
+        public Action getAction() {
+            return action;
+        }
+
+        public void setAction(Action action) {
+            this.action = action;
+        }
+    }
+}
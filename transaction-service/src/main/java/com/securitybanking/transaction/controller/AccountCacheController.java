@@ -0,0 +1,26 @@
+package com.securitybanking.transaction.controller;
+
+import com.securitybanking.transaction.service.AccountNearCache;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/transactions/cache")
+public class AccountCacheController {
+
+    private final AccountNearCache accountNearCache;
+
+    public AccountCacheController(AccountNearCache accountNearCache) {
+        this.accountNearCache = accountNearCache;
+    }
+
+    // Appelé par account-service lors d'une clôture ou d'un changement de statut
+    @PreAuthorize("hasAnyRole('EMPLOYEE', 'ADMIN')")
+    @DeleteMapping("/accounts/{accountNumber}")
+    public ResponseEntity<Void> evictAccount(@PathVariable String accountNumber) {
+        accountNearCache.invalidate(accountNumber);
+        return ResponseEntity.noContent().build();
+    }
+}
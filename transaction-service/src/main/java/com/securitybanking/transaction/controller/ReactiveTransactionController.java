@@ -0,0 +1,41 @@
+package com.securitybanking.transaction.controller;
+
+import com.securitybanking.transaction.dto.*;
+import com.securitybanking.transaction.service.ReactiveTransactionService;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+// Endpoints non bloquants : le thread servlet est libéré pendant les appels à account-service
+@RestController
+@RequestMapping("/api/transactions/reactive")
+@ConditionalOnProperty(name = "transaction.client.mode", havingValue = "reactive")
+public class ReactiveTransactionController {
+
+    private final ReactiveTransactionService transactionService;
+
+    public ReactiveTransactionController(ReactiveTransactionService transactionService) {
+        this.transactionService = transactionService;
+    }
+
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    @PostMapping("/transfer")
+    public Mono<ResponseEntity<TransferResponse>> transfer(@RequestBody TransferRequest request) {
+        return transactionService.transfer(request).map(ResponseEntity::ok);
+    }
+
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    @PostMapping("/deposit")
+    public Mono<ResponseEntity<DepositResponse>> deposit(@RequestBody DepositRequest request) {
+        return transactionService.deposit(request).map(ResponseEntity::ok);
+    }
+
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    @PostMapping("/withdraw")
+    public Mono<ResponseEntity<WithdrawResponse>> withdraw(@RequestBody WithdrawRequest request) {
+        return transactionService.withdraw(request).map(ResponseEntity::ok);
+    }
+}
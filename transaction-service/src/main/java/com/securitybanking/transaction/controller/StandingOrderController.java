@@ -0,0 +1,46 @@
+package com.securitybanking.transaction.controller;
+
+import com.securitybanking.transaction.dto.StandingOrderRequest;
+import com.securitybanking.transaction.dto.StandingOrderResponse;
+import com.securitybanking.transaction.service.StandingOrderService;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/transactions/standing-orders")
+public class StandingOrderController {
+
+    private final StandingOrderService standingOrderService;
+
+    public StandingOrderController(StandingOrderService standingOrderService) {
+        this.standingOrderService = standingOrderService;
+    }
+
+    // Virement différé (ONCE) ou permanent (DAILY, WEEKLY, MONTHLY)
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    @PostMapping
+    public ResponseEntity<StandingOrderResponse> create(@RequestBody StandingOrderRequest request,
+            Authentication authentication) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(standingOrderService.create(request, authentication));
+    }
+
+    // Ordres émis depuis un compte
+    @PreAuthorize("hasAnyRole('USER', 'EMPLOYEE', 'ADMIN')")
+    @GetMapping("/account/{accountNumber}")
+    public ResponseEntity<List<StandingOrderResponse>> getByAccount(@PathVariable String accountNumber,
+            Authentication authentication) {
+        return ResponseEntity.ok(standingOrderService.findBySourceAccount(accountNumber, authentication));
+    }
+
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    @DeleteMapping("/{id}")
+    public ResponseEntity<StandingOrderResponse> cancel(@PathVariable Long id, Authentication authentication) {
+        return ResponseEntity.ok(standingOrderService.cancel(id, authentication));
+    }
+}
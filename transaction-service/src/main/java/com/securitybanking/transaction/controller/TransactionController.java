@@ -1,40 +1,140 @@
 package com.securitybanking.transaction.controller;
 
 import com.securitybanking.transaction.dto.*;
+import com.securitybanking.transaction.service.BatchTransferService;
+import com.securitybanking.transaction.service.IdempotencyService;
+import com.securitybanking.transaction.service.StatementExportService;
+import com.securitybanking.transaction.service.TransactionHistoryService;
 import com.securitybanking.transaction.service.TransactionService;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/transactions")
 public class TransactionController {
 
+    private static final String IDEMPOTENCY_HEADER = "Idempotency-Key";
+
     private final TransactionService transactionService;
+    private final IdempotencyService idempotencyService;
+    private final TransactionHistoryService historyService;
+    private final StatementExportService statementExportService;
+    private final BatchTransferService batchTransferService;
 
-    public TransactionController(TransactionService transactionService) {
+    public TransactionController(TransactionService transactionService, IdempotencyService idempotencyService,
+            TransactionHistoryService historyService, StatementExportService statementExportService,
+            BatchTransferService batchTransferService) {
         this.transactionService = transactionService;
+        this.idempotencyService = idempotencyService;
+        this.historyService = historyService;
+        this.statementExportService = statementExportService;
+        this.batchTransferService = batchTransferService;
     }
 
     // Virement (transfert entre deux comptes)
     @PreAuthorize("hasAnyRole('USER'),'ADMIN')")
     @PostMapping("/transfer")
-    public ResponseEntity<TransferResponse> transfer(@RequestBody TransferRequest request) {
-        return ResponseEntity.ok(transactionService.transfer(request));
+    public ResponseEntity<TransferResponse> transfer(@RequestBody TransferRequest request,
+            @RequestHeader(value = IDEMPOTENCY_HEADER, required = false) String idempotencyKey) {
+        // La référence de saga est dérivée de la clé : une répétition retrouve l'issue d'un virement resté en attente
+        return ResponseEntity.ok(idempotencyService.execute(idempotencyKey, "VIREMENT", request, TransferResponse.class,
+                reference -> transactionService.transfer(request, reference), transactionService::transferOutcome));
     }
 
     // Dépôt sur un compte
     @PreAuthorize("hasAnyRole('USER'),'ADMIN')")
     @PostMapping("/deposit")
-    public ResponseEntity<DepositResponse> deposit(@RequestBody DepositRequest request) {
-        return ResponseEntity.ok(transactionService.deposit(request));
+    public ResponseEntity<DepositResponse> deposit(@RequestBody DepositRequest request,
+            @RequestHeader(value = IDEMPOTENCY_HEADER, required = false) String idempotencyKey) {
+        return ResponseEntity.ok(idempotencyService.execute(idempotencyKey, "DEPOT", request, DepositResponse.class,
+                () -> transactionService.deposit(request)));
     }
 
     // Retrait d'un compte
     @PreAuthorize("hasAnyRole('USER'),'ADMIN')")
     @PostMapping("/withdraw")
-    public ResponseEntity<WithdrawResponse> withdraw(@RequestBody WithdrawRequest request) {
-        return ResponseEntity.ok(transactionService.withdraw(request));
+    public ResponseEntity<WithdrawResponse> withdraw(@RequestBody WithdrawRequest request,
+            @RequestHeader(value = IDEMPOTENCY_HEADER, required = false) String idempotencyKey) {
+        return ResponseEntity.ok(idempotencyService.execute(idempotencyKey, "RETRAIT", request, WithdrawResponse.class,
+                () -> transactionService.withdraw(request)));
+    }
+
+    // Historique d'un compte (pagination par curseur)
+    @PreAuthorize("hasAnyRole('USER', 'EMPLOYEE', 'ADMIN')")
+    @GetMapping("/account/{accountNumber}")
+    public ResponseEntity<TransactionHistoryPage> getAccountHistory(
+            @PathVariable String accountNumber,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) BigDecimal minAmount,
+            @RequestParam(required = false) BigDecimal maxAmount,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        TransactionHistoryFilter filter = new TransactionHistoryFilter(type, from, to, minAmount, maxAmount);
+        return ResponseEntity.ok(historyService.getAccountHistory(accountNumber, filter, cursor, limit));
+    }
+
+    // Relevé de compte en flux (CSV ou binaire compact)
+    @PreAuthorize("hasAnyRole('USER', 'EMPLOYEE', 'ADMIN')")
+    @GetMapping("/account/{accountNumber}/statement")
+    public ResponseEntity<StreamingResponseBody> exportStatement(
+            @PathVariable String accountNumber,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "CSV") StatementExportService.Format format,
+            @RequestHeader(HttpHeaders.AUTHORIZATION) String authorization) {
+        boolean binary = format == StatementExportService.Format.BINARY;
+        // Le corps est écrit hors du thread de la requête : le jeton est capturé ici
+        StreamingResponseBody body = out -> statementExportService.writeStatement(authorization, accountNumber,
+                from, to, format, out);
+        return ResponseEntity.ok()
+                .contentType(binary ? MediaType.APPLICATION_OCTET_STREAM : new MediaType("text", "csv"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"releve-" + accountNumber + (binary ? ".bin" : ".csv") + "\"")
+                .body(body);
+    }
+
+    // Virements groupés (paie) : fichier CSV "destination,montant" ou tableau JSON
+    @PreAuthorize("hasAnyRole('EMPLOYEE', 'ADMIN')")
+    @PostMapping(value = "/batch", consumes = { "text/csv", MediaType.TEXT_PLAIN_VALUE,
+            MediaType.APPLICATION_JSON_VALUE })
+    public ResponseEntity<BatchJobResponse> submitBatch(
+            @RequestParam String sourceAccountId,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) throws IOException {
+        boolean json = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.APPLICATION_JSON);
+        BatchJobResponse job = batchTransferService.submit(sourceAccountId, body, json);
+        return ResponseEntity.accepted().body(job);
+    }
+
+    @PreAuthorize("hasAnyRole('EMPLOYEE', 'ADMIN')")
+    @GetMapping("/batch/{jobId}")
+    public ResponseEntity<BatchJobResponse> getBatch(@PathVariable String jobId) {
+        return batchTransferService.getJob(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PreAuthorize("hasAnyRole('EMPLOYEE', 'ADMIN')")
+    @GetMapping("/batch/{jobId}/lines")
+    public ResponseEntity<List<BatchLineResult>> getBatchLines(
+            @PathVariable String jobId,
+            @RequestParam(required = false) String status,
+            @RequestParam(defaultValue = "0") int afterLine,
+            @RequestParam(defaultValue = "500") int limit) {
+        return ResponseEntity.ok(batchTransferService.getLines(jobId, status, afterLine, limit));
     }
-}
\ No newline at end of file
+}
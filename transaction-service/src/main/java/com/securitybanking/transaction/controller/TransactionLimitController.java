@@ -0,0 +1,37 @@
+package com.securitybanking.transaction.controller;
+
+import com.securitybanking.transaction.dto.AccountTypeLimitDTO;
+import com.securitybanking.transaction.service.DailyLimitService;
+
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Locale;
+
+@RestController
+@RequestMapping("/api/transactions/admin/limits")
+public class TransactionLimitController {
+
+    private final DailyLimitService dailyLimitService;
+
+    public TransactionLimitController(DailyLimitService dailyLimitService) {
+        this.dailyLimitService = dailyLimitService;
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping
+    public ResponseEntity<List<AccountTypeLimitDTO>> getLimits() {
+        return ResponseEntity.ok(dailyLimitService.getLimits());
+    }
+
+    // Plafonds journaliers d'un type de compte (CHECKING, SAVINGS, ...) ; une valeur absente supprime le plafond
+    @PreAuthorize("hasRole('ADMIN')")
+    @PutMapping("/{accountType}")
+    public ResponseEntity<AccountTypeLimitDTO> updateLimit(@PathVariable String accountType,
+            @Valid @RequestBody AccountTypeLimitDTO request) {
+        return ResponseEntity.ok(dailyLimitService.updateLimit(accountType.toUpperCase(Locale.ROOT), request));
+    }
+}
@@ -0,0 +1,25 @@
+package com.securitybanking.transaction.dto;
+
+import java.math.BigDecimal;
+
+// Solde courant d'un compte (GET /api/accounts/number/{accountNumber}, champs utiles seulement)
+public class AccountBalance {
+    private String accountNumber;
+    private BigDecimal balance;
+
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    public void setAccountNumber(String accountNumber) {
+        this.accountNumber = accountNumber;
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    public void setBalance(BigDecimal balance) {
+        this.balance = balance;
+    }
+}
@@ -0,0 +1,32 @@
+package com.securitybanking.transaction.dto;
+
+import java.math.BigDecimal;
+
+public class AccountCredit {
+    private String accountNumber;
+    private BigDecimal amount;
+
+    public AccountCredit(String accountNumber, BigDecimal amount) {
+        this.accountNumber = accountNumber;
+        this.amount = amount;
+    }
+
+    public AccountCredit() {
+    }
+
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    public void setAccountNumber(String accountNumber) {
+        this.accountNumber = accountNumber;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+}
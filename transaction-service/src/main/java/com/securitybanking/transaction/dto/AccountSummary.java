@@ -0,0 +1,41 @@
+package com.securitybanking.transaction.dto;
+
+public class AccountSummary {
+    private String accountNumber;
+    private Long clientId;
+    private boolean active;
+    // CHECKING, SAVINGS, ... (AccountType côté account-service) ; sert aux plafonds journaliers
+    private String accountType;
+
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    public void setAccountNumber(String accountNumber) {
+        this.accountNumber = accountNumber;
+    }
+
+    public Long getClientId() {
+        return clientId;
+    }
+
+    public void setClientId(Long clientId) {
+        this.clientId = clientId;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public void setActive(boolean active) {
+        this.active = active;
+    }
+
+    public String getAccountType() {
+        return accountType;
+    }
+
+    public void setAccountType(String accountType) {
+        this.accountType = accountType;
+    }
+}
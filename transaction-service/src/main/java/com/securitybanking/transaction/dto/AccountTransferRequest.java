@@ -0,0 +1,58 @@
+package com.securitybanking.transaction.dto;
+
+import java.math.BigDecimal;
+
+public class AccountTransferRequest {
+    private String sourceAccountNumber;
+    private String destinationAccountNumber;
+    private BigDecimal amount;
+    // Référence du virement (saga) : account-service n'applique qu'une fois une même référence
+    private String reference;
+
+    public AccountTransferRequest(String sourceAccountNumber, String destinationAccountNumber, BigDecimal amount) {
+        this.sourceAccountNumber = sourceAccountNumber;
+        this.destinationAccountNumber = destinationAccountNumber;
+        this.amount = amount;
+    }
+
+    public AccountTransferRequest(String sourceAccountNumber, String destinationAccountNumber, BigDecimal amount,
+            String reference) {
+        this(sourceAccountNumber, destinationAccountNumber, amount);
+        this.reference = reference;
+    }
+
+    public AccountTransferRequest() {
+    }
+
+    public String getSourceAccountNumber() {
+        return sourceAccountNumber;
+    }
+
+    public void setSourceAccountNumber(String sourceAccountNumber) {
+        this.sourceAccountNumber = sourceAccountNumber;
+    }
+
+    public String getDestinationAccountNumber() {
+        return destinationAccountNumber;
+    }
+
+    public void setDestinationAccountNumber(String destinationAccountNumber) {
+        this.destinationAccountNumber = destinationAccountNumber;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public String getReference() {
+        return reference;
+    }
+
+    public void setReference(String reference) {
+        this.reference = reference;
+    }
+}
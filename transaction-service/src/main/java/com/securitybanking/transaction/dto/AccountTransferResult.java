@@ -0,0 +1,79 @@
+package com.securitybanking.transaction.dto;
+
+import java.math.BigDecimal;
+
+public class AccountTransferResult {
+    private String sourceAccountNumber;
+    private Long sourceClientId;
+    private BigDecimal sourceBalance;
+    private String destinationAccountNumber;
+    private Long destinationClientId;
+    private BigDecimal amount;
+    private String reference;
+    // APPLIED, CANCELLED ou REVERSED (renseigné pour les virements référencés)
+    private String status;
+
+    public String getSourceAccountNumber() {
+        return sourceAccountNumber;
+    }
+
+    public void setSourceAccountNumber(String sourceAccountNumber) {
+        this.sourceAccountNumber = sourceAccountNumber;
+    }
+
+    public Long getSourceClientId() {
+        return sourceClientId;
+    }
+
+    public void setSourceClientId(Long sourceClientId) {
+        this.sourceClientId = sourceClientId;
+    }
+
+    public BigDecimal getSourceBalance() {
+        return sourceBalance;
+    }
+
+    public void setSourceBalance(BigDecimal sourceBalance) {
+        this.sourceBalance = sourceBalance;
+    }
+
+    public String getDestinationAccountNumber() {
+        return destinationAccountNumber;
+    }
+
+    public void setDestinationAccountNumber(String destinationAccountNumber) {
+        this.destinationAccountNumber = destinationAccountNumber;
+    }
+
+    public Long getDestinationClientId() {
+        return destinationClientId;
+    }
+
+    public void setDestinationClientId(Long destinationClientId) {
+        this.destinationClientId = destinationClientId;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public String getReference() {
+        return reference;
+    }
+
+    public void setReference(String reference) {
+        this.reference = reference;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+}
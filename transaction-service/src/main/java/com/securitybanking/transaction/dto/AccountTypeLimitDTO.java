@@ -0,0 +1,39 @@
+package com.securitybanking.transaction.dto;
+
+import jakarta.validation.constraints.PositiveOrZero;
+import java.math.BigDecimal;
+
+public class AccountTypeLimitDTO {
+    private String accountType;
+
+    // null : pas de plafond
+    @PositiveOrZero
+    private BigDecimal dailyWithdrawalLimit;
+
+    @PositiveOrZero
+    private BigDecimal dailyTransferLimit;
+
+    public String getAccountType() {
+        return accountType;
+    }
+
+    public void setAccountType(String accountType) {
+        this.accountType = accountType;
+    }
+
+    public BigDecimal getDailyWithdrawalLimit() {
+        return dailyWithdrawalLimit;
+    }
+
+    public void setDailyWithdrawalLimit(BigDecimal dailyWithdrawalLimit) {
+        this.dailyWithdrawalLimit = dailyWithdrawalLimit;
+    }
+
+    public BigDecimal getDailyTransferLimit() {
+        return dailyTransferLimit;
+    }
+
+    public void setDailyTransferLimit(BigDecimal dailyTransferLimit) {
+        this.dailyTransferLimit = dailyTransferLimit;
+    }
+}
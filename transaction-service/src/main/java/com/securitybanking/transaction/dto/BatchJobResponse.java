@@ -0,0 +1,106 @@
+package com.securitybanking.transaction.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class BatchJobResponse {
+    private String jobId;
+    private String sourceAccountId;
+    private String status;
+    private int totalLines;
+    private int processedLines;
+    private int succeededLines;
+    private int failedLines;
+    private BigDecimal totalAmount;
+    private String message;
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+
+    public String getSourceAccountId() {
+        return sourceAccountId;
+    }
+
+    public void setSourceAccountId(String sourceAccountId) {
+        this.sourceAccountId = sourceAccountId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public int getTotalLines() {
+        return totalLines;
+    }
+
+    public void setTotalLines(int totalLines) {
+        this.totalLines = totalLines;
+    }
+
+    public int getProcessedLines() {
+        return processedLines;
+    }
+
+    public void setProcessedLines(int processedLines) {
+        this.processedLines = processedLines;
+    }
+
+    public int getSucceededLines() {
+        return succeededLines;
+    }
+
+    public void setSucceededLines(int succeededLines) {
+        this.succeededLines = succeededLines;
+    }
+
+    public int getFailedLines() {
+        return failedLines;
+    }
+
+    public void setFailedLines(int failedLines) {
+        this.failedLines = failedLines;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public void setTotalAmount(BigDecimal totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+}
@@ -0,0 +1,32 @@
+package com.securitybanking.transaction.dto;
+
+import java.math.BigDecimal;
+
+public class BatchTransferItem {
+    private String destinationAccountId;
+    private BigDecimal amount;
+
+    public BatchTransferItem(String destinationAccountId, BigDecimal amount) {
+        this.destinationAccountId = destinationAccountId;
+        this.amount = amount;
+    }
+
+    public BatchTransferItem() {
+    }
+
+    public String getDestinationAccountId() {
+        return destinationAccountId;
+    }
+
+    public void setDestinationAccountId(String destinationAccountId) {
+        this.destinationAccountId = destinationAccountId;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+}
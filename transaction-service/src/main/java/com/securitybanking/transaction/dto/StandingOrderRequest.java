@@ -0,0 +1,63 @@
+package com.securitybanking.transaction.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class StandingOrderRequest {
+    private String sourceAccountId;
+    private String destinationAccountId;
+    private BigDecimal amount;
+    // ONCE (virement différé), DAILY, WEEKLY ou MONTHLY
+    private String frequency;
+    private LocalDate startDate;
+    // Dernière date d'exécution possible (incluse) ; absente : sans fin
+    private LocalDate endDate;
+
+    public String getSourceAccountId() {
+        return sourceAccountId;
+    }
+
+    public void setSourceAccountId(String sourceAccountId) {
+        this.sourceAccountId = sourceAccountId;
+    }
+
+    public String getDestinationAccountId() {
+        return destinationAccountId;
+    }
+
+    public void setDestinationAccountId(String destinationAccountId) {
+        this.destinationAccountId = destinationAccountId;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public String getFrequency() {
+        return frequency;
+    }
+
+    public void setFrequency(String frequency) {
+        this.frequency = frequency;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+}
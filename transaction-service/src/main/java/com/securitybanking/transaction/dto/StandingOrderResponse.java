@@ -0,0 +1,115 @@
+package com.securitybanking.transaction.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class StandingOrderResponse {
+    private Long id;
+    private String sourceAccountId;
+    private String destinationAccountId;
+    private BigDecimal amount;
+    private String frequency;
+    private LocalDateTime startAt;
+    private LocalDateTime endAt;
+    private LocalDateTime nextOccurrenceAt;
+    private String status;
+    private String lastError;
+    private String lastReference;
+    private LocalDateTime createdAt;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getSourceAccountId() {
+        return sourceAccountId;
+    }
+
+    public void setSourceAccountId(String sourceAccountId) {
+        this.sourceAccountId = sourceAccountId;
+    }
+
+    public String getDestinationAccountId() {
+        return destinationAccountId;
+    }
+
+    public void setDestinationAccountId(String destinationAccountId) {
+        this.destinationAccountId = destinationAccountId;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public String getFrequency() {
+        return frequency;
+    }
+
+    public void setFrequency(String frequency) {
+        this.frequency = frequency;
+    }
+
+    public LocalDateTime getStartAt() {
+        return startAt;
+    }
+
+    public void setStartAt(LocalDateTime startAt) {
+        this.startAt = startAt;
+    }
+
+    public LocalDateTime getEndAt() {
+        return endAt;
+    }
+
+    public void setEndAt(LocalDateTime endAt) {
+        this.endAt = endAt;
+    }
+
+    public LocalDateTime getNextOccurrenceAt() {
+        return nextOccurrenceAt;
+    }
+
+    public void setNextOccurrenceAt(LocalDateTime nextOccurrenceAt) {
+        this.nextOccurrenceAt = nextOccurrenceAt;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public String getLastReference() {
+        return lastReference;
+    }
+
+    public void setLastReference(String lastReference) {
+        this.lastReference = lastReference;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
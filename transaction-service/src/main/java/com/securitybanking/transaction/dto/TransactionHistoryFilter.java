@@ -0,0 +1,64 @@
+package com.securitybanking.transaction.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class TransactionHistoryFilter {
+    private String type;
+    private LocalDateTime from; // inclus
+    private LocalDateTime to;   // exclu
+    private BigDecimal minAmount;
+    private BigDecimal maxAmount;
+
+    public TransactionHistoryFilter(String type, LocalDateTime from, LocalDateTime to,
+            BigDecimal minAmount, BigDecimal maxAmount) {
+        this.type = type;
+        this.from = from;
+        this.to = to;
+        this.minAmount = minAmount;
+        this.maxAmount = maxAmount;
+    }
+
+    public TransactionHistoryFilter() {
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDateTime from) {
+        this.from = from;
+    }
+
+    public LocalDateTime getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDateTime to) {
+        this.to = to;
+    }
+
+    public BigDecimal getMinAmount() {
+        return minAmount;
+    }
+
+    public void setMinAmount(BigDecimal minAmount) {
+        this.minAmount = minAmount;
+    }
+
+    public BigDecimal getMaxAmount() {
+        return maxAmount;
+    }
+
+    public void setMaxAmount(BigDecimal maxAmount) {
+        this.maxAmount = maxAmount;
+    }
+}
@@ -0,0 +1,42 @@
+package com.securitybanking.transaction.dto;
+
+import java.util.List;
+
+public class TransactionHistoryPage {
+    private List<TransactionHistoryItem> items;
+    private String nextCursor; // null quand il n'y a plus de page
+    private boolean hasMore;
+
+    public TransactionHistoryPage(List<TransactionHistoryItem> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = nextCursor != null;
+    }
+
+    public TransactionHistoryPage() {
+    }
+
+    public List<TransactionHistoryItem> getItems() {
+        return items;
+    }
+
+    public void setItems(List<TransactionHistoryItem> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
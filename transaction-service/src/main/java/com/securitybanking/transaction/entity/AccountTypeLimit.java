@@ -0,0 +1,56 @@
+package com.securitybanking.transaction.entity;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "account_type_limits")
+public class AccountTypeLimit {
+
+    @Id
+    @Column(name = "account_type", length = 20)
+    private String accountType;
+
+    // null : pas de plafond
+    @Column(name = "daily_withdrawal_limit")
+    private BigDecimal dailyWithdrawalLimit;
+
+    @Column(name = "daily_transfer_limit")
+    private BigDecimal dailyTransferLimit;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public String getAccountType() {
+        return accountType;
+    }
+
+    public void setAccountType(String accountType) {
+        this.accountType = accountType;
+    }
+
+    public BigDecimal getDailyWithdrawalLimit() {
+        return dailyWithdrawalLimit;
+    }
+
+    public void setDailyWithdrawalLimit(BigDecimal dailyWithdrawalLimit) {
+        this.dailyWithdrawalLimit = dailyWithdrawalLimit;
+    }
+
+    public BigDecimal getDailyTransferLimit() {
+        return dailyTransferLimit;
+    }
+
+    public void setDailyTransferLimit(BigDecimal dailyTransferLimit) {
+        this.dailyTransferLimit = dailyTransferLimit;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,163 @@
+package com.securitybanking.transaction.entity;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "batch_transfer_jobs")
+public class BatchTransferJob {
+
+    public static final String STATUS_RUNNING = "RUNNING";
+    public static final String STATUS_COMPLETED = "COMPLETED";
+    public static final String STATUS_FAILED = "FAILED";
+
+    public static final String DEBIT_PENDING = "PENDING";
+    public static final String DEBIT_DONE = "DEBITED";
+    public static final String DEBIT_REFUSED = "REFUSED";
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Column(name = "source_account_id", nullable = false)
+    private String sourceAccountId;
+
+    @Column(nullable = false, length = 20)
+    private String status; // RUNNING, COMPLETED, FAILED
+
+    @Column(name = "total_lines", nullable = false)
+    private int totalLines;
+
+    @Column(name = "processed_lines", nullable = false)
+    private int processedLines;
+
+    @Column(name = "succeeded_lines", nullable = false)
+    private int succeededLines;
+
+    @Column(name = "failed_lines", nullable = false)
+    private int failedLines;
+
+    @Column(name = "total_amount", precision = 19, scale = 4)
+    private BigDecimal totalAmount;
+
+    @Column(name = "debit_status", length = 20)
+    private String debitStatus; // PENDING, DEBITED, REFUSED ; null tant que les lignes ne sont pas enregistrées
+
+    @Column(length = 500)
+    private String message;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    // Bail du traitement en cours ; passé ce délai, la reprise peut terminer le lot
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getSourceAccountId() {
+        return sourceAccountId;
+    }
+
+    public void setSourceAccountId(String sourceAccountId) {
+        this.sourceAccountId = sourceAccountId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public int getTotalLines() {
+        return totalLines;
+    }
+
+    public void setTotalLines(int totalLines) {
+        this.totalLines = totalLines;
+    }
+
+    public int getProcessedLines() {
+        return processedLines;
+    }
+
+    public void setProcessedLines(int processedLines) {
+        this.processedLines = processedLines;
+    }
+
+    public int getSucceededLines() {
+        return succeededLines;
+    }
+
+    public void setSucceededLines(int succeededLines) {
+        this.succeededLines = succeededLines;
+    }
+
+    public int getFailedLines() {
+        return failedLines;
+    }
+
+    public void setFailedLines(int failedLines) {
+        this.failedLines = failedLines;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public void setTotalAmount(BigDecimal totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+
+    public String getDebitStatus() {
+        return debitStatus;
+    }
+
+    public void setDebitStatus(String debitStatus) {
+        this.debitStatus = debitStatus;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    public LocalDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+}
@@ -0,0 +1,129 @@
+package com.securitybanking.transaction.entity;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+
+@Entity
+@Table(name = "batch_transfer_lines", indexes = {
+        @Index(name = "idx_batch_line_job_line", columnList = "job_id, line_number"),
+        @Index(name = "idx_batch_line_job_chunk", columnList = "job_id, chunk_number")
+})
+public class BatchTransferLine {
+
+    public static final String STATUS_PENDING = "PENDING";
+    public static final String STATUS_SUCCEEDED = "SUCCEEDED";
+    public static final String STATUS_REJECTED = "REJECTED";
+    public static final String STATUS_FAILED = "FAILED";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "batch_transfer_line_id")
+    @TableGenerator(name = "batch_transfer_line_id", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "batch_transfer_lines", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "job_id", nullable = false, length = 36)
+    private String jobId;
+
+    @Column(name = "line_number", nullable = false)
+    private int lineNumber;
+
+    @Column(name = "destination_account_id")
+    private String destinationAccountId;
+
+    private BigDecimal amount;
+
+    @Column(nullable = false, length = 20)
+    private String status; // PENDING, SUCCEEDED, REJECTED, FAILED
+
+    // Lot de crédit (une référence par lot côté account-service) ; null pour les lignes rejetées
+    @Column(name = "chunk_number")
+    private Integer chunkNumber;
+
+    @Column(length = 500)
+    private String message;
+
+    @Column(name = "transaction_id")
+    private Long transactionId;
+
+    public BatchTransferLine() {
+    }
+
+    public BatchTransferLine(String jobId, int lineNumber, String destinationAccountId, BigDecimal amount) {
+        this.jobId = jobId;
+        this.lineNumber = lineNumber;
+        this.destinationAccountId = destinationAccountId;
+        this.amount = amount;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    public void setLineNumber(int lineNumber) {
+        this.lineNumber = lineNumber;
+    }
+
+    public String getDestinationAccountId() {
+        return destinationAccountId;
+    }
+
+    public void setDestinationAccountId(String destinationAccountId) {
+        this.destinationAccountId = destinationAccountId;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Integer getChunkNumber() {
+        return chunkNumber;
+    }
+
+    public void setChunkNumber(Integer chunkNumber) {
+        this.chunkNumber = chunkNumber;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public Long getTransactionId() {
+        return transactionId;
+    }
+
+    public void setTransactionId(Long transactionId) {
+        this.transactionId = transactionId;
+    }
+}
@@ -0,0 +1,103 @@
+package com.securitybanking.transaction.entity;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+
+@Entity
+@Table(name = "daily_usage")
+@IdClass(DailyUsage.Key.class)
+public class DailyUsage {
+
+    @Id
+    @Column(name = "account_id")
+    private String accountId;
+
+    @Id
+    @Column(name = "usage_date")
+    private LocalDate usageDate;
+
+    @Id
+    @Column(length = 20)
+    private String operation; // RETRAIT, VIREMENT
+
+    @Column(name = "total_amount", nullable = false)
+    private BigDecimal totalAmount;
+
+    @Column(name = "operation_count", nullable = false)
+    private int operationCount;
+
+    public static class Key implements Serializable {
+        private String accountId;
+        private LocalDate usageDate;
+        private String operation;
+
+        public Key() {
+        }
+
+        public Key(String accountId, LocalDate usageDate, String operation) {
+            this.accountId = accountId;
+            this.usageDate = usageDate;
+            this.operation = operation;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key key)) {
+                return false;
+            }
+            return Objects.equals(accountId, key.accountId) && Objects.equals(usageDate, key.usageDate)
+                    && Objects.equals(operation, key.operation);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(accountId, usageDate, operation);
+        }
+    }
+
+    public String getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(String accountId) {
+        this.accountId = accountId;
+    }
+
+    public LocalDate getUsageDate() {
+        return usageDate;
+    }
+
+    public void setUsageDate(LocalDate usageDate) {
+        this.usageDate = usageDate;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public void setOperation(String operation) {
+        this.operation = operation;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public void setTotalAmount(BigDecimal totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+
+    public int getOperationCount() {
+        return operationCount;
+    }
+
+    public void setOperationCount(int operationCount) {
+        this.operationCount = operationCount;
+    }
+}
@@ -0,0 +1,110 @@
+package com.securitybanking.transaction.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "idempotency_keys")
+public class IdempotencyRecord {
+
+    public static final String STATUS_PENDING = "PENDING";
+    public static final String STATUS_COMPLETED = "COMPLETED";
+
+    // Empreinte SHA-256 de opération + utilisateur + clé fournie par le client
+    @Id
+    @Column(name = "idempotency_key", length = 150)
+    private String key;
+
+    @Column(name = "operation", nullable = false, length = 20)
+    private String operation;
+
+    // Utilisateur authentifié de la première requête
+    @Column(name = "principal")
+    private String principal;
+
+    // Empreinte SHA-256 du corps de la première requête : une réutilisation avec un autre contenu est rejetée
+    @Column(name = "request_hash", length = 64, columnDefinition = "CHAR(64)")
+    private String requestHash;
+
+    // PENDING pendant l'exécution, COMPLETED une fois la réponse enregistrée
+    @Column(name = "status", nullable = false, length = 20)
+    private String status;
+
+    @Lob
+    @Column(name = "response_body", columnDefinition = "TEXT")
+    private String responseBody;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Au-delà, la ligne est purgée et la clé peut être réutilisée
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+
+    public IdempotencyRecord() {
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public void setOperation(String operation) {
+        this.operation = operation;
+    }
+
+    public String getPrincipal() {
+        return principal;
+    }
+
+    public void setPrincipal(String principal) {
+        this.principal = principal;
+    }
+
+    public String getRequestHash() {
+        return requestHash;
+    }
+
+    public void setRequestHash(String requestHash) {
+        this.requestHash = requestHash;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getResponseBody() {
+        return responseBody;
+    }
+
+    public void setResponseBody(String responseBody) {
+        this.responseBody = responseBody;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
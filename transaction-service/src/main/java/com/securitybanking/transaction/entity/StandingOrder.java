@@ -0,0 +1,269 @@
+package com.securitybanking.transaction.entity;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Ordre de virement différé (ONCE) ou permanent (DAILY, WEEKLY, MONTHLY). occurrence_at est la date
+ * prévue de la prochaine échéance, calculée depuis start_at (pas de dérive en fin de mois) ;
+ * next_run_at est l'instant où l'ordre redevient éligible : échéance étalée, bail pendant l'exécution
+ * ou nouvel essai après une erreur technique.
+ */
+@Entity
+@Table(name = "standing_orders", indexes = {
+        @Index(name = "idx_standing_order_due", columnList = "status, next_run_at, id"),
+        @Index(name = "idx_standing_order_source", columnList = "source_account_id")
+})
+public class StandingOrder {
+
+    public static final String FREQUENCY_ONCE = "ONCE";
+    public static final String FREQUENCY_DAILY = "DAILY";
+    public static final String FREQUENCY_WEEKLY = "WEEKLY";
+    public static final String FREQUENCY_MONTHLY = "MONTHLY";
+
+    public static final String STATUS_ACTIVE = "ACTIVE";
+    public static final String STATUS_COMPLETED = "COMPLETED";
+    public static final String STATUS_CANCELLED = "CANCELLED";
+    public static final String STATUS_FAILED = "FAILED";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "standing_order_id")
+    @TableGenerator(name = "standing_order_id", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "standing_orders", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "source_account_id", nullable = false)
+    private String sourceAccountId;
+
+    @Column(name = "destination_account_id", nullable = false)
+    private String destinationAccountId;
+
+    @Column(nullable = false)
+    private BigDecimal amount;
+
+    @Column(nullable = false, length = 10)
+    private String frequency; // ONCE, DAILY, WEEKLY, MONTHLY
+
+    @Column(name = "start_at", nullable = false)
+    private LocalDateTime startAt;
+
+    // Dernière échéance possible (incluse) ; null : sans fin
+    @Column(name = "end_at")
+    private LocalDateTime endAt;
+
+    // Rang de la prochaine échéance depuis start_at
+    @Column(nullable = false)
+    private int occurrence;
+
+    @Column(name = "occurrence_at", nullable = false)
+    private LocalDateTime occurrenceAt;
+
+    @Column(name = "next_run_at", nullable = false)
+    private LocalDateTime nextRunAt;
+
+    @Column(nullable = false, length = 20)
+    private String status; // ACTIVE, COMPLETED, CANCELLED, FAILED
+
+    // Erreurs techniques consécutives sur l'échéance en cours
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    // Référence du dernier virement (saga) déclenché
+    @Column(name = "last_reference", length = 36)
+    private String lastReference;
+
+    @Column(name = "created_by")
+    private String createdBy;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Une instance dont le bail a expiré ne peut pas écraser l'avancement fait par une autre
+    @Version
+    private long version;
+
+    public StandingOrder() {
+    }
+
+    public StandingOrder(String sourceAccountId, String destinationAccountId, BigDecimal amount, String frequency,
+            LocalDateTime startAt, LocalDateTime endAt, String createdBy) {
+        this.sourceAccountId = sourceAccountId;
+        this.destinationAccountId = destinationAccountId;
+        this.amount = amount;
+        this.frequency = frequency;
+        this.startAt = startAt;
+        this.endAt = endAt;
+        this.occurrenceAt = startAt;
+        this.nextRunAt = startAt;
+        this.status = STATUS_ACTIVE;
+        this.createdBy = createdBy;
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = this.createdAt;
+    }
+
+    // Date prévue de l'échéance de rang n
+    public LocalDateTime occurrenceAt(int n) {
+        return switch (frequency) {
+            case FREQUENCY_DAILY -> startAt.plusDays(n);
+            case FREQUENCY_WEEKLY -> startAt.plusWeeks(n);
+            case FREQUENCY_MONTHLY -> startAt.plusMonths(n);
+            default -> startAt;
+        };
+    }
+
+    // Référence du virement de l'échéance en cours : rejouer la même échéance ne crée pas un second virement
+    public String occurrenceReference() {
+        return "SO-" + id + "-" + occurrence;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getSourceAccountId() {
+        return sourceAccountId;
+    }
+
+    public void setSourceAccountId(String sourceAccountId) {
+        this.sourceAccountId = sourceAccountId;
+    }
+
+    public String getDestinationAccountId() {
+        return destinationAccountId;
+    }
+
+    public void setDestinationAccountId(String destinationAccountId) {
+        this.destinationAccountId = destinationAccountId;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public String getFrequency() {
+        return frequency;
+    }
+
+    public void setFrequency(String frequency) {
+        this.frequency = frequency;
+    }
+
+    public LocalDateTime getStartAt() {
+        return startAt;
+    }
+
+    public void setStartAt(LocalDateTime startAt) {
+        this.startAt = startAt;
+    }
+
+    public LocalDateTime getEndAt() {
+        return endAt;
+    }
+
+    public void setEndAt(LocalDateTime endAt) {
+        this.endAt = endAt;
+    }
+
+    public int getOccurrence() {
+        return occurrence;
+    }
+
+    public void setOccurrence(int occurrence) {
+        this.occurrence = occurrence;
+    }
+
+    public LocalDateTime getOccurrenceAt() {
+        return occurrenceAt;
+    }
+
+    public void setOccurrenceAt(LocalDateTime occurrenceAt) {
+        this.occurrenceAt = occurrenceAt;
+    }
+
+    public LocalDateTime getNextRunAt() {
+        return nextRunAt;
+    }
+
+    public void setNextRunAt(LocalDateTime nextRunAt) {
+        this.nextRunAt = nextRunAt;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public String getLastReference() {
+        return lastReference;
+    }
+
+    public void setLastReference(String lastReference) {
+        this.lastReference = lastReference;
+    }
+
+    public String getCreatedBy() {
+        return createdBy;
+    }
+
+    public void setCreatedBy(String createdBy) {
+        this.createdBy = createdBy;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+}
@@ -9,8 +9,12 @@ import java.time.LocalDateTime;
 @Table(name = "transactions")
 public class Transaction {
 
+    // Identifiants réservés par blocs de 50 dans id_generators (pas de SEQUENCE sous MySQL) :
+    // contrairement à IDENTITY, Hibernate peut alors regrouper les INSERT en lots JDBC
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "transaction_id")
+    @TableGenerator(name = "transaction_id", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "transactions", allocationSize = 50)
     private Long id;
 
     private String type; // DEPOT, RETRAIT, VIREMENT
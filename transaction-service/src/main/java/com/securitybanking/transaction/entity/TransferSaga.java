@@ -0,0 +1,182 @@
+package com.securitybanking.transaction.entity;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Virement suivi de bout en bout : PENDING (virement demandé à account-service),
+ * CREDITED (appliqué côté comptes, pas encore enregistré ici), puis RECORDED,
+ * COMPENSATED (annulé ou reversé côté comptes) ou FAILED (rejeté par account-service).
+ */
+@Entity
+@Table(name = "transfer_sagas", indexes = {
+        @Index(name = "idx_saga_status_next_attempt", columnList = "status, next_attempt_at")
+})
+public class TransferSaga {
+
+    public static final String STATUS_PENDING = "PENDING";
+    public static final String STATUS_CREDITED = "CREDITED";
+    public static final String STATUS_RECORDED = "RECORDED";
+    public static final String STATUS_COMPENSATED = "COMPENSATED";
+    public static final String STATUS_FAILED = "FAILED";
+
+    @Id
+    @Column(length = 36)
+    private String reference;
+
+    @Column(name = "source_account_id", nullable = false)
+    private String sourceAccountId;
+
+    @Column(name = "destination_account_id", nullable = false)
+    private String destinationAccountId;
+
+    @Column(nullable = false)
+    private BigDecimal amount;
+
+    @Column(nullable = false, length = 20)
+    private String status; // PENDING, CREDITED, RECORDED, COMPENSATED, FAILED
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "source_client_id")
+    private Long sourceClientId;
+
+    @Column(name = "destination_client_id")
+    private Long destinationClientId;
+
+    @Column(name = "transaction_id")
+    private Long transactionId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public TransferSaga() {
+    }
+
+    public TransferSaga(String reference, String sourceAccountId, String destinationAccountId, BigDecimal amount,
+            LocalDateTime nextAttemptAt) {
+        this.reference = reference;
+        this.sourceAccountId = sourceAccountId;
+        this.destinationAccountId = destinationAccountId;
+        this.amount = amount;
+        this.status = STATUS_PENDING;
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = this.createdAt;
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public String getReference() {
+        return reference;
+    }
+
+    public void setReference(String reference) {
+        this.reference = reference;
+    }
+
+    public String getSourceAccountId() {
+        return sourceAccountId;
+    }
+
+    public void setSourceAccountId(String sourceAccountId) {
+        this.sourceAccountId = sourceAccountId;
+    }
+
+    public String getDestinationAccountId() {
+        return destinationAccountId;
+    }
+
+    public void setDestinationAccountId(String destinationAccountId) {
+        this.destinationAccountId = destinationAccountId;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public LocalDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public Long getSourceClientId() {
+        return sourceClientId;
+    }
+
+    public void setSourceClientId(Long sourceClientId) {
+        this.sourceClientId = sourceClientId;
+    }
+
+    public Long getDestinationClientId() {
+        return destinationClientId;
+    }
+
+    public void setDestinationClientId(Long destinationClientId) {
+        this.destinationClientId = destinationClientId;
+    }
+
+    public Long getTransactionId() {
+        return transactionId;
+    }
+
+    public void setTransactionId(Long transactionId) {
+        this.transactionId = transactionId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,14 @@
+package com.securitybanking.transaction.exception;
+
+import java.math.BigDecimal;
+
+/**
+ * L'opération ferait dépasser le plafond journalier du type de compte.
+ */
+public class DailyLimitExceededException extends RuntimeException {
+
+    public DailyLimitExceededException(String operation, BigDecimal limit, BigDecimal remaining) {
+        super("Plafond journalier dépassé pour " + operation + " : plafond " + limit + " MAD, disponible "
+                + remaining.max(BigDecimal.ZERO) + " MAD");
+    }
+}
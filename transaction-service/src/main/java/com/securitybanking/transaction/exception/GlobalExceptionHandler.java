@@ -41,6 +41,49 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
     }
 
+    // Virement accepté mais non confirmé : la saga le termine ou le compense en arrière-plan
+    @ExceptionHandler(TransferPendingException.class)
+    public ResponseEntity<ErrorResponse> handleTransferPending(TransferPendingException ex) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.ACCEPTED.value(),
+                ex.getMessage(),
+                System.currentTimeMillis());
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .header("X-Transfer-Reference", ex.getReference())
+                .body(errorResponse);
+    }
+
+    // Règle de vélocité : trop d'opérations ou montant cumulé trop élevé sur la fenêtre
+    @ExceptionHandler(VelocityLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleVelocityLimit(VelocityLimitExceededException ex) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                ex.getMessage(),
+                System.currentTimeMillis());
+        return new ResponseEntity<>(errorResponse, HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    // Plafond journalier du type de compte atteint
+    @ExceptionHandler(DailyLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleDailyLimit(DailyLimitExceededException ex) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.UNPROCESSABLE_ENTITY.value(),
+                ex.getMessage(),
+                System.currentTimeMillis());
+        return new ResponseEntity<>(errorResponse, HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    // Clé d'idempotence en cours d'utilisation (409) ou réutilisée pour une autre requête (422)
+    @ExceptionHandler(IdempotencyConflictException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyConflict(IdempotencyConflictException ex) {
+        HttpStatus status = ex.isInProgress() ? HttpStatus.CONFLICT : HttpStatus.UNPROCESSABLE_ENTITY;
+        ErrorResponse errorResponse = new ErrorResponse(
+                status.value(),
+                ex.getMessage(),
+                System.currentTimeMillis());
+        return new ResponseEntity<>(errorResponse, status);
+    }
+
     // Gestion des exceptions génériques
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGenericException(Exception ex) {
@@ -0,0 +1,20 @@
+package com.securitybanking.transaction.exception;
+
+/**
+ * La clé d'idempotence est déjà utilisée : par une requête encore en cours d'exécution,
+ * ou par une requête au contenu différent.
+ */
+public class IdempotencyConflictException extends RuntimeException {
+
+    private final boolean inProgress;
+
+    public IdempotencyConflictException(String message, boolean inProgress) {
+        super(message);
+        this.inProgress = inProgress;
+    }
+
+    // true : première exécution non terminée, la requête peut être renvoyée plus tard
+    public boolean isInProgress() {
+        return inProgress;
+    }
+}
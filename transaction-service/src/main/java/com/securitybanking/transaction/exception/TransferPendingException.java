@@ -0,0 +1,19 @@
+package com.securitybanking.transaction.exception;
+
+/**
+ * Le virement n'a pas pu être confirmé (account-service injoignable ou délai dépassé) :
+ * la saga reste ouverte et TransferSagaRecovery la termine ou la compense.
+ */
+public class TransferPendingException extends RuntimeException {
+
+    private final String reference;
+
+    public TransferPendingException(String reference, Throwable cause) {
+        super("Virement " + reference + " en cours de traitement", cause);
+        this.reference = reference;
+    }
+
+    public String getReference() {
+        return reference;
+    }
+}
@@ -0,0 +1,18 @@
+package com.securitybanking.transaction.exception;
+
+/**
+ * Opération refusée par une règle de vélocité (nombre ou montant cumulé sur une fenêtre glissante).
+ */
+public class VelocityLimitExceededException extends RuntimeException {
+
+    private final String rule;
+
+    public VelocityLimitExceededException(String rule) {
+        super("Limite de fréquence dépassée (" + rule + ")");
+        this.rule = rule;
+    }
+
+    public String getRule() {
+        return rule;
+    }
+}
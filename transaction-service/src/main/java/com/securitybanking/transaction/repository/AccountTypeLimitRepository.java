@@ -0,0 +1,7 @@
+package com.securitybanking.transaction.repository;
+
+import com.securitybanking.transaction.entity.AccountTypeLimit;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface AccountTypeLimitRepository extends JpaRepository<AccountTypeLimit, String> {
+}
@@ -0,0 +1,42 @@
+package com.securitybanking.transaction.repository;
+
+import com.securitybanking.transaction.entity.BatchTransferJob;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface BatchTransferJobRepository extends JpaRepository<BatchTransferJob, String> {
+
+    // Incrément atomique : plusieurs lots peuvent terminer en même temps
+    @Modifying
+    @Query("UPDATE BatchTransferJob j SET j.processedLines = j.processedLines + :succeeded + :failed, " +
+            "j.succeededLines = j.succeededLines + :succeeded, j.failedLines = j.failedLines + :failed " +
+            "WHERE j.id = :id")
+    int addProgress(@Param("id") String id, @Param("succeeded") int succeeded, @Param("failed") int failed);
+
+    // FOR UPDATE SKIP LOCKED : les instances se partagent la reprise des traitements interrompus
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT j FROM BatchTransferJob j WHERE j.status = 'RUNNING' AND j.nextAttemptAt <= :now " +
+            "ORDER BY j.nextAttemptAt")
+    List<BatchTransferJob> claimDue(@Param("now") LocalDateTime now, Pageable pageable);
+
+    // Sérialise les changements d'état du lot entre le traitement d'origine et la reprise
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT j FROM BatchTransferJob j WHERE j.id = :id")
+    Optional<BatchTransferJob> findForUpdate(@Param("id") String id);
+
+    @Modifying
+    @Query("UPDATE BatchTransferJob j SET j.nextAttemptAt = :until WHERE j.id = :id AND j.status = 'RUNNING'")
+    int extendLease(@Param("id") String id, @Param("until") LocalDateTime until);
+}
@@ -0,0 +1,46 @@
+package com.securitybanking.transaction.repository;
+
+import com.securitybanking.transaction.entity.BatchTransferLine;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public interface BatchTransferLineRepository extends JpaRepository<BatchTransferLine, Long> {
+
+    @Query("SELECT l FROM BatchTransferLine l WHERE l.jobId = :jobId AND l.lineNumber > :afterLine " +
+            "AND (:status IS NULL OR l.status = :status) ORDER BY l.lineNumber")
+    List<BatchTransferLine> findPage(@Param("jobId") String jobId,
+            @Param("afterLine") int afterLine,
+            @Param("status") String status,
+            Pageable pageable);
+
+    @Query("SELECT DISTINCT l.chunkNumber FROM BatchTransferLine l WHERE l.jobId = :jobId " +
+            "AND l.status = 'PENDING' ORDER BY l.chunkNumber")
+    List<Integer> findPendingChunks(@Param("jobId") String jobId);
+
+    @Query("SELECT l FROM BatchTransferLine l WHERE l.jobId = :jobId AND l.chunkNumber = :chunk " +
+            "AND l.status = 'PENDING' ORDER BY l.lineNumber")
+    List<BatchTransferLine> findPendingChunk(@Param("jobId") String jobId, @Param("chunk") int chunk);
+
+    // Une seule instance enregistre l'issue d'un lot : les lignes déjà traitées ne sont plus PENDING
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l FROM BatchTransferLine l WHERE l.jobId = :jobId AND l.chunkNumber = :chunk " +
+            "AND l.status = 'PENDING' ORDER BY l.lineNumber")
+    List<BatchTransferLine> lockPendingChunk(@Param("jobId") String jobId, @Param("chunk") int chunk);
+
+    @Query("SELECT COALESCE(SUM(l.amount), 0) FROM BatchTransferLine l WHERE l.jobId = :jobId " +
+            "AND l.status = :status")
+    BigDecimal sumAmount(@Param("jobId") String jobId, @Param("status") String status);
+
+    @Modifying
+    @Query("UPDATE BatchTransferLine l SET l.status = 'FAILED', l.message = :message " +
+            "WHERE l.jobId = :jobId AND l.status = 'PENDING'")
+    int failPending(@Param("jobId") String jobId, @Param("message") String message);
+}
@@ -0,0 +1,52 @@
+package com.securitybanking.transaction.repository;
+
+import com.securitybanking.transaction.entity.DailyUsage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Optional;
+
+public interface DailyUsageRepository extends JpaRepository<DailyUsage, DailyUsage.Key> {
+
+    // Crée la ligne du jour à zéro si elle n'existe pas encore ; sans effet sinon
+    @Modifying
+    @Query(value = "INSERT INTO daily_usage (account_id, usage_date, operation, total_amount, operation_count) " +
+            "VALUES (:accountId, :usageDate, :operation, 0, 0) " +
+            "ON DUPLICATE KEY UPDATE total_amount = total_amount", nativeQuery = true)
+    int ensureRow(@Param("accountId") String accountId,
+            @Param("usageDate") LocalDate usageDate,
+            @Param("operation") String operation);
+
+    // Incrément gardé : une seule instruction, le contrôle du plafond et l'ajout ne peuvent pas s'entrelacer
+    // entre instances ; 0 ligne modifiée si le plafond serait dépassé
+    @Modifying
+    @Query(value = "UPDATE daily_usage SET total_amount = total_amount + :amount, " +
+            "operation_count = operation_count + 1 " +
+            "WHERE account_id = :accountId AND usage_date = :usageDate AND operation = :operation " +
+            "AND total_amount + :amount <= :limit", nativeQuery = true)
+    int tryIncrement(@Param("accountId") String accountId,
+            @Param("usageDate") LocalDate usageDate,
+            @Param("operation") String operation,
+            @Param("amount") BigDecimal amount,
+            @Param("limit") BigDecimal limit);
+
+    @Modifying
+    @Query(value = "UPDATE daily_usage SET total_amount = total_amount - :amount, " +
+            "operation_count = operation_count - 1 " +
+            "WHERE account_id = :accountId AND usage_date = :usageDate AND operation = :operation " +
+            "AND total_amount >= :amount", nativeQuery = true)
+    int decrement(@Param("accountId") String accountId,
+            @Param("usageDate") LocalDate usageDate,
+            @Param("operation") String operation,
+            @Param("amount") BigDecimal amount);
+
+    @Query("SELECT u.totalAmount FROM DailyUsage u WHERE u.accountId = :accountId AND u.usageDate = :usageDate " +
+            "AND u.operation = :operation")
+    Optional<BigDecimal> findTotal(@Param("accountId") String accountId,
+            @Param("usageDate") LocalDate usageDate,
+            @Param("operation") String operation);
+}
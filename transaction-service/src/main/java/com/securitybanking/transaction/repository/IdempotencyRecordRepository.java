@@ -0,0 +1,39 @@
+package com.securitybanking.transaction.repository;
+
+import com.securitybanking.transaction.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    // Réservation avant exécution : la clé primaire rejette une deuxième réservation, quelle que soit l'instance
+    @Modifying
+    @Query(value = "INSERT INTO idempotency_keys (idempotency_key, operation, principal, request_hash, status, " +
+            "created_at, expires_at) VALUES (:key, :operation, :principal, :requestHash, 'PENDING', :now, :expiresAt)",
+            nativeQuery = true)
+    int reserve(@Param("key") String key,
+            @Param("operation") String operation,
+            @Param("principal") String principal,
+            @Param("requestHash") String requestHash,
+            @Param("now") LocalDateTime now,
+            @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.status = 'COMPLETED', r.responseBody = :responseBody " +
+            "WHERE r.key = :key AND r.status = 'PENDING'")
+    int complete(@Param("key") String key, @Param("responseBody") String responseBody);
+
+    // Échec sans effet : la clé est libérée pour qu'un nouvel essai s'exécute
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.key = :key AND r.status = 'PENDING'")
+    int release(@Param("key") String key);
+
+    // Purge par lots bornés : chaque DELETE ne verrouille qu'une partie des lignes expirées
+    @Modifying
+    @Query(value = "DELETE FROM idempotency_keys WHERE expires_at < :now LIMIT :limit", nativeQuery = true)
+    int deleteExpired(@Param("now") LocalDateTime now, @Param("limit") int limit);
+}
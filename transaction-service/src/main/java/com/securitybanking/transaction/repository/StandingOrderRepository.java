@@ -0,0 +1,27 @@
+package com.securitybanking.transaction.repository;
+
+import com.securitybanking.transaction.entity.StandingOrder;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface StandingOrderRepository extends JpaRepository<StandingOrder, Long> {
+
+    // Ordres échus dans l'ordre de clé (next_run_at, id), parcouru sur idx_standing_order_due ;
+    // FOR UPDATE SKIP LOCKED : chaque instance réserve un lot distinct sans attendre les autres
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT o FROM StandingOrder o WHERE o.status = 'ACTIVE' AND o.nextRunAt <= :now " +
+            "ORDER BY o.nextRunAt, o.id")
+    List<StandingOrder> claimDue(@Param("now") LocalDateTime now, Pageable pageable);
+
+    List<StandingOrder> findBySourceAccountIdOrderByIdDesc(String sourceAccountId);
+}
@@ -1,7 +1,55 @@
 package com.securitybanking.transaction.repository;
 
 import com.securitybanking.transaction.entity.Transaction;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
 
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+
+    // Pagination par clé (transaction_date, id) décroissante ; chaque requête suit un seul
+    // index composite (idx_tx_source_date_id / idx_tx_destination_date_id)
+
+    @Query("SELECT t FROM Transaction t WHERE t.sourceAccountId = :account " +
+            "AND (:type IS NULL OR t.type = :type) " +
+            "AND (:fromDate IS NULL OR t.transactionDate >= :fromDate) " +
+            "AND (:toDate IS NULL OR t.transactionDate < :toDate) " +
+            "AND (:minAmount IS NULL OR t.amount >= :minAmount) " +
+            "AND (:maxAmount IS NULL OR t.amount <= :maxAmount) " +
+            "AND (:afterDate IS NULL OR t.transactionDate < :afterDate " +
+            "     OR (t.transactionDate = :afterDate AND t.id < :afterId)) " +
+            "ORDER BY t.transactionDate DESC, t.id DESC")
+    List<Transaction> findOutgoingPage(@Param("account") String account,
+            @Param("type") String type,
+            @Param("fromDate") LocalDateTime fromDate,
+            @Param("toDate") LocalDateTime toDate,
+            @Param("minAmount") BigDecimal minAmount,
+            @Param("maxAmount") BigDecimal maxAmount,
+            @Param("afterDate") LocalDateTime afterDate,
+            @Param("afterId") Long afterId,
+            Pageable pageable);
+
+    @Query("SELECT t FROM Transaction t WHERE t.destinationAccountId = :account " +
+            "AND (:type IS NULL OR t.type = :type) " +
+            "AND (:fromDate IS NULL OR t.transactionDate >= :fromDate) " +
+            "AND (:toDate IS NULL OR t.transactionDate < :toDate) " +
+            "AND (:minAmount IS NULL OR t.amount >= :minAmount) " +
+            "AND (:maxAmount IS NULL OR t.amount <= :maxAmount) " +
+            "AND (:afterDate IS NULL OR t.transactionDate < :afterDate " +
+            "     OR (t.transactionDate = :afterDate AND t.id < :afterId)) " +
+            "ORDER BY t.transactionDate DESC, t.id DESC")
+    List<Transaction> findIncomingPage(@Param("account") String account,
+            @Param("type") String type,
+            @Param("fromDate") LocalDateTime fromDate,
+            @Param("toDate") LocalDateTime toDate,
+            @Param("minAmount") BigDecimal minAmount,
+            @Param("maxAmount") BigDecimal maxAmount,
+            @Param("afterDate") LocalDateTime afterDate,
+            @Param("afterId") Long afterId,
+            Pageable pageable);
 }
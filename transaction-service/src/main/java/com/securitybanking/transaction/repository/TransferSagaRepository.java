@@ -0,0 +1,30 @@
+package com.securitybanking.transaction.repository;
+
+import com.securitybanking.transaction.entity.TransferSaga;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface TransferSagaRepository extends JpaRepository<TransferSaga, String> {
+
+    // FOR UPDATE SKIP LOCKED : plusieurs instances peuvent reprendre les sagas en parallèle sans se gêner
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT s FROM TransferSaga s WHERE s.status IN ('PENDING', 'CREDITED') AND s.nextAttemptAt <= :now " +
+            "ORDER BY s.nextAttemptAt")
+    List<TransferSaga> claimDue(@Param("now") LocalDateTime now, Pageable pageable);
+
+    // Sérialise l'enregistrement d'une saga entre la requête et la reprise en arrière-plan
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM TransferSaga s WHERE s.reference = :reference")
+    Optional<TransferSaga> findForUpdate(@Param("reference") String reference);
+}
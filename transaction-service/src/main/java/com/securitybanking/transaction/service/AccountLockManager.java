@@ -0,0 +1,94 @@
+package com.securitybanking.transaction.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Sérialise les opérations par compte à l'aide d'un nombre borné de verrous (stripes).
+ * Deux comptes différents ne partagent un verrou que si leurs numéros tombent dans la
+ * même stripe ; les virements acquièrent toujours leurs deux stripes dans l'ordre croissant
+ * pour éviter les interblocages.
+ */
+@Component
+public class AccountLockManager {
+
+    private final ReentrantLock[] stripes;
+    private final Timer[] waitTimers;
+    private final long timeoutMillis;
+
+    public AccountLockManager(@Value("${transaction.locks.stripes:64}") int stripeCount,
+            @Value("${transaction.locks.timeout-ms:10000}") long timeoutMillis,
+            MeterRegistry meterRegistry) {
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        this.waitTimers = new Timer[size];
+        this.timeoutMillis = timeoutMillis;
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+            waitTimers[i] = Timer.builder("transaction.account.lock.wait")
+                    .description("Temps d'attente pour acquérir le verrou d'un compte")
+                    .tag("stripe", String.valueOf(i))
+                    .register(meterRegistry);
+        }
+    }
+
+    public <T> T withAccountLock(String accountId, Supplier<T> action) {
+        int stripe = stripeFor(accountId);
+        acquire(stripe);
+        try {
+            return action.get();
+        } finally {
+            stripes[stripe].unlock();
+        }
+    }
+
+    public <T> T withAccountLocks(String firstAccountId, String secondAccountId, Supplier<T> action) {
+        int a = stripeFor(firstAccountId);
+        int b = stripeFor(secondAccountId);
+        if (a == b) {
+            return withAccountLock(firstAccountId, action);
+        }
+
+        int low = Math.min(a, b);
+        int high = Math.max(a, b);
+        acquire(low);
+        try {
+            acquire(high);
+            try {
+                return action.get();
+            } finally {
+                stripes[high].unlock();
+            }
+        } finally {
+            stripes[low].unlock();
+        }
+    }
+
+    private void acquire(int stripe) {
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = stripes[stripe].tryLock(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Opération interrompue en attente du compte");
+        } finally {
+            waitTimers[stripe].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        if (!acquired) {
+            throw new IllegalStateException("Compte occupé, veuillez réessayer");
+        }
+    }
+
+    private int stripeFor(String accountId) {
+        int h = accountId == null ? 0 : accountId.hashCode();
+        h ^= (h >>> 16);
+        return h & (stripes.length - 1);
+    }
+}
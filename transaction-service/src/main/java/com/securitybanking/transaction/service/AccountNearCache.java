@@ -0,0 +1,165 @@
+package com.securitybanking.transaction.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.securitybanking.transaction.FeignClient.AccountClient;
+import com.securitybanking.transaction.FeignClient.RequestAuthorization;
+import com.securitybanking.transaction.dto.AccountSummary;
+import feign.FeignException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+
+/**
+ * Cache local (Caffeine, borné) de l'existence, du statut actif et du client propriétaire
+ * des comptes. Les comptes inexistants sont mis en cache avec une durée plus courte ; une
+ * entrée ancienne est rechargée en arrière-plan tout en continuant d'être servie.
+ * account-service invalide une entrée lors d'une clôture ou d'un changement de statut.
+ */
+@Component
+public class AccountNearCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountNearCache.class);
+
+    private static final class Entry {
+        private final AccountSummary summary; // null : compte inexistant
+        private final long loadedAt;
+
+        private Entry(AccountSummary summary) {
+            this.summary = summary;
+            this.loadedAt = System.nanoTime();
+        }
+    }
+
+    private final AccountClient accountClient;
+    private final ThreadPoolTaskExecutor lookupExecutor;
+    private final Cache<String, Entry> cache;
+    private final long refreshAfterNanos;
+    private final ThreadPoolTaskExecutor refreshExecutor;
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+    public AccountNearCache(AccountClient accountClient,
+            @Qualifier("accountLookupExecutor") ThreadPoolTaskExecutor lookupExecutor,
+            @Qualifier("accountCacheRefreshExecutor") ThreadPoolTaskExecutor refreshExecutor,
+            MeterRegistry meterRegistry,
+            @Value("${transaction.account-cache.maximum-size:100000}") long maximumSize,
+            @Value("${transaction.account-cache.ttl-seconds:600}") long ttlSeconds,
+            @Value("${transaction.account-cache.negative-ttl-seconds:30}") long negativeTtlSeconds,
+            @Value("${transaction.account-cache.refresh-after-seconds:120}") long refreshAfterSeconds) {
+        this.accountClient = accountClient;
+        this.lookupExecutor = lookupExecutor;
+        this.refreshExecutor = refreshExecutor;
+        this.refreshAfterNanos = Duration.ofSeconds(refreshAfterSeconds).toNanos();
+        long positiveTtl = Duration.ofSeconds(ttlSeconds).toNanos();
+        long negativeTtl = Duration.ofSeconds(negativeTtlSeconds).toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<String, Entry>() {
+                    @Override
+                    public long expireAfterCreate(String key, Entry entry, long currentTime) {
+                        return entry.summary == null ? negativeTtl : positiveTtl;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+                        return entry.summary == null ? negativeTtl : positiveTtl;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "accountNearCache");
+    }
+
+    public Optional<AccountSummary> find(String accountNumber) {
+        return find(accountNumber, RequestAuthorization.current());
+    }
+
+    /**
+     * Variante asynchrone : réponse immédiate si le compte est en cache, sinon lecture
+     * sur accountLookupExecutor avec le jeton de la requête courante. Annuler le résultat
+     * annule la tâche : retirée de la file si elle n'a pas démarré, interrompue sinon.
+     */
+    public CompletableFuture<Optional<AccountSummary>> findAsync(String accountNumber) {
+        Entry cached = cache.getIfPresent(accountNumber);
+        if (cached != null && System.nanoTime() - cached.loadedAt <= refreshAfterNanos) {
+            return CompletableFuture.completedFuture(Optional.ofNullable(cached.summary));
+        }
+        String authorization = RequestAuthorization.current();
+        CompletableFuture<Optional<AccountSummary>> result = new CompletableFuture<>();
+        // CompletableFuture.cancel(true) n'interrompt pas la tâche qui le complète : on garde son Future
+        Future<?> task = lookupExecutor.submit(() -> {
+            try {
+                result.complete(find(accountNumber, authorization));
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        result.whenComplete((summary, error) -> {
+            if (result.isCancelled()) {
+                task.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    private Optional<AccountSummary> find(String accountNumber, String authorization) {
+        Entry entry = cache.get(accountNumber, key -> load(key, authorization));
+
+        // Rafraîchissement anticipé : l'appelant reçoit la valeur en cache sans attendre
+        if (System.nanoTime() - entry.loadedAt > refreshAfterNanos && refreshing.add(accountNumber)) {
+            try {
+                refreshExecutor.execute(() -> refresh(accountNumber, entry, authorization));
+            } catch (TaskRejectedException e) {
+                refreshing.remove(accountNumber);
+            }
+        }
+        return Optional.ofNullable(entry.summary);
+    }
+
+    // Remplacement conditionnel : si l'entrée a été invalidée (clôture, changement de statut) ou
+    // rechargée pendant la lecture, la valeur lue est écartée au lieu d'écraser la plus récente
+    private void refresh(String accountNumber, Entry stale, String authorization) {
+        try {
+            cache.asMap().replace(accountNumber, stale, load(accountNumber, authorization));
+        } catch (Exception e) {
+            logger.warn("Rafraîchissement du compte {} impossible : {}", accountNumber, e.getMessage());
+        } finally {
+            refreshing.remove(accountNumber);
+        }
+    }
+
+    public boolean isActive(String accountNumber) {
+        return find(accountNumber).map(AccountSummary::isActive).orElse(false);
+    }
+
+    public void invalidate(String accountNumber) {
+        cache.invalidate(accountNumber);
+    }
+
+    private Entry load(String accountNumber, String authorization) {
+        try {
+            return new Entry(accountClient.getAccountSummary(authorization, accountNumber));
+        } catch (FeignException.NotFound e) {
+            return new Entry(null);
+        }
+    }
+}
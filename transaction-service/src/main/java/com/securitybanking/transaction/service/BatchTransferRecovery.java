@@ -0,0 +1,82 @@
+package com.securitybanking.transaction.service;
+
+import com.securitybanking.transaction.entity.BatchTransferJob;
+import com.securitybanking.transaction.repository.BatchTransferJobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Termine les virements groupés dont le traitement s'est arrêté (instance redémarrée, issue
+ * incertaine d'un appel à account-service) : le débit, les lots PENDING et le remboursement sont
+ * rejoués avec leur référence. Les lots sont réservés avec SKIP LOCKED et un bail ; le thread de
+ * planification ne fait que les réserver, le traitement repart sur batchJobExecutor comme à la soumission.
+ */
+@Component
+public class BatchTransferRecovery {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchTransferRecovery.class);
+
+    private final BatchTransferJobRepository jobRepository;
+    private final BatchTransferService batchTransferService;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor jobExecutor;
+    private final int batchSize;
+    private final long leaseMillis;
+    private final long abandonAfterMillis;
+
+    public BatchTransferRecovery(BatchTransferJobRepository jobRepository,
+            BatchTransferService batchTransferService,
+            TransactionTemplate transactionTemplate,
+            @Qualifier("batchJobExecutor") ThreadPoolTaskExecutor jobExecutor,
+            @Value("${transaction.batch.recovery-batch-size:20}") int batchSize,
+            @Value("${transaction.batch.lease-ms:300000}") long leaseMillis,
+            @Value("${transaction.batch.abandon-after-ms:3600000}") long abandonAfterMillis) {
+        this.jobRepository = jobRepository;
+        this.batchTransferService = batchTransferService;
+        this.transactionTemplate = transactionTemplate;
+        this.jobExecutor = jobExecutor;
+        this.batchSize = batchSize;
+        this.leaseMillis = leaseMillis;
+        this.abandonAfterMillis = abandonAfterMillis;
+    }
+
+    @Scheduled(fixedDelayString = "${transaction.batch.recovery-interval-ms:30000}")
+    public void recover() {
+        for (BatchTransferJob job : claim()) {
+            if (job.getDebitStatus() != null) {
+                String jobId = job.getId();
+                try {
+                    jobExecutor.execute(() -> batchTransferService.resume(jobId));
+                    logger.info("Reprise du lot {}", jobId);
+                } catch (TaskRejectedException e) {
+                    // File pleine : le lot reste réservé jusqu'à la fin du bail puis sera repris
+                    logger.warn("Reprise du lot {} différée : file des traitements pleine", jobId);
+                }
+            } else if (job.getCreatedAt().isBefore(LocalDateTime.now().minusNanos(abandonAfterMillis * 1_000_000))) {
+                // Encore sans débit : le lot attend peut-être dans la file des traitements
+                batchTransferService.abandon(job.getId());
+            }
+        }
+    }
+
+    // Réservation courte : le bail est repoussé avant de relâcher les verrous
+    private List<BatchTransferJob> claim() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<BatchTransferJob> due = jobRepository.claimDue(now, PageRequest.of(0, batchSize));
+            due.forEach(job -> job.setNextAttemptAt(now.plusNanos(leaseMillis * 1_000_000)));
+            return jobRepository.saveAll(due);
+        });
+    }
+}
@@ -0,0 +1,524 @@
+package com.securitybanking.transaction.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.securitybanking.transaction.FeignClient.AccountClient;
+import com.securitybanking.transaction.config.ServiceTokenProvider;
+import com.securitybanking.transaction.dto.AccountCredit;
+import com.securitybanking.transaction.dto.BatchJobResponse;
+import com.securitybanking.transaction.dto.BatchLineResult;
+import com.securitybanking.transaction.dto.BatchTransferItem;
+import com.securitybanking.transaction.entity.BatchTransferJob;
+import com.securitybanking.transaction.entity.BatchTransferLine;
+import com.securitybanking.transaction.entity.Transaction;
+import com.securitybanking.transaction.repository.BatchTransferJobRepository;
+import com.securitybanking.transaction.repository.BatchTransferLineRepository;
+import com.securitybanking.transaction.repository.TransactionRepository;
+import feign.FeignException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Virements groupés (paie) depuis un compte source unique :
+ * validation des destinataires en masse, débit unique du total, crédits par lots en parallèle,
+ * écriture des lignes du grand livre en INSERT groupés. Les montants non crédités sont
+ * recrédités sur le compte source en fin de traitement.
+ * Le débit et l'état de chaque ligne sont enregistrés avant les appels à account-service, qui
+ * se font avec le jeton de service : un lot interrompu est terminé par BatchTransferRecovery.
+ */
+@Service
+public class BatchTransferService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchTransferService.class);
+
+    private static final int VALIDATION_CHUNK_SIZE = 1000;
+
+    private final BatchTransferJobRepository jobRepository;
+    private final BatchTransferLineRepository lineRepository;
+    private final TransactionRepository transactionRepository;
+    private final AccountClient accountClient;
+    private final ServiceTokenProvider serviceToken;
+    private final AccountLockManager accountLocks;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ThreadPoolTaskExecutor jobExecutor;
+    private final ThreadPoolTaskExecutor chunkExecutor;
+    private final int chunkSize;
+    private final int maxLines;
+    private final long leaseMillis;
+    private final long retryDelayMillis;
+
+    public BatchTransferService(BatchTransferJobRepository jobRepository,
+            BatchTransferLineRepository lineRepository,
+            TransactionRepository transactionRepository,
+            AccountClient accountClient,
+            ServiceTokenProvider serviceToken,
+            AccountLockManager accountLocks,
+            TransactionTemplate transactionTemplate,
+            ObjectMapper objectMapper,
+            @Qualifier("batchJobExecutor") ThreadPoolTaskExecutor jobExecutor,
+            @Qualifier("batchChunkExecutor") ThreadPoolTaskExecutor chunkExecutor,
+            @Value("${transaction.batch.chunk-size:500}") int chunkSize,
+            @Value("${transaction.batch.max-lines:100000}") int maxLines,
+            @Value("${transaction.batch.lease-ms:300000}") long leaseMillis,
+            @Value("${transaction.batch.retry-delay-ms:30000}") long retryDelayMillis) {
+        this.jobRepository = jobRepository;
+        this.lineRepository = lineRepository;
+        this.transactionRepository = transactionRepository;
+        this.accountClient = accountClient;
+        this.serviceToken = serviceToken;
+        this.accountLocks = accountLocks;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.jobExecutor = jobExecutor;
+        this.chunkExecutor = chunkExecutor;
+        this.chunkSize = chunkSize;
+        this.maxLines = maxLines;
+        this.leaseMillis = leaseMillis;
+        this.retryDelayMillis = retryDelayMillis;
+    }
+
+    public BatchJobResponse submit(String sourceAccountId, InputStream body, boolean json) throws IOException {
+        if (!StringUtils.hasText(sourceAccountId)) {
+            throw new IllegalArgumentException("Compte source obligatoire");
+        }
+
+        List<BatchTransferItem> items = json ? parseJson(body) : parseCsv(body);
+        if (items.isEmpty()) {
+            throw new IllegalArgumentException("Fichier de virements vide");
+        }
+
+        BatchTransferJob job = new BatchTransferJob();
+        job.setId(UUID.randomUUID().toString());
+        job.setSourceAccountId(sourceAccountId);
+        job.setStatus(BatchTransferJob.STATUS_RUNNING);
+        job.setTotalLines(items.size());
+        job.setCreatedAt(LocalDateTime.now());
+        job.setNextAttemptAt(leaseUntil());
+        jobRepository.save(job);
+
+        logger.info("Lot {} : {} virements depuis {}", job.getId(), items.size(), mask(sourceAccountId));
+        jobExecutor.execute(() -> run(job.getId(), sourceAccountId, items));
+        return toResponse(job);
+    }
+
+    public Optional<BatchJobResponse> getJob(String jobId) {
+        return jobRepository.findById(jobId).map(this::toResponse);
+    }
+
+    public List<BatchLineResult> getLines(String jobId, String status, int afterLine, int limit) {
+        List<BatchLineResult> results = new ArrayList<>();
+        for (BatchTransferLine line : lineRepository.findPage(jobId, afterLine, status,
+                PageRequest.of(0, Math.max(1, Math.min(limit, 1000))))) {
+            BatchLineResult result = new BatchLineResult();
+            result.setLineNumber(line.getLineNumber());
+            result.setDestinationAccountId(line.getDestinationAccountId());
+            result.setAmount(line.getAmount());
+            result.setStatus(line.getStatus());
+            result.setMessage(line.getMessage());
+            result.setTransactionId(line.getTransactionId());
+            results.add(result);
+        }
+        return results;
+    }
+
+    private void run(String jobId, String source, List<BatchTransferItem> items) {
+        boolean prepared;
+        try {
+            prepared = prepare(jobId, source, items);
+        } catch (Exception e) {
+            // Rien n'a encore été débité
+            logger.error("Lot {} interrompu : {}", jobId, e.getMessage(), e);
+            finish(jobId, BatchTransferJob.STATUS_FAILED, "Traitement interrompu : " + e.getMessage());
+            return;
+        }
+        if (prepared) {
+            resume(jobId);
+        }
+    }
+
+    // Contrôle les lignes puis enregistre, dans une même transaction, les lignes à créditer (PENDING)
+    // et le débit à faire : à partir de là, le lot peut être terminé par la reprise
+    private boolean prepare(String jobId, String source, List<BatchTransferItem> items) {
+        // 1. Contrôles ligne par ligne
+        List<BatchTransferLine> rejected = new ArrayList<>();
+        List<BatchTransferLine> candidates = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            BatchTransferItem item = items.get(i);
+            BatchTransferLine line = new BatchTransferLine(jobId, i + 1, item.getDestinationAccountId(),
+                    item.getAmount());
+            if (item.getAmount() == null || item.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
+                rejected.add(mark(line, BatchTransferLine.STATUS_REJECTED, "Montant invalide"));
+            } else if (!StringUtils.hasText(item.getDestinationAccountId())) {
+                rejected.add(mark(line, BatchTransferLine.STATUS_REJECTED, "Compte destinataire manquant"));
+            } else if (source.equals(item.getDestinationAccountId())) {
+                rejected.add(mark(line, BatchTransferLine.STATUS_REJECTED, "Source et destination identiques"));
+            } else {
+                candidates.add(line);
+            }
+        }
+
+        // 2. Validation des destinataires en masse (un appel par tranche de 1000 comptes distincts)
+        Set<String> destinations = new LinkedHashSet<>();
+        candidates.forEach(line -> destinations.add(line.getDestinationAccountId()));
+        Set<String> active = new HashSet<>();
+        List<String> distinct = new ArrayList<>(destinations);
+        for (int from = 0; from < distinct.size(); from += VALIDATION_CHUNK_SIZE) {
+            List<String> chunk = distinct.subList(from, Math.min(distinct.size(), from + VALIDATION_CHUNK_SIZE));
+            active.addAll(accountClient.findActiveAccountNumbers(serviceToken.authorization(),
+                    new ArrayList<>(chunk)));
+        }
+
+        List<BatchTransferLine> valid = new ArrayList<>(candidates.size());
+        BigDecimal total = BigDecimal.ZERO;
+        for (BatchTransferLine line : candidates) {
+            if (active.contains(line.getDestinationAccountId())) {
+                line.setChunkNumber(valid.size() / chunkSize);
+                valid.add(mark(line, BatchTransferLine.STATUS_PENDING, null));
+                total = total.add(line.getAmount());
+            } else {
+                rejected.add(mark(line, BatchTransferLine.STATUS_REJECTED, "Compte inexistant ou inactif"));
+            }
+        }
+        recordLines(jobId, rejected, 0, rejected.size());
+
+        if (valid.isEmpty()) {
+            finish(jobId, BatchTransferJob.STATUS_COMPLETED, "Aucune ligne valide");
+            return false;
+        }
+
+        BigDecimal debit = total;
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            BatchTransferJob job = jobRepository.findForUpdate(jobId).orElse(null);
+            if (job == null || !BatchTransferJob.STATUS_RUNNING.equals(job.getStatus())
+                    || job.getDebitStatus() != null) {
+                // Abandonné par la reprise pendant l'attente dans la file
+                return false;
+            }
+            lineRepository.saveAll(valid);
+            job.setTotalAmount(debit);
+            job.setDebitStatus(BatchTransferJob.DEBIT_PENDING);
+            job.setNextAttemptAt(leaseUntil());
+            return true;
+        }));
+    }
+
+    /**
+     * Reprend un lot à partir de son état enregistré : débit du compte source, crédits des lots
+     * encore PENDING, remboursement des lignes en échec. Chaque appel à account-service porte une
+     * référence dérivée du lot, un rejeu après une issue incertaine n'est donc jamais appliqué deux fois.
+     */
+    void resume(String jobId) {
+        BatchTransferJob job = jobRepository.findById(jobId).orElse(null);
+        if (job == null || !BatchTransferJob.STATUS_RUNNING.equals(job.getStatus())) {
+            return;
+        }
+        try {
+            if (BatchTransferJob.DEBIT_PENDING.equals(job.getDebitStatus()) && !debit(job)) {
+                return;
+            }
+            if (!creditPendingChunks(job)) {
+                reschedule(jobId);
+                return;
+            }
+            refundAndFinish(job);
+        } catch (RuntimeException e) {
+            logger.error("Lot {} interrompu, repris en arrière-plan : {}", jobId, e.getMessage(), e);
+            reschedule(jobId);
+        }
+    }
+
+    // Lot resté sans débit enregistré (instance arrêtée pendant les contrôles) : le fichier est perdu
+    void abandon(String jobId) {
+        transactionTemplate.executeWithoutResult(status -> jobRepository.findForUpdate(jobId)
+                .filter(job -> BatchTransferJob.STATUS_RUNNING.equals(job.getStatus())
+                        && job.getDebitStatus() == null)
+                .ifPresent(job -> {
+                    job.setStatus(BatchTransferJob.STATUS_FAILED);
+                    job.setMessage("Traitement interrompu avant le débit : fichier à soumettre de nouveau");
+                    job.setCompletedAt(LocalDateTime.now());
+                    logger.warn("Lot {} abandonné avant le débit", jobId);
+                }));
+    }
+
+    // 3. Débit unique du compte source pour le total ; false si le lot s'arrête ici
+    private boolean debit(BatchTransferJob job) {
+        String jobId = job.getId();
+        String source = job.getSourceAccountId();
+        BigDecimal debit = job.getTotalAmount().negate();
+        try {
+            accountLocks.withAccountLock(source, () -> accountClient.updateBalanceAs(serviceToken.authorization(),
+                    source, debit, reference(jobId, "debit")));
+        } catch (RuntimeException e) {
+            if (!rejected(e)) {
+                logger.warn("Lot {} : débit non confirmé, rejoué avec la même référence : {}", jobId, e.getMessage());
+                reschedule(jobId);
+                return false;
+            }
+            logger.warn("Lot {} : débit de {} refusé pour {}", jobId, job.getTotalAmount(), mask(source));
+            transactionTemplate.executeWithoutResult(status -> {
+                int failed = lineRepository.failPending(jobId, "Débit du compte source refusé");
+                jobRepository.addProgress(jobId, 0, failed);
+                setDebitStatus(jobId, BatchTransferJob.DEBIT_REFUSED);
+            });
+            finish(jobId, BatchTransferJob.STATUS_FAILED, "Débit du compte source refusé (solde insuffisant ?)");
+            return false;
+        }
+        transactionTemplate.executeWithoutResult(status -> setDebitStatus(jobId, BatchTransferJob.DEBIT_DONE));
+        return true;
+    }
+
+    // 4. Crédits des destinataires par lots, en parallèle ; false si l'issue d'un lot reste incertaine
+    private boolean creditPendingChunks(BatchTransferJob job) {
+        List<CompletableFuture<Boolean>> futures = new ArrayList<>();
+        for (Integer chunk : lineRepository.findPendingChunks(job.getId())) {
+            futures.add(CompletableFuture.supplyAsync(
+                    () -> creditChunk(job.getId(), job.getSourceAccountId(), chunk), chunkExecutor));
+        }
+        boolean settled = true;
+        for (CompletableFuture<Boolean> future : futures) {
+            settled &= future.join();
+        }
+        return settled;
+    }
+
+    // 5. Remboursement du compte source pour les lignes en échec, puis clôture du lot
+    private void refundAndFinish(BatchTransferJob job) {
+        String jobId = job.getId();
+        String source = job.getSourceAccountId();
+        BigDecimal notCredited = lineRepository.sumAmount(jobId, BatchTransferLine.STATUS_FAILED);
+        String message = null;
+        if (notCredited.compareTo(BigDecimal.ZERO) > 0) {
+            try {
+                accountLocks.withAccountLock(source, () -> accountClient.updateBalanceAs(
+                        serviceToken.authorization(), source, notCredited, reference(jobId, "refund")));
+                message = notCredited + " MAD non crédités ont été restitués au compte source";
+            } catch (RuntimeException e) {
+                if (!rejected(e)) {
+                    logger.warn("Lot {} : remboursement non confirmé, rejoué avec la même référence : {}", jobId,
+                            e.getMessage());
+                    reschedule(jobId);
+                    return;
+                }
+                logger.error("Lot {} : ÉCHEC du remboursement de {} sur {} : {}", jobId, notCredited,
+                        mask(source), e.getMessage());
+                message = "Remboursement de " + notCredited + " MAD au compte source en échec : intervention requise";
+            }
+        }
+        finish(jobId, BatchTransferJob.STATUS_COMPLETED, message);
+    }
+
+    // true si l'issue du lot est connue (crédité ou refusé), false si elle reste incertaine
+    private boolean creditChunk(String jobId, String source, int chunk) {
+        List<BatchTransferLine> lines = lineRepository.findPendingChunk(jobId, chunk);
+        if (lines.isEmpty()) {
+            return true;
+        }
+        List<AccountCredit> credits = new ArrayList<>(lines.size());
+        for (BatchTransferLine line : lines) {
+            credits.add(new AccountCredit(line.getDestinationAccountId(), line.getAmount()));
+        }
+
+        try {
+            accountClient.creditAccounts(serviceToken.authorization(), reference(jobId, "chunk-" + chunk), credits);
+        } catch (RuntimeException e) {
+            if (!rejected(e)) {
+                // Les crédits ont pu être appliqués : ni échec ni remboursement, le lot sera rejoué
+                logger.warn("Lot {} : crédit du lot {} non confirmé : {}", jobId, chunk, e.getMessage());
+                return false;
+            }
+            logger.warn("Lot {} : crédit de {} comptes refusé : {}", jobId, lines.size(), e.getMessage());
+            settleChunk(jobId, source, chunk, false);
+            return true;
+        }
+        settleChunk(jobId, source, chunk, true);
+        return true;
+    }
+
+    private void settleChunk(String jobId, String source, int chunk, boolean credited) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<BatchTransferLine> lines = lineRepository.lockPendingChunk(jobId, chunk);
+            if (lines.isEmpty()) {
+                return;
+            }
+            if (!credited) {
+                lines.forEach(line -> mark(line, BatchTransferLine.STATUS_FAILED, "Crédit refusé par account-service"));
+                jobRepository.addProgress(jobId, 0, lines.size());
+            } else {
+                LocalDateTime now = LocalDateTime.now();
+                List<Transaction> transactions = new ArrayList<>(lines.size());
+                for (BatchTransferLine line : lines) {
+                    Transaction tx = new Transaction();
+                    tx.setSourceAccountId(source);
+                    tx.setDestinationAccountId(line.getDestinationAccountId());
+                    tx.setAmount(line.getAmount());
+                    tx.setType("VIREMENT");
+                    tx.setTransactionDate(now);
+                    transactions.add(tx);
+                }
+                transactionRepository.saveAll(transactions);
+
+                for (int i = 0; i < lines.size(); i++) {
+                    BatchTransferLine line = mark(lines.get(i), BatchTransferLine.STATUS_SUCCEEDED, null);
+                    line.setTransactionId(transactions.get(i).getId());
+                }
+                jobRepository.addProgress(jobId, lines.size(), 0);
+            }
+            jobRepository.extendLease(jobId, leaseUntil());
+        });
+    }
+
+    private void recordLines(String jobId, List<BatchTransferLine> lines, int succeeded, int failed) {
+        if (lines.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            lineRepository.saveAll(lines);
+            jobRepository.addProgress(jobId, succeeded, failed);
+        });
+    }
+
+    private void setDebitStatus(String jobId, String debitStatus) {
+        jobRepository.findById(jobId).ifPresent(job -> {
+            job.setDebitStatus(debitStatus);
+            jobRepository.save(job);
+        });
+    }
+
+    private void reschedule(String jobId) {
+        LocalDateTime retryAt = LocalDateTime.now().plusNanos(retryDelayMillis * 1_000_000);
+        transactionTemplate.executeWithoutResult(status -> jobRepository.extendLease(jobId, retryAt));
+    }
+
+    private void finish(String jobId, String jobStatus, String message) {
+        transactionTemplate.executeWithoutResult(status -> jobRepository.findForUpdate(jobId)
+                .filter(job -> BatchTransferJob.STATUS_RUNNING.equals(job.getStatus()))
+                .ifPresent(job -> {
+                    job.setStatus(jobStatus);
+                    job.setMessage(message);
+                    job.setCompletedAt(LocalDateTime.now());
+                    jobRepository.save(job);
+                }));
+        logger.info("Lot {} terminé : {}", jobId, jobStatus);
+    }
+
+    private LocalDateTime leaseUntil() {
+        return LocalDateTime.now().plusNanos(leaseMillis * 1_000_000);
+    }
+
+    // Référence unique par mouvement du lot côté account-service (64 caractères au plus)
+    private static String reference(String jobId, String movement) {
+        return "batch-" + jobId + "-" + movement;
+    }
+
+    // Refus explicite d'account-service : rien n'a été appliqué. Délai dépassé, erreur serveur ou
+    // réponse perdue : le mouvement a pu être appliqué, il est rejoué avec la même référence
+    private static boolean rejected(RuntimeException e) {
+        return e instanceof FeignException feign && feign.status() >= 400 && feign.status() < 500
+                && feign.status() != 408 && feign.status() != 429;
+    }
+
+    private BatchTransferLine mark(BatchTransferLine line, String status, String message) {
+        line.setStatus(status);
+        line.setMessage(message);
+        return line;
+    }
+
+    private List<BatchTransferItem> parseCsv(InputStream body) throws IOException {
+        List<BatchTransferItem> items = new ArrayList<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        boolean headerChecked = false;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                continue;
+            }
+            String[] columns = trimmed.split("[,;]");
+            String destination = columns[0].trim();
+            BigDecimal amount = columns.length > 1 ? parseAmount(columns[1].trim()) : null;
+
+            // Première ligne non numérique : en-tête ("destination,montant")
+            if (!headerChecked) {
+                headerChecked = true;
+                if (amount == null && columns.length > 1) {
+                    continue;
+                }
+            }
+            addItem(items, new BatchTransferItem(destination, amount));
+        }
+        return items;
+    }
+
+    private List<BatchTransferItem> parseJson(InputStream body) throws IOException {
+        List<BatchTransferItem> items = new ArrayList<>();
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Tableau JSON de virements attendu");
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                addItem(items, parser.readValueAs(BatchTransferItem.class));
+            }
+        }
+        return items;
+    }
+
+    private void addItem(List<BatchTransferItem> items, BatchTransferItem item) {
+        if (items.size() >= maxLines) {
+            throw new IllegalArgumentException("Nombre de lignes limité à " + maxLines);
+        }
+        items.add(item);
+    }
+
+    private BigDecimal parseAmount(String value) {
+        try {
+            return new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private BatchJobResponse toResponse(BatchTransferJob job) {
+        BatchJobResponse response = new BatchJobResponse();
+        response.setJobId(job.getId());
+        response.setSourceAccountId(job.getSourceAccountId());
+        response.setStatus(job.getStatus());
+        response.setTotalLines(job.getTotalLines());
+        response.setProcessedLines(job.getProcessedLines());
+        response.setSucceededLines(job.getSucceededLines());
+        response.setFailedLines(job.getFailedLines());
+        response.setTotalAmount(job.getTotalAmount());
+        response.setMessage(job.getMessage());
+        response.setCreatedAt(job.getCreatedAt());
+        response.setCompletedAt(job.getCompletedAt());
+        return response;
+    }
+
+    private String mask(String accountId) {
+        return accountId == null || accountId.length() < 4 ? "****" : "****" + accountId.substring(accountId.length() - 4);
+    }
+}
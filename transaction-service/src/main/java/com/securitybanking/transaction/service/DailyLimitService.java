@@ -0,0 +1,206 @@
+package com.securitybanking.transaction.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.securitybanking.transaction.dto.AccountTypeLimitDTO;
+import com.securitybanking.transaction.entity.AccountTypeLimit;
+import com.securitybanking.transaction.exception.DailyLimitExceededException;
+import com.securitybanking.transaction.repository.AccountTypeLimitRepository;
+import com.securitybanking.transaction.repository.DailyUsageRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Plafonds journaliers de retrait et de virement sortant par type de compte.
+ * Le cumul du jour est tenu dans daily_usage : la réservation est un incrément gardé
+ * (total + montant <= plafond) dans une seule instruction, si bien que toutes les instances
+ * partagent le même plafond. Un reflet en mémoire, relu après expiration, sert seulement à
+ * rejeter sans aller en base un montant qui dépasse déjà le cumul connu.
+ */
+@Service
+public class DailyLimitService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DailyLimitService.class);
+
+    public static final String WITHDRAWAL = "RETRAIT";
+    public static final String TRANSFER = "VIREMENT";
+
+    /**
+     * Montant compté dans le cumul d'un jour : à rendre à release() pour l'annuler sur ce même jour,
+     * même si l'opération se termine après minuit.
+     */
+    public static final class Reservation {
+        private static final Reservation NONE = new Reservation(null, null, null, null);
+
+        private final String accountId;
+        private final String operation;
+        private final BigDecimal amount;
+        private final LocalDate day;
+
+        private Reservation(String accountId, String operation, BigDecimal amount, LocalDate day) {
+            this.accountId = accountId;
+            this.operation = operation;
+            this.amount = amount;
+            this.day = day;
+        }
+    }
+
+    // Cumul d'un compte pour une opération, valable pour `day` seulement
+    private static final class DailyCounter {
+        private LocalDate day;
+        private BigDecimal used;
+    }
+
+    private final AccountTypeLimitRepository limitRepository;
+    private final DailyUsageRepository usageRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache<String, DailyCounter> mirror;
+    private final ZoneId zone;
+    private volatile Map<String, AccountTypeLimit> limits;
+
+    public DailyLimitService(AccountTypeLimitRepository limitRepository,
+            DailyUsageRepository usageRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${transaction.limits.mirror-size:100000}") long mirrorSize,
+            @Value("${transaction.limits.mirror-ttl-seconds:60}") long mirrorTtlSeconds,
+            @Value("${transaction.limits.zone:Africa/Casablanca}") String zone) {
+        this.limitRepository = limitRepository;
+        this.usageRepository = usageRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.zone = ZoneId.of(zone);
+        this.mirror = Caffeine.newBuilder()
+                .maximumSize(mirrorSize)
+                .expireAfterWrite(Duration.ofSeconds(mirrorTtlSeconds))
+                .build();
+    }
+
+    /**
+     * Réserve le montant sur le cumul du jour, ou lève DailyLimitExceededException.
+     * À annuler avec release(reservation) si l'opération échoue avant d'avoir été appliquée.
+     */
+    public Reservation reserve(String accountId, String accountType, String operation, BigDecimal amount) {
+        BigDecimal limit = limitFor(accountType, operation);
+        if (limit == null) {
+            return Reservation.NONE;
+        }
+        LocalDate today = LocalDate.now(zone);
+        DailyCounter counter = mirror.get(key(accountId, operation), k -> new DailyCounter());
+        synchronized (counter) {
+            // Rejet rapide : le cumul déjà connu suffit à dépasser le plafond
+            if (today.equals(counter.day) && counter.used.add(amount).compareTo(limit) > 0) {
+                throw new DailyLimitExceededException(operation, limit, limit.subtract(counter.used));
+            }
+        }
+
+        // Contrôle de référence, commun à toutes les instances
+        boolean reserved = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            usageRepository.ensureRow(accountId, today, operation);
+            return usageRepository.tryIncrement(accountId, today, operation, amount, limit) == 1;
+        }));
+        BigDecimal used = usageRepository.findTotal(accountId, today, operation).orElse(BigDecimal.ZERO);
+        synchronized (counter) {
+            counter.day = today;
+            counter.used = used;
+        }
+        if (!reserved) {
+            throw new DailyLimitExceededException(operation, limit, limit.subtract(used).max(BigDecimal.ZERO));
+        }
+        return new Reservation(accountId, operation, amount, today);
+    }
+
+    // Annule la réservation sur le jour où elle a été comptée
+    public void release(Reservation reservation) {
+        if (reservation.day == null) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> usageRepository.decrement(reservation.accountId,
+                    reservation.day, reservation.operation, reservation.amount));
+        } catch (RuntimeException e) {
+            // Le montant reste compté : le plafond est plus strict que nécessaire jusqu'à la fin du jour
+            logger.error("Cumul journalier {} non libéré pour {} : {}", reservation.operation,
+                    reservation.accountId, e.getMessage());
+        }
+        DailyCounter counter = mirror.getIfPresent(key(reservation.accountId, reservation.operation));
+        if (counter == null) {
+            return;
+        }
+        synchronized (counter) {
+            if (reservation.day.equals(counter.day)) {
+                counter.used = counter.used.subtract(reservation.amount).max(BigDecimal.ZERO);
+            }
+        }
+    }
+
+    public List<AccountTypeLimitDTO> getLimits() {
+        return limits().values().stream()
+                .map(this::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    public AccountTypeLimitDTO updateLimit(String accountType, AccountTypeLimitDTO request) {
+        AccountTypeLimit limit = limitRepository.findById(accountType).orElseGet(AccountTypeLimit::new);
+        limit.setAccountType(accountType);
+        limit.setDailyWithdrawalLimit(request.getDailyWithdrawalLimit());
+        limit.setDailyTransferLimit(request.getDailyTransferLimit());
+        limit.setUpdatedAt(LocalDateTime.now());
+        AccountTypeLimit saved = limitRepository.save(limit);
+        refreshLimits();
+        logger.info("Plafonds journaliers {} : retrait {}, virement {}", accountType,
+                saved.getDailyWithdrawalLimit(), saved.getDailyTransferLimit());
+        return toDTO(saved);
+    }
+
+    // Reprend les plafonds modifiés depuis une autre instance
+    @Scheduled(fixedDelayString = "${transaction.limits.refresh-ms:60000}")
+    public void refreshLimits() {
+        limits = limitRepository.findAll().stream()
+                .collect(Collectors.toUnmodifiableMap(AccountTypeLimit::getAccountType, Function.identity()));
+    }
+
+    private BigDecimal limitFor(String accountType, String operation) {
+        if (accountType == null) {
+            return null;
+        }
+        AccountTypeLimit limit = limits().get(accountType);
+        if (limit == null) {
+            return null;
+        }
+        return WITHDRAWAL.equals(operation) ? limit.getDailyWithdrawalLimit() : limit.getDailyTransferLimit();
+    }
+
+    private Map<String, AccountTypeLimit> limits() {
+        Map<String, AccountTypeLimit> current = limits;
+        if (current == null) {
+            refreshLimits();
+            current = limits;
+        }
+        return current;
+    }
+
+    private AccountTypeLimitDTO toDTO(AccountTypeLimit limit) {
+        AccountTypeLimitDTO dto = new AccountTypeLimitDTO();
+        dto.setAccountType(limit.getAccountType());
+        dto.setDailyWithdrawalLimit(limit.getDailyWithdrawalLimit());
+        dto.setDailyTransferLimit(limit.getDailyTransferLimit());
+        return dto;
+    }
+
+    private static String key(String accountId, String operation) {
+        return operation + '|' + accountId;
+    }
+}
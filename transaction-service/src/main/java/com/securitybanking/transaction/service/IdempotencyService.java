@@ -0,0 +1,278 @@
+package com.securitybanking.transaction.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.securitybanking.transaction.entity.IdempotencyRecord;
+import com.securitybanking.transaction.exception.IdempotencyConflictException;
+import com.securitybanking.transaction.exception.TransferPendingException;
+import com.securitybanking.transaction.repository.IdempotencyRecordRepository;
+import feign.FeignException;
+import feign.RetryableException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Garantit qu'une opération portant un en-tête Idempotency-Key n'est exécutée qu'une fois.
+ * La clé est réservée en base (ligne PENDING de idempotency_keys) avant l'exécution : une
+ * répétition arrivée sur n'importe quelle instance attend la réponse enregistrée (COMPLETED)
+ * au lieu de relancer l'opération. La clé est propre à l'utilisateur authentifié, et une
+ * réutilisation avec un autre corps de requête est rejetée. Un cache Caffeine borné garde
+ * les réponses récentes devant la table ; les clés sont purgées après retention-hours.
+ * Pour les virements, la référence de saga est dérivée de la clé : une répétition dont la
+ * première exécution est restée sans issue connue est résolue depuis la saga.
+ */
+@Service
+public class IdempotencyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyService.class);
+
+    private final IdempotencyRecordRepository repository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache<String, Completed> responses;
+    private final long waitMs;
+    private final long pollIntervalMs;
+    private final long retentionHours;
+    private final int purgeBatchSize;
+
+    public IdempotencyService(IdempotencyRecordRepository repository,
+            ObjectMapper objectMapper,
+            TransactionTemplate transactionTemplate,
+            @Value("${transaction.idempotency.cache-size:10000}") long cacheSize,
+            @Value("${transaction.idempotency.cache-ttl-minutes:60}") long cacheTtlMinutes,
+            @Value("${transaction.idempotency.wait-ms:15000}") long waitMs,
+            @Value("${transaction.idempotency.poll-interval-ms:100}") long pollIntervalMs,
+            @Value("${transaction.idempotency.retention-hours:24}") long retentionHours,
+            @Value("${transaction.idempotency.purge-batch-size:1000}") int purgeBatchSize) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(Duration.ofMinutes(cacheTtlMinutes))
+                .build();
+        this.waitMs = waitMs;
+        this.pollIntervalMs = pollIntervalMs;
+        this.retentionHours = retentionHours;
+        this.purgeBatchSize = purgeBatchSize;
+    }
+
+    public <T> T execute(String idempotencyKey, String operation, Object request, Class<T> responseType,
+            Supplier<T> action) {
+        return execute(idempotencyKey, operation, request, responseType, reference -> action.get(), null);
+    }
+
+    /**
+     * Variante des opérations suivies par une saga : action reçoit la référence de saga, dérivée de la clé
+     * (aléatoire sans clé). outcome rend la réponse d'une saga terminée, rien tant qu'elle n'est pas connue,
+     * lève TransferPendingException si elle est encore ouverte ou l'erreur d'une saga close sans effet.
+     */
+    public <T> T execute(String idempotencyKey, String operation, Object request, Class<T> responseType,
+            Function<String, T> action, Function<String, Optional<T>> outcome) {
+        if (!StringUtils.hasText(idempotencyKey)) {
+            return action.apply(UUID.randomUUID().toString());
+        }
+
+        String principal = currentPrincipal();
+        String key = sha256((operation + '\n' + principal + '\n' + idempotencyKey).getBytes(StandardCharsets.UTF_8));
+        String requestHash = fingerprint(request);
+
+        Completed cached = responses.getIfPresent(key);
+        if (cached != null) {
+            checkSameRequest(cached.requestHash, requestHash);
+            return responseType.cast(cached.response);
+        }
+
+        String reference = reference(key);
+        if (!reserve(key, operation, principal, requestHash)) {
+            logger.info("Clé d'idempotence {} déjà réservée, attente de la première exécution", key);
+            return awaitCompleted(key, requestHash, responseType,
+                    outcome == null ? null : () -> outcome.apply(reference));
+        }
+
+        T response;
+        try {
+            response = action.apply(reference);
+        } catch (RuntimeException e) {
+            if (outcomeUnknown(e)) {
+                // L'opération a pu être appliquée : la clé reste réservée, les répétitions sont résolues
+                // depuis la saga (virements) ou attendent l'expiration de la clé
+                logger.warn("Issue inconnue pour la clé {}, réservation conservée : {}", key, e.getMessage());
+            } else {
+                release(key);
+            }
+            throw e;
+        }
+
+        complete(key, response);
+        responses.put(key, new Completed(requestHash, response));
+        return response;
+    }
+
+    // true si la clé vient d'être réservée par cette requête
+    private boolean reserve(String key, String operation, String principal, String requestHash) {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            transactionTemplate.executeWithoutResult(status ->
+                    repository.reserve(key, operation, principal, requestHash, now, now.plusHours(retentionHours)));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+
+    private void complete(String key, Object response) {
+        try {
+            String body = objectMapper.writeValueAsString(response);
+            transactionTemplate.executeWithoutResult(status -> repository.complete(key, body));
+        } catch (JsonProcessingException | RuntimeException e) {
+            // L'opération a réussi : la réponse est rendue, la clé reste PENDING et les répétitions seront refusées
+            logger.error("Réponse idempotente non enregistrée pour {} : {}", key, e.getMessage());
+        }
+    }
+
+    private void release(String key) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> repository.release(key));
+        } catch (RuntimeException e) {
+            logger.error("Clé d'idempotence {} non libérée : {}", key, e.getMessage());
+        }
+    }
+
+    // Répétition d'une requête réservée ailleurs : lecture de la table (et de la saga) jusqu'à la réponse
+    // ou au délai ; une saga encore ouverte au délai est signalée comme virement en cours (202)
+    private <T> T awaitCompleted(String key, String requestHash, Class<T> responseType,
+            Supplier<Optional<T>> outcome) {
+        long deadline = System.currentTimeMillis() + waitMs;
+        while (true) {
+            Optional<IdempotencyRecord> record = repository.findById(key);
+            if (record.isEmpty()) {
+                // Première exécution en échec, clé libérée : le client peut renvoyer la requête
+                throw new IdempotencyConflictException("La requête d'origine a échoué, veuillez la renvoyer", true);
+            }
+            checkSameRequest(record.get().getRequestHash(), requestHash);
+            if (IdempotencyRecord.STATUS_COMPLETED.equals(record.get().getStatus())) {
+                T response = read(key, record.get().getResponseBody(), responseType);
+                responses.put(key, new Completed(requestHash, response));
+                return response;
+            }
+            if (outcome != null) {
+                try {
+                    Optional<T> settled = outcome.get();
+                    if (settled.isPresent()) {
+                        // Première exécution restée PENDING (issue inconnue) : la saga est terminée depuis
+                        complete(key, settled.get());
+                        responses.put(key, new Completed(requestHash, settled.get()));
+                        return settled.get();
+                    }
+                } catch (TransferPendingException e) {
+                    if (System.currentTimeMillis() >= deadline) {
+                        throw e;
+                    }
+                }
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                throw new IdempotencyConflictException("Requête déjà en cours de traitement", true);
+            }
+            try {
+                Thread.sleep(pollIntervalMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IdempotencyConflictException("Requête déjà en cours de traitement", true);
+            }
+        }
+    }
+
+    private <T> T read(String key, String body, Class<T> responseType) {
+        try {
+            return objectMapper.readValue(body, responseType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Réponse idempotente illisible pour " + key, e);
+        }
+    }
+
+    private void checkSameRequest(String stored, String requestHash) {
+        if (stored != null && !stored.equals(requestHash)) {
+            throw new IdempotencyConflictException("Clé d'idempotence déjà utilisée pour une autre requête", false);
+        }
+    }
+
+    // Les clés expirées sont supprimées par lots jusqu'à épuisement
+    @Scheduled(fixedDelayString = "${transaction.idempotency.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int purged = 0;
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(status -> repository.deleteExpired(now, purgeBatchSize));
+            purged += deleted;
+        } while (deleted == purgeBatchSize);
+        if (purged > 0) {
+            logger.info("{} clé(s) d'idempotence expirée(s) purgée(s)", purged);
+        }
+    }
+
+    // Référence de saga stable pour une clé (même utilisateur, même opération) : 36 caractères
+    private static String reference(String key) {
+        return UUID.nameUUIDFromBytes(key.getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    // Délai dépassé ou erreur serveur d'account-service, virement confié à la saga : l'effet est incertain
+    private static boolean outcomeUnknown(RuntimeException e) {
+        return e instanceof TransferPendingException
+                || e instanceof RetryableException
+                || (e instanceof FeignException feign && feign.status() >= 500);
+    }
+
+    private static String currentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null ? "anonymous" : authentication.getName();
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            return sha256(objectMapper.writeValueAsBytes(request));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Requête non sérialisable", e);
+        }
+    }
+
+    private static String sha256(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class Completed {
+        private final String requestHash;
+        private final Object response;
+
+        Completed(String requestHash, Object response) {
+            this.requestHash = requestHash;
+            this.response = response;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.securitybanking.transaction.service;
+
+import com.securitybanking.transaction.FeignClient.NotificationClient;
+import com.securitybanking.transaction.FeignClient.RequestAuthorization;
+import com.securitybanking.transaction.config.ServiceTokenProvider;
+import com.securitybanking.transaction.dto.NotificationRequest;
+import com.securitybanking.transaction.entity.NotificationOutbox;
+import com.securitybanking.transaction.repository.NotificationOutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Vide la table notification_outbox par lots vers notification-service.
+ * Chaque lot est réservé avec SKIP LOCKED et un bail (next_attempt_at repoussé) avant l'envoi :
+ * plusieurs instances se partagent les lignes sans doublon. Les envois partent avec le jeton de
+ * service, le relais s'exécutant hors requête HTTP.
+ * Un envoi en échec est reprogrammé avec un délai exponentiel, puis marqué FAILED
+ * après le nombre maximal de tentatives.
+ */
+@Component
+public class NotificationOutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationOutboxRelay.class);
+
+    private final NotificationOutboxRepository outboxRepository;
+    private final NotificationClient notificationClient;
+    private final ServiceTokenProvider serviceToken;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long leaseMillis;
+    private final int maxAttempts;
+    private final long baseBackoffMillis;
+    private final long maxBackoffMillis;
+
+    public NotificationOutboxRelay(NotificationOutboxRepository outboxRepository,
+            NotificationClient notificationClient,
+            ServiceTokenProvider serviceToken,
+            TransactionTemplate transactionTemplate,
+            @Value("${transaction.outbox.batch-size:100}") int batchSize,
+            @Value("${transaction.outbox.lease-ms:60000}") long leaseMillis,
+            @Value("${transaction.outbox.max-attempts:10}") int maxAttempts,
+            @Value("${transaction.outbox.base-backoff-ms:1000}") long baseBackoffMillis,
+            @Value("${transaction.outbox.max-backoff-ms:300000}") long maxBackoffMillis) {
+        this.outboxRepository = outboxRepository;
+        this.notificationClient = notificationClient;
+        this.serviceToken = serviceToken;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.leaseMillis = leaseMillis;
+        this.maxAttempts = maxAttempts;
+        this.baseBackoffMillis = baseBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+    }
+
+    @Scheduled(fixedDelayString = "${transaction.outbox.poll-interval-ms:1000}")
+    public void relay() {
+        List<NotificationOutbox> batch;
+        do {
+            batch = claim();
+            String authorization = serviceToken.authorization();
+            batch.forEach(entry -> RequestAuthorization.callAs(authorization, () -> deliver(entry)));
+            outboxRepository.saveAll(batch);
+        } while (batch.size() == batchSize);
+    }
+
+    // Réservation courte : next_attempt_at est repoussé de la durée du bail avant de relâcher les verrous,
+    // les lignes réservées sortent ainsi de la plage due pour les autres instances pendant l'envoi
+    private List<NotificationOutbox> claim() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<NotificationOutbox> due = outboxRepository.claimDue(now, PageRequest.of(0, batchSize));
+            for (NotificationOutbox entry : due) {
+                entry.setNextAttemptAt(now.plusNanos(leaseMillis * 1_000_000));
+            }
+            return outboxRepository.saveAll(due);
+        });
+    }
+
+    private Void deliver(NotificationOutbox entry) {
+        try {
+            notificationClient.sendGenericNotification(new NotificationRequest(
+                    entry.getClientId(), entry.getRecipient(), entry.getSubject(), entry.getMessage()));
+            entry.setStatus(NotificationOutbox.STATUS_SENT);
+            entry.setSentAt(LocalDateTime.now());
+            entry.setLastError(null);
+        } catch (Exception e) {
+            int attempts = entry.getAttempts() + 1;
+            entry.setAttempts(attempts);
+            entry.setLastError(truncate(e.getMessage()));
+            if (attempts >= maxAttempts) {
+                entry.setStatus(NotificationOutbox.STATUS_FAILED);
+                logger.error("Notification {} abandonnée après {} tentatives : {}", entry.getId(), attempts,
+                        e.getMessage());
+            } else {
+                long delay = Math.min(maxBackoffMillis, baseBackoffMillis << Math.min(attempts - 1, 20));
+                entry.setNextAttemptAt(LocalDateTime.now().plusNanos(delay * 1_000_000));
+                logger.warn("Échec d'envoi de la notification {} (tentative {}), nouvel essai dans {} ms",
+                        entry.getId(), attempts, delay);
+            }
+        }
+        return null;
+    }
+
+    private String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() <= 500 ? message : message.substring(0, 500);
+    }
+}
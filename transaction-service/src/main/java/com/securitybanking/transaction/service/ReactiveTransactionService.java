@@ -0,0 +1,173 @@
+package com.securitybanking.transaction.service;
+
+import com.securitybanking.transaction.FeignClient.ReactiveAccountClient;
+import com.securitybanking.transaction.FeignClient.RequestAuthorization;
+import com.securitybanking.transaction.dto.*;
+import com.securitybanking.transaction.entity.Transaction;
+import com.securitybanking.transaction.exception.TransferPendingException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+
+/**
+ * Variante non bloquante des dépôts, retraits et virements (transaction.client.mode=reactive).
+ * Aucun thread de requête n'attend account-service : les appels passent par ReactiveAccountClient
+ * et seules les écritures JPA s'exécutent sur Schedulers.boundedElastic().
+ *
+ * Pas de verrous AccountLockManager dans les chaînes réactives (un ReentrantLock doit être libéré
+ * par le thread qui l'a pris) : le retrait repose sur la mise à jour conditionnelle du solde côté
+ * account-service. Le virement passe par la saga de TransactionService, exécutée d'un bloc sur
+ * boundedElastic avec le jeton capturé sur le thread de la requête.
+ */
+@Service
+@ConditionalOnProperty(name = "transaction.client.mode", havingValue = "reactive")
+public class ReactiveTransactionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveTransactionService.class);
+
+    private final ReactiveAccountClient accountClient;
+    private final AccountNearCache accountCache;
+    private final TransactionService transactionService;
+    private final VelocityGuard velocityGuard;
+    private final DailyLimitService dailyLimits;
+    private final Duration lookupTimeout;
+
+    public ReactiveTransactionService(ReactiveAccountClient accountClient,
+            AccountNearCache accountCache,
+            TransactionService transactionService,
+            VelocityGuard velocityGuard,
+            DailyLimitService dailyLimits,
+            @Value("${transaction.account-lookup.timeout-ms:3000}") long lookupTimeoutMs) {
+        this.accountClient = accountClient;
+        this.accountCache = accountCache;
+        this.transactionService = transactionService;
+        this.velocityGuard = velocityGuard;
+        this.dailyLimits = dailyLimits;
+        this.lookupTimeout = Duration.ofMillis(lookupTimeoutMs);
+    }
+
+    // Dépôt
+    public Mono<DepositResponse> deposit(DepositRequest request) {
+        transactionService.validateAmount(request.getAmount());
+        String accountId = request.getAccountId();
+        String authorization = RequestAuthorization.current();
+
+        logger.info("Dépôt (réactif) sur compte {} montant {}", transactionService.mask(accountId), request.getAmount());
+
+        return requireActiveAccount(accountId)
+                .doOnNext(account -> velocityGuard.check("DEPOT", accountId, account.getClientId(),
+                        request.getAmount()))
+                .then(accountClient.updateBalance(authorization, accountId, request.getAmount())
+                        .onErrorMap(WebClientResponseException.NotFound.class,
+                                e -> new IllegalArgumentException("Compte inexistant")))
+                .then(persist(() -> transactionService.saveTransaction(null, accountId, request.getAmount(), "DEPOT")))
+                .map(transactionService::buildDepositResponse);
+    }
+
+    // Retrait : le contrôle de solde et le débit sont un seul UPDATE conditionnel côté account-service
+    public Mono<WithdrawResponse> withdraw(WithdrawRequest request) {
+        transactionService.validateAmount(request.getAmount());
+        String accountId = request.getAccountId();
+        String authorization = RequestAuthorization.current();
+
+        logger.info("Retrait (réactif) sur compte {} montant {}", transactionService.mask(accountId),
+                request.getAmount());
+
+        return requireActiveAccount(accountId)
+                .map(account -> {
+                    velocityGuard.check("RETRAIT", accountId, account.getClientId(), request.getAmount());
+                    return dailyLimits.reserve(accountId, account.getAccountType(), DailyLimitService.WITHDRAWAL,
+                            request.getAmount());
+                })
+                .flatMap(reservation -> accountClient.updateBalance(authorization, accountId,
+                                request.getAmount().negate())
+                        // Seul un refus (4xx) garantit que rien n'a été débité : après un délai dépassé
+                        // ou une erreur serveur, le retrait a pu être appliqué et reste compté
+                        .doOnError(WebClientResponseException.class, e -> {
+                            if (e.getStatusCode().is4xxClientError()) {
+                                dailyLimits.release(reservation);
+                            }
+                        })
+                        .onErrorMap(WebClientResponseException.NotFound.class,
+                                e -> new IllegalArgumentException("Compte inexistant"))
+                        .onErrorMap(WebClientResponseException.BadRequest.class, e -> {
+                            logger.warn("Solde insuffisant pour {}", transactionService.mask(accountId));
+                            return new RuntimeException("Solde insuffisant");
+                        }))
+                .then(persist(() -> transactionService.saveWithdrawal(accountId, request.getAmount())))
+                .map(transactionService::buildWithdrawResponse);
+    }
+
+    // Virement
+    public Mono<TransferResponse> transfer(TransferRequest request) {
+        transactionService.validateAmount(request.getAmount());
+        String sourceAccountId = request.getSourceAccountId();
+        String destAccountId = request.getDestinationAccountId();
+        BigDecimal amount = request.getAmount();
+        String authorization = RequestAuthorization.current();
+
+        logger.info("Virement (réactif) de {} vers {} pour montant {}",
+                transactionService.mask(sourceAccountId), transactionService.mask(destAccountId), amount);
+
+        if (sourceAccountId.equals(destAccountId)) {
+            return Mono.error(new IllegalArgumentException("Source et destination identiques"));
+        }
+
+        // Lectures lancées ici, sur le thread de la requête (jeton disponible) ; zip annule l'autre au premier échec
+        Mono<Optional<AccountSummary>> source = Mono.fromFuture(accountCache.findAsync(sourceAccountId));
+        Mono<Optional<AccountSummary>> destination = Mono.fromFuture(accountCache.findAsync(destAccountId));
+
+        return Mono.zip(source, destination)
+                .timeout(lookupTimeout)
+                .flatMap(accounts -> {
+                    if (accounts.getT1().isEmpty() || accounts.getT2().isEmpty()) {
+                        return Mono.error(new IllegalArgumentException("Compte(s) inexistant(s)"));
+                    }
+                    AccountSummary sourceAccount = accounts.getT1().get();
+                    velocityGuard.check("VIREMENT", sourceAccountId, sourceAccount.getClientId(), amount);
+                    DailyLimitService.Reservation reservation = dailyLimits.reserve(sourceAccountId,
+                            sourceAccount.getAccountType(), DailyLimitService.TRANSFER, amount);
+                    // Même saga que la voie bloquante (référence, reprise, compensation) ; ses appels et
+                    // écritures sont bloquants et s'exécutent sur le pool élastique
+                    return persist(() -> transactionService.runSaga(UUID.randomUUID().toString(),
+                            sourceAccountId, destAccountId, amount, authorization))
+                            .doOnError(e -> {
+                                // Issue inconnue : la saga reste ouverte, le montant reste compté
+                                if (!(e instanceof TransferPendingException)) {
+                                    dailyLimits.release(reservation);
+                                }
+                            });
+                })
+                .map(transactionService::buildTransferResponse);
+    }
+
+    private Mono<AccountSummary> requireActiveAccount(String accountId) {
+        return Mono.fromFuture(accountCache.findAsync(accountId))
+                .timeout(lookupTimeout)
+                .flatMap(account -> {
+                    if (account.isEmpty()) {
+                        return Mono.error(new IllegalArgumentException("Compte inexistant"));
+                    }
+                    if (!account.get().isActive()) {
+                        return Mono.error(new IllegalArgumentException("Compte inactif"));
+                    }
+                    return Mono.just(account.get());
+                });
+    }
+
+    // JDBC reste bloquant : les écritures sont déportées sur le pool élastique borné de Reactor
+    private Mono<Transaction> persist(Callable<Transaction> write) {
+        return Mono.fromCallable(write).subscribeOn(Schedulers.boundedElastic());
+    }
+}
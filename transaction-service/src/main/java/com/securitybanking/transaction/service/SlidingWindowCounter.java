@@ -0,0 +1,64 @@
+package com.securitybanking.transaction.service;
+
+import java.util.Arrays;
+
+/**
+ * Nombre et montant cumulé (en centimes) des opérations d'une clé sur une fenêtre glissante :
+ * anneau de compartiments de taille fixe, tableaux de primitifs, aucune allocation par opération.
+ * Un compartiment est réutilisé dès que son époque est sortie de la fenêtre.
+ */
+final class SlidingWindowCounter {
+
+    private final long[] epochs;
+    private final int[] counts;
+    private final long[] sums;
+
+    SlidingWindowCounter(int buckets) {
+        this.epochs = new long[buckets];
+        this.counts = new int[buckets];
+        this.sums = new long[buckets];
+        Arrays.fill(epochs, -1);
+    }
+
+    // epoch : numéro du compartiment courant (secondes / largeur d'un compartiment)
+    synchronized void add(long epoch, int count, long amountCents) {
+        int index = (int) (epoch % epochs.length);
+        if (epochs[index] != epoch) {
+            epochs[index] = epoch;
+            counts[index] = 0;
+            sums[index] = 0;
+        }
+        counts[index] += count;
+        sums[index] += amountCents;
+    }
+
+    // Retire une opération enregistrée à l'époque donnée (rejet après enregistrement)
+    synchronized void remove(long epoch, long amountCents) {
+        int index = (int) (epoch % epochs.length);
+        if (epochs[index] == epoch) {
+            counts[index]--;
+            sums[index] -= amountCents;
+        }
+    }
+
+    // Nombre d'opérations sur les `buckets` derniers compartiments, compartiment courant inclus
+    synchronized int count(long epoch, int buckets) {
+        int total = 0;
+        for (int i = 0; i < epochs.length; i++) {
+            if (epoch - epochs[i] < buckets && epochs[i] <= epoch) {
+                total += counts[i];
+            }
+        }
+        return total;
+    }
+
+    synchronized long sum(long epoch, int buckets) {
+        long total = 0;
+        for (int i = 0; i < epochs.length; i++) {
+            if (epoch - epochs[i] < buckets && epochs[i] <= epoch) {
+                total += sums[i];
+            }
+        }
+        return total;
+    }
+}
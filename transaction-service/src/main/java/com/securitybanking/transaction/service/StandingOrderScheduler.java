@@ -0,0 +1,239 @@
+package com.securitybanking.transaction.service;
+
+import com.securitybanking.transaction.FeignClient.RequestAuthorization;
+import com.securitybanking.transaction.config.ServiceTokenProvider;
+import com.securitybanking.transaction.dto.TransferRequest;
+import com.securitybanking.transaction.entity.StandingOrder;
+import com.securitybanking.transaction.entity.TransferSaga;
+import com.securitybanking.transaction.exception.DailyLimitExceededException;
+import com.securitybanking.transaction.exception.TransferPendingException;
+import com.securitybanking.transaction.repository.StandingOrderRepository;
+import com.securitybanking.transaction.repository.TransferSagaRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Exécute les échéances des ordres permanents. À chaque passage, les ordres échus sont réservés par lots
+ * dans l'ordre (next_run_at, id) avec SKIP LOCKED : plusieurs instances se partagent les échéances sans
+ * exécution en double. La réservation repousse next_run_at (bail) puis relâche les verrous ; les virements
+ * du lot passent ensuite par TransactionService.scheduledTransfer (sans règles de vélocité), en parallèle
+ * borné par standingOrderExecutor.
+ * Chaque échéance a sa propre référence de saga : une échéance rejouée après un bail expiré est reconnue.
+ */
+@Component
+public class StandingOrderScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(StandingOrderScheduler.class);
+
+    private final StandingOrderRepository orderRepository;
+    private final TransferSagaRepository sagaRepository;
+    private final StandingOrderService orderService;
+    private final TransactionService transactionService;
+    private final ServiceTokenProvider serviceToken;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor executor;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxPerTick;
+    private final long leaseMillis;
+    private final int maxAttempts;
+    private final long baseBackoffMillis;
+    private final long maxBackoffMillis;
+
+    public StandingOrderScheduler(StandingOrderRepository orderRepository,
+            TransferSagaRepository sagaRepository,
+            StandingOrderService orderService,
+            TransactionService transactionService,
+            ServiceTokenProvider serviceToken,
+            TransactionTemplate transactionTemplate,
+            @Qualifier("standingOrderExecutor") ThreadPoolTaskExecutor executor,
+            MeterRegistry meterRegistry,
+            @Value("${transaction.standing-orders.enabled:true}") boolean enabled,
+            @Value("${transaction.standing-orders.batch-size:200}") int batchSize,
+            @Value("${transaction.standing-orders.max-per-tick:5000}") int maxPerTick,
+            @Value("${transaction.standing-orders.lease-ms:120000}") long leaseMillis,
+            @Value("${transaction.standing-orders.max-attempts:5}") int maxAttempts,
+            @Value("${transaction.standing-orders.base-backoff-ms:60000}") long baseBackoffMillis,
+            @Value("${transaction.standing-orders.max-backoff-ms:3600000}") long maxBackoffMillis) {
+        this.orderRepository = orderRepository;
+        this.sagaRepository = sagaRepository;
+        this.orderService = orderService;
+        this.transactionService = transactionService;
+        this.serviceToken = serviceToken;
+        this.transactionTemplate = transactionTemplate;
+        this.executor = executor;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxPerTick = maxPerTick;
+        this.leaseMillis = leaseMillis;
+        this.maxAttempts = maxAttempts;
+        this.baseBackoffMillis = baseBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+    }
+
+    // Au plus max-per-tick échéances par passage : le thread de planification est rendu régulièrement
+    // (pool spring.task.scheduling, les autres tâches ont leurs propres threads) ; le reste part au passage suivant
+    @Scheduled(fixedDelayString = "${transaction.standing-orders.poll-interval-ms:5000}")
+    public void runDueOrders() {
+        if (!enabled) {
+            return;
+        }
+        int processed = 0;
+        List<StandingOrder> batch;
+        do {
+            batch = claim();
+            runBatch(batch);
+            processed += batch.size();
+        } while (batch.size() == batchSize && processed < maxPerTick);
+
+        if (processed > 0) {
+            logger.info("{} échéance(s) d'ordres permanents traitée(s)", processed);
+        }
+    }
+
+    // Réservation courte : next_run_at est repoussé de la durée du bail avant de relâcher les verrous ;
+    // les ordres réservés sortent ainsi de la plage échue pour les autres instances
+    private List<StandingOrder> claim() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<StandingOrder> due = orderRepository.claimDue(now, PageRequest.of(0, batchSize));
+            for (StandingOrder order : due) {
+                order.setNextRunAt(now.plusNanos(leaseMillis * 1_000_000));
+                order.setUpdatedAt(now);
+            }
+            return orderRepository.saveAll(due);
+        });
+    }
+
+    // Le lot entier est soumis au pool (file dimensionnée au lot) puis attendu avant la réservation suivante
+    private void runBatch(List<StandingOrder> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        String authorization = serviceToken.authorization();
+        CompletableFuture<?>[] runs = batch.stream()
+                .map(order -> CompletableFuture.runAsync(
+                        () -> RequestAuthorization.callAs(authorization, () -> execute(order)), executor))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(runs).exceptionally(e -> null).join();
+    }
+
+    private Void execute(StandingOrder order) {
+        String reference = order.occurrenceReference();
+        try {
+            // Échéance déjà déclenchée (bail expiré pendant l'exécution, instance arrêtée) : pas de second virement
+            Optional<TransferSaga> previous = sagaRepository.findById(reference);
+            if (previous.isEmpty()) {
+                try {
+                    transactionService.scheduledTransfer(toTransferRequest(order), reference);
+                    complete(order, reference, null, "executed");
+                    return null;
+                } catch (TransferPendingException e) {
+                    // La saga termine ou compense le virement en arrière-plan
+                    complete(order, reference, "Virement " + reference + " en attente de confirmation", "pending");
+                    return null;
+                } catch (IllegalArgumentException | DailyLimitExceededException e) {
+                    reject(order, reference, e.getMessage());
+                    return null;
+                } catch (RuntimeException e) {
+                    previous = sagaRepository.findById(reference);
+                    if (previous.isEmpty()) {
+                        retry(order, e);
+                        return null;
+                    }
+                }
+            }
+
+            TransferSaga saga = previous.get();
+            if (TransferSaga.STATUS_FAILED.equals(saga.getStatus())
+                    || TransferSaga.STATUS_COMPENSATED.equals(saga.getStatus())) {
+                reject(order, reference, saga.getLastError());
+            } else {
+                complete(order, reference, null, "executed");
+            }
+        } catch (OptimisticLockingFailureException e) {
+            // Ordre annulé ou repris par une autre instance entre-temps
+            logger.warn("Ordre permanent {} modifié pendant son exécution : {}", order.getId(), e.getMessage());
+        } catch (RuntimeException e) {
+            logger.error("Échéance {} de l'ordre permanent {} non traitée : {}",
+                    order.getOccurrence(), order.getId(), e.getMessage());
+        }
+        return null;
+    }
+
+    // Échéance faite : passage à la suivante, ou fin de l'ordre
+    private void complete(StandingOrder order, String reference, String note, String outcome) {
+        order.setLastError(TransactionService.truncate(note));
+        advance(order, reference, StandingOrder.STATUS_COMPLETED);
+        meterRegistry.counter("transaction.standing-orders.executions", "outcome", outcome).increment();
+    }
+
+    // Rejet métier (compte inexistant ou inactif, solde, plafonds) : l'échéance est sautée ;
+    // un virement différé unique échoue définitivement
+    private void reject(StandingOrder order, String reference, String reason) {
+        logger.warn("Échéance {} de l'ordre permanent {} rejetée : {}", order.getOccurrence(), order.getId(), reason);
+        order.setLastError(TransactionService.truncate(reason));
+        advance(order, reference, StandingOrder.STATUS_FAILED);
+        meterRegistry.counter("transaction.standing-orders.executions", "outcome", "rejected").increment();
+    }
+
+    private void advance(StandingOrder order, String reference, String finalStatus) {
+        LocalDateTime now = LocalDateTime.now();
+        int next = order.getOccurrence() + 1;
+        order.setLastReference(reference);
+        order.setAttempts(0);
+        order.setUpdatedAt(now);
+
+        if (StandingOrder.FREQUENCY_ONCE.equals(order.getFrequency())) {
+            order.setStatus(finalStatus);
+        } else if (order.getEndAt() != null && order.occurrenceAt(next).isAfter(order.getEndAt())) {
+            order.setStatus(StandingOrder.STATUS_COMPLETED);
+        } else {
+            order.setOccurrence(next);
+            order.setOccurrenceAt(order.occurrenceAt(next));
+            order.setNextRunAt(orderService.plannedRunAt(order));
+        }
+        orderRepository.save(order);
+    }
+
+    // Erreur technique (account-service indisponible...) : même échéance, nouvel essai après un délai croissant
+    private void retry(StandingOrder order, RuntimeException cause) {
+        int attempts = order.getAttempts() + 1;
+        if (attempts >= maxAttempts) {
+            reject(order, order.occurrenceReference(), cause.getMessage());
+            return;
+        }
+        long delay = Math.min(maxBackoffMillis, baseBackoffMillis << Math.min(attempts - 1, 20));
+        order.setAttempts(attempts);
+        order.setNextRunAt(LocalDateTime.now().plusNanos(delay * 1_000_000));
+        order.setLastError(TransactionService.truncate(cause.getMessage()));
+        order.setUpdatedAt(LocalDateTime.now());
+        orderRepository.save(order);
+        logger.warn("Échec de l'échéance {} de l'ordre permanent {} (tentative {}), nouvel essai dans {} ms",
+                order.getOccurrence(), order.getId(), attempts, delay);
+    }
+
+    private TransferRequest toTransferRequest(StandingOrder order) {
+        TransferRequest request = new TransferRequest();
+        request.setSourceAccountId(order.getSourceAccountId());
+        request.setDestinationAccountId(order.getDestinationAccountId());
+        request.setAmount(order.getAmount());
+        return request;
+    }
+}
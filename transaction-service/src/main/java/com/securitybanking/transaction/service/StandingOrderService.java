@@ -0,0 +1,166 @@
+package com.securitybanking.transaction.service;
+
+import com.securitybanking.transaction.FeignClient.AccountClient;
+import com.securitybanking.transaction.dto.StandingOrderRequest;
+import com.securitybanking.transaction.dto.StandingOrderResponse;
+import com.securitybanking.transaction.entity.StandingOrder;
+import com.securitybanking.transaction.repository.StandingOrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import feign.FeignException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Création, consultation et annulation des ordres de virement différés et permanents ;
+ * l'exécution des échéances est faite par StandingOrderScheduler.
+ */
+@Service
+public class StandingOrderService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StandingOrderService.class);
+
+    private static final Set<String> FREQUENCIES = Set.of(StandingOrder.FREQUENCY_ONCE,
+            StandingOrder.FREQUENCY_DAILY, StandingOrder.FREQUENCY_WEEKLY, StandingOrder.FREQUENCY_MONTHLY);
+
+    private static final Set<String> STAFF_ROLES = Set.of("ROLE_EMPLOYEE", "ROLE_ADMIN");
+
+    private final StandingOrderRepository orderRepository;
+    private final AccountClient accountClient;
+    private final int spreadSeconds;
+
+    public StandingOrderService(StandingOrderRepository orderRepository,
+            AccountClient accountClient,
+            @Value("${transaction.standing-orders.spread-seconds:3600}") int spreadSeconds) {
+        this.orderRepository = orderRepository;
+        this.accountClient = accountClient;
+        this.spreadSeconds = spreadSeconds;
+    }
+
+    @Transactional
+    public StandingOrderResponse create(StandingOrderRequest request, Authentication authentication) {
+        BigDecimal amount = request.getAmount();
+        if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("Montant invalide");
+        }
+        if (request.getSourceAccountId() == null || request.getDestinationAccountId() == null) {
+            throw new IllegalArgumentException("Comptes source et destination obligatoires");
+        }
+        if (request.getSourceAccountId().equals(request.getDestinationAccountId())) {
+            throw new IllegalArgumentException("Source et destination identiques");
+        }
+        // Les échéances partent avec le jeton de service : seul le titulaire du compte source peut les programmer
+        requireOwner(request.getSourceAccountId(), authentication);
+        String frequency = request.getFrequency() == null
+                ? StandingOrder.FREQUENCY_ONCE
+                : request.getFrequency().toUpperCase(Locale.ROOT);
+        if (!FREQUENCIES.contains(frequency)) {
+            throw new IllegalArgumentException("Fréquence invalide : " + request.getFrequency());
+        }
+        LocalDate startDate = request.getStartDate() == null ? LocalDate.now() : request.getStartDate();
+        if (startDate.isBefore(LocalDate.now())) {
+            throw new IllegalArgumentException("Date de début dans le passé");
+        }
+        LocalDate endDate = StandingOrder.FREQUENCY_ONCE.equals(frequency) ? null : request.getEndDate();
+        if (endDate != null && endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("Date de fin antérieure à la date de début");
+        }
+
+        StandingOrder order = orderRepository.save(new StandingOrder(request.getSourceAccountId(),
+                request.getDestinationAccountId(), amount, frequency, startDate.atStartOfDay(),
+                endDate == null ? null : endDate.atStartOfDay(), authentication.getName()));
+        // L'identifiant (et donc le décalage) n'est connu qu'après l'INSERT
+        order.setNextRunAt(plannedRunAt(order));
+
+        logger.info("Ordre permanent {} créé ({}, premier passage {})", order.getId(), frequency, order.getNextRunAt());
+        return toResponse(order);
+    }
+
+    @Transactional(readOnly = true)
+    public List<StandingOrderResponse> findBySourceAccount(String accountId, Authentication authentication) {
+        requireOwner(accountId, authentication);
+        return orderRepository.findBySourceAccountIdOrderByIdDesc(accountId).stream()
+                .map(this::toResponse)
+                .toList();
+    }
+
+    @Transactional
+    public StandingOrderResponse cancel(Long id, Authentication authentication) {
+        StandingOrder order = orderRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Ordre permanent introuvable"));
+        requireOwner(order.getSourceAccountId(), authentication);
+        if (!StandingOrder.STATUS_ACTIVE.equals(order.getStatus())) {
+            throw new IllegalStateException("Ordre permanent déjà " + order.getStatus());
+        }
+        order.setStatus(StandingOrder.STATUS_CANCELLED);
+        order.setUpdatedAt(LocalDateTime.now());
+        return toResponse(order);
+    }
+
+    // Titulaire du compte (e-mail du client = sujet du jeton) ; les rôles EMPLOYEE et ADMIN agissent pour le client
+    private void requireOwner(String accountId, Authentication authentication) {
+        if (authentication == null) {
+            throw new AccessDeniedException("Compte non autorisé");
+        }
+        boolean staff = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .anyMatch(STAFF_ROLES::contains);
+        if (staff) {
+            return;
+        }
+        String owner;
+        try {
+            owner = accountClient.getClientByAccountNumber(accountId);
+        } catch (FeignException.NotFound e) {
+            throw new IllegalArgumentException("Compte inexistant");
+        }
+        if (owner == null || !owner.equalsIgnoreCase(authentication.getName())) {
+            logger.warn("Accès refusé à {} sur les ordres permanents du compte {}", authentication.getName(),
+                    mask(accountId));
+            throw new AccessDeniedException("Compte non autorisé");
+        }
+    }
+
+    // Les échéances tombent toutes à minuit : chaque ordre passe avec un décalage fixe dérivé de son
+    // identifiant, réparti sur spread-seconds, au lieu que toutes les instances les réservent à 00:00
+    LocalDateTime plannedRunAt(StandingOrder order) {
+        if (spreadSeconds <= 0) {
+            return order.getOccurrenceAt();
+        }
+        long offset = Math.floorMod(order.getId() * 0x9E3779B97F4A7C15L >>> 16, spreadSeconds);
+        return order.getOccurrenceAt().plusSeconds(offset);
+    }
+
+    StandingOrderResponse toResponse(StandingOrder order) {
+        StandingOrderResponse response = new StandingOrderResponse();
+        response.setId(order.getId());
+        response.setSourceAccountId(order.getSourceAccountId());
+        response.setDestinationAccountId(order.getDestinationAccountId());
+        response.setAmount(order.getAmount());
+        response.setFrequency(order.getFrequency());
+        response.setStartAt(order.getStartAt());
+        response.setEndAt(order.getEndAt());
+        response.setNextOccurrenceAt(StandingOrder.STATUS_ACTIVE.equals(order.getStatus())
+                ? order.getOccurrenceAt() : null);
+        response.setStatus(order.getStatus());
+        response.setLastError(order.getLastError());
+        response.setLastReference(order.getLastReference());
+        response.setCreatedAt(order.getCreatedAt());
+        return response;
+    }
+
+    private String mask(String accountId) {
+        return accountId == null || accountId.length() < 4 ? "****" : "****" + accountId.substring(accountId.length() - 4);
+    }
+}
@@ -0,0 +1,130 @@
+package com.securitybanking.transaction.service;
+
+import com.securitybanking.transaction.config.ServiceTokenProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Génération des relevés de fin de mois : un fichier par compte ayant eu des opérations
+ * sur la période, écrit en flux par {@link StatementExportService}. Désactivé par défaut
+ * (transaction.statements.cron = "-"). L'export, long, tourne sur statementExportExecutor :
+ * le thread de planification reste libre pour la reprise des sagas et le relais des notifications.
+ */
+@Component
+public class StatementExportJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatementExportJob.class);
+
+    private static final String ACTIVE_ACCOUNTS_SQL =
+            "SELECT source_account_id FROM transactions "
+                    + "WHERE source_account_id IS NOT NULL AND transaction_date >= ? AND transaction_date < ? "
+                    + "UNION "
+                    + "SELECT destination_account_id FROM transactions "
+                    + "WHERE destination_account_id IS NOT NULL AND transaction_date >= ? AND transaction_date < ?";
+
+    private static final int ACCOUNT_BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StatementExportService exportService;
+    private final ServiceTokenProvider serviceToken;
+    private final ThreadPoolTaskExecutor executor;
+    private final Path outputDirectory;
+    private final StatementExportService.Format format;
+
+    public StatementExportJob(JdbcTemplate jdbcTemplate,
+            StatementExportService exportService,
+            ServiceTokenProvider serviceToken,
+            @Qualifier("statementExportExecutor") ThreadPoolTaskExecutor executor,
+            @Value("${transaction.statements.output-dir:statements}") String outputDirectory,
+            @Value("${transaction.statements.format:CSV}") StatementExportService.Format format) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.exportService = exportService;
+        this.serviceToken = serviceToken;
+        this.executor = executor;
+        this.outputDirectory = Paths.get(outputDirectory);
+        this.format = format;
+    }
+
+    @Scheduled(cron = "${transaction.statements.cron:-}")
+    public void exportPreviousMonth() {
+        YearMonth month = YearMonth.now().minusMonths(1);
+        try {
+            executor.execute(() -> exportMonth(month));
+        } catch (TaskRejectedException e) {
+            logger.warn("Export des relevés de {} non lancé : un export est déjà en cours", month);
+        }
+    }
+
+    public void exportMonth(YearMonth month) {
+        LocalDateTime from = month.atDay(1).atStartOfDay();
+        LocalDateTime to = month.plusMonths(1).atDay(1).atStartOfDay();
+        Path directory = outputDirectory.resolve(month.toString());
+        long start = System.currentTimeMillis();
+
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            logger.error("Impossible de créer le dossier des relevés {} : {}", directory, e.getMessage());
+            return;
+        }
+
+        // La liste des comptes est lue en flux et traitée par lots pour ne jamais la garder entière
+        List<String> batch = new ArrayList<>(ACCOUNT_BATCH_SIZE);
+        long[] exported = { 0 };
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(ACTIVE_ACCOUNTS_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(Integer.MIN_VALUE);
+            ps.setTimestamp(1, Timestamp.valueOf(from));
+            ps.setTimestamp(2, Timestamp.valueOf(to));
+            ps.setTimestamp(3, Timestamp.valueOf(from));
+            ps.setTimestamp(4, Timestamp.valueOf(to));
+            return ps;
+        }, (RowCallbackHandler) rs -> {
+            batch.add(rs.getString(1));
+            if (batch.size() == ACCOUNT_BATCH_SIZE) {
+                exported[0] += exportBatch(batch, from, to, directory);
+            }
+        });
+        exported[0] += exportBatch(batch, from, to, directory);
+
+        logger.info("{} relevés générés pour {} en {} ms", exported[0], month, System.currentTimeMillis() - start);
+    }
+
+    private int exportBatch(List<String> accounts, LocalDateTime from, LocalDateTime to, Path directory) {
+        int count = 0;
+        String extension = format == StatementExportService.Format.BINARY ? ".bin" : ".csv";
+        for (String account : accounts) {
+            Path file = directory.resolve(account + extension);
+            try (OutputStream out = Files.newOutputStream(file)) {
+                exportService.writeStatement(serviceToken.authorization(), account, from, to, format, out);
+                count++;
+            } catch (IOException | RuntimeException e) {
+                logger.error("Échec du relevé pour le compte {} : {}", account, e.getMessage());
+            }
+        }
+        accounts.clear();
+        return count;
+    }
+}
@@ -0,0 +1,245 @@
+package com.securitybanking.transaction.service;
+
+import com.securitybanking.transaction.FeignClient.AccountClient;
+import com.securitybanking.transaction.dto.AccountBalance;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Relevés de compte en flux : les lignes sont lues avec un curseur JDBC en avant seulement
+ * et écrites directement dans le flux de sortie, sans matérialiser d'entités Transaction.
+ * Le solde d'ouverture part du solde courant d'account-service, diminué des mouvements du grand
+ * livre depuis le début de la période : dépôt initial, captures de réservations et corrections
+ * antérieures sont ainsi comptés, et seule la plage [début, maintenant] est lue. Le solde de
+ * clôture s'en déduit ligne à ligne.
+ */
+@Service
+public class StatementExportService {
+
+    public enum Format {
+        CSV, BINARY
+    }
+
+    // En-tête du format binaire : "BKST" + version
+    private static final byte[] BINARY_MAGIC = { 'B', 'K', 'S', 'T' };
+    private static final byte BINARY_VERSION = 1;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // Mouvements nets depuis une date ; parcours de plage sur idx_tx_destination_date_id / idx_tx_source_date_id
+    private static final String NET_MOVEMENTS_SINCE_SQL =
+            "SELECT (SELECT COALESCE(SUM(amount), 0) FROM transactions "
+                    + "        WHERE destination_account_id = ? AND transaction_date >= ?) "
+                    + "     - (SELECT COALESCE(SUM(amount), 0) FROM transactions "
+                    + "        WHERE source_account_id = ? AND transaction_date >= ?)";
+
+    // Une branche par index composite (idx_tx_source_date_id / idx_tx_destination_date_id)
+    private static final String STATEMENT_SQL =
+            "SELECT id, type, source_account_id, destination_account_id, amount, transaction_date "
+                    + "FROM transactions WHERE source_account_id = ? "
+                    + "AND transaction_date >= ? AND transaction_date < ? "
+                    + "UNION ALL "
+                    + "SELECT id, type, source_account_id, destination_account_id, amount, transaction_date "
+                    + "FROM transactions WHERE destination_account_id = ? "
+                    + "AND transaction_date >= ? AND transaction_date < ? "
+                    + "ORDER BY transaction_date, id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AccountClient accountClient;
+
+    public StatementExportService(JdbcTemplate jdbcTemplate, AccountClient accountClient) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.accountClient = accountClient;
+    }
+
+    // authorization : jeton transmis à account-service pour la lecture du solde courant
+    public void writeStatement(String authorization, String accountNumber, LocalDateTime from, LocalDateTime to,
+            Format format, OutputStream target) throws IOException {
+        BigDecimal opening = openingBalance(authorization, accountNumber, from);
+        StatementWriter writer = format == Format.BINARY
+                ? new BinaryStatementWriter(target)
+                : new CsvStatementWriter(target);
+
+        writer.begin(accountNumber, from, to, opening);
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(STATEMENT_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            // Integer.MIN_VALUE : le pilote MySQL diffuse les lignes une à une
+            ps.setFetchSize(Integer.MIN_VALUE);
+            ps.setString(1, accountNumber);
+            ps.setTimestamp(2, Timestamp.valueOf(from));
+            ps.setTimestamp(3, Timestamp.valueOf(to));
+            ps.setString(4, accountNumber);
+            ps.setTimestamp(5, Timestamp.valueOf(from));
+            ps.setTimestamp(6, Timestamp.valueOf(to));
+            return ps;
+        }, (RowCallbackHandler) rs -> {
+            try {
+                writer.row(rs);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.end();
+    }
+
+    // Solde courant moins les mouvements enregistrés depuis from. Une opération enregistrée entre les
+    // deux lectures décale le résultat de son montant ; les écritures faites directement dans
+    // account-service après from restent attribuées à la période précédente
+    private BigDecimal openingBalance(String authorization, String accountNumber, LocalDateTime from) {
+        AccountBalance account = accountClient.getAccountBalance(authorization, accountNumber);
+        BigDecimal current = account == null || account.getBalance() == null ? BigDecimal.ZERO : account.getBalance();
+        BigDecimal since = jdbcTemplate.queryForObject(NET_MOVEMENTS_SINCE_SQL, BigDecimal.class,
+                accountNumber, Timestamp.valueOf(from), accountNumber, Timestamp.valueOf(from));
+        return current.subtract(since == null ? BigDecimal.ZERO : since);
+    }
+
+    private abstract static class StatementWriter {
+        protected String accountNumber;
+        protected BigDecimal balance;
+        protected long count;
+
+        void begin(String accountNumber, LocalDateTime from, LocalDateTime to, BigDecimal opening)
+                throws IOException {
+            this.accountNumber = accountNumber;
+            this.balance = opening;
+        }
+
+        void row(ResultSet rs) throws SQLException, IOException {
+            long id = rs.getLong(1);
+            String type = rs.getString(2);
+            String source = rs.getString(3);
+            String destination = rs.getString(4);
+            BigDecimal amount = rs.getBigDecimal(5);
+            LocalDateTime date = rs.getTimestamp(6).toLocalDateTime();
+
+            boolean debit = accountNumber.equals(source);
+            balance = debit ? balance.subtract(amount) : balance.add(amount);
+            count++;
+            write(id, type, debit, debit ? destination : source, amount, date);
+        }
+
+        abstract void write(long id, String type, boolean debit, String counterpart, BigDecimal amount,
+                LocalDateTime date) throws IOException;
+
+        abstract void end() throws IOException;
+    }
+
+    private static final class CsvStatementWriter extends StatementWriter {
+        private final OutputStream out;
+        private final StringBuilder line = new StringBuilder(128);
+
+        CsvStatementWriter(OutputStream target) {
+            this.out = new BufferedOutputStream(target, BUFFER_SIZE);
+        }
+
+        @Override
+        void begin(String accountNumber, LocalDateTime from, LocalDateTime to, BigDecimal opening)
+                throws IOException {
+            super.begin(accountNumber, from, to, opening);
+            emit("# compte," + accountNumber + ",du," + from + ",au," + to);
+            emit("# solde_ouverture," + opening.toPlainString());
+            emit("id,date,type,sens,contrepartie,montant,solde");
+        }
+
+        @Override
+        void write(long id, String type, boolean debit, String counterpart, BigDecimal amount,
+                LocalDateTime date) throws IOException {
+            line.setLength(0);
+            line.append(id).append(',')
+                    .append(date).append(',')
+                    .append(type == null ? "" : type).append(',')
+                    .append(debit ? "DEBIT" : "CREDIT").append(',')
+                    .append(counterpart == null ? "" : counterpart).append(',')
+                    .append(amount.toPlainString()).append(',')
+                    .append(balance.toPlainString());
+            emit(line);
+        }
+
+        @Override
+        void end() throws IOException {
+            emit("# solde_cloture," + balance.toPlainString() + ",operations," + count);
+            out.flush();
+        }
+
+        private void emit(CharSequence text) throws IOException {
+            out.write(text.toString().getBytes(StandardCharsets.UTF_8));
+            out.write('\n');
+        }
+    }
+
+    /**
+     * Format binaire compact : en-tête (magic, version, compte, solde d'ouverture), puis pour
+     * chaque opération un enregistrement préfixé par sa longueur (short), puis un marqueur de
+     * fin (longueur 0) suivi du nombre d'opérations et du solde de clôture.
+     * Les montants sont des centimes (long), les dates des millisecondes epoch UTC.
+     */
+    private static final class BinaryStatementWriter extends StatementWriter {
+        private final DataOutputStream out;
+        private final ByteArrayOutputStream recordBytes = new ByteArrayOutputStream(64);
+        private final DataOutputStream record = new DataOutputStream(recordBytes);
+
+        BinaryStatementWriter(OutputStream target) {
+            this.out = new DataOutputStream(new BufferedOutputStream(target, BUFFER_SIZE));
+        }
+
+        @Override
+        void begin(String accountNumber, LocalDateTime from, LocalDateTime to, BigDecimal opening)
+                throws IOException {
+            super.begin(accountNumber, from, to, opening);
+            out.write(BINARY_MAGIC);
+            out.writeByte(BINARY_VERSION);
+            out.writeUTF(accountNumber);
+            out.writeLong(epochMillis(from));
+            out.writeLong(epochMillis(to));
+            out.writeLong(cents(opening));
+        }
+
+        @Override
+        void write(long id, String type, boolean debit, String counterpart, BigDecimal amount,
+                LocalDateTime date) throws IOException {
+            recordBytes.reset();
+            record.writeLong(id);
+            record.writeLong(epochMillis(date));
+            record.writeUTF(type == null ? "" : type);
+            record.writeBoolean(debit);
+            record.writeUTF(counterpart == null ? "" : counterpart);
+            record.writeLong(cents(amount));
+            record.flush();
+            out.writeShort(recordBytes.size());
+            recordBytes.writeTo(out);
+        }
+
+        @Override
+        void end() throws IOException {
+            out.writeShort(0);
+            out.writeLong(count);
+            out.writeLong(cents(balance));
+            out.flush();
+        }
+
+        private static long epochMillis(LocalDateTime date) {
+            return date.toInstant(ZoneOffset.UTC).toEpochMilli();
+        }
+
+        private static long cents(BigDecimal value) {
+            return value.setScale(2, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.securitybanking.transaction.service;
+
+import com.securitybanking.transaction.dto.TransactionHistoryFilter;
+import com.securitybanking.transaction.dto.TransactionHistoryItem;
+import com.securitybanking.transaction.dto.TransactionHistoryPage;
+import com.securitybanking.transaction.entity.Transaction;
+import com.securitybanking.transaction.repository.TransactionRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Historique d'un compte en pagination par clé : chaque page lit au plus (limite + 1) lignes
+ * sur l'index des débits et sur celui des crédits, puis fusionne les deux flux triés.
+ */
+@Service
+public class TransactionHistoryService {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+
+    private static final Comparator<Transaction> NEWEST_FIRST = Comparator
+            .comparing(Transaction::getTransactionDate, Comparator.reverseOrder())
+            .thenComparing(Transaction::getId, Comparator.reverseOrder());
+
+    private final TransactionRepository transactionRepository;
+
+    public TransactionHistoryService(TransactionRepository transactionRepository) {
+        this.transactionRepository = transactionRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public TransactionHistoryPage getAccountHistory(String accountNumber, TransactionHistoryFilter filter,
+            String cursor, Integer limit) {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        Pageable window = PageRequest.of(0, pageSize + 1);
+
+        LocalDateTime afterDate = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = decodeCursor(cursor);
+            try {
+                afterDate = LocalDateTime.parse(parts[0]);
+                afterId = Long.valueOf(parts[1]);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Curseur invalide");
+            }
+        }
+
+        List<Transaction> outgoing = transactionRepository.findOutgoingPage(accountNumber, filter.getType(),
+                filter.getFrom(), filter.getTo(), filter.getMinAmount(), filter.getMaxAmount(),
+                afterDate, afterId, window);
+        List<Transaction> incoming = transactionRepository.findIncomingPage(accountNumber, filter.getType(),
+                filter.getFrom(), filter.getTo(), filter.getMinAmount(), filter.getMaxAmount(),
+                afterDate, afterId, window);
+
+        List<Transaction> merged = new ArrayList<>(outgoing.size() + incoming.size());
+        merged.addAll(outgoing);
+        merged.addAll(incoming);
+        merged.sort(NEWEST_FIRST);
+
+        boolean hasMore = merged.size() > pageSize;
+        List<Transaction> page = hasMore ? merged.subList(0, pageSize) : merged;
+
+        List<TransactionHistoryItem> items = new ArrayList<>(page.size());
+        for (Transaction tx : page) {
+            items.add(toItem(tx, accountNumber));
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            Transaction last = page.get(page.size() - 1);
+            nextCursor = encodeCursor(last.getTransactionDate(), last.getId());
+        }
+        return new TransactionHistoryPage(items, nextCursor);
+    }
+
+    private TransactionHistoryItem toItem(Transaction tx, String accountNumber) {
+        TransactionHistoryItem item = new TransactionHistoryItem();
+        item.setId(tx.getId());
+        item.setType(tx.getType());
+        item.setDirection(accountNumber.equals(tx.getSourceAccountId()) ? "DEBIT" : "CREDIT");
+        item.setSourceAccountId(tx.getSourceAccountId());
+        item.setDestinationAccountId(tx.getDestinationAccountId());
+        item.setAmount(tx.getAmount());
+        item.setTransactionDate(tx.getTransactionDate());
+        return item;
+    }
+
+    private String encodeCursor(LocalDateTime date, Long id) {
+        String raw = date + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Curseur invalide");
+            }
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Curseur invalide");
+        }
+    }
+}
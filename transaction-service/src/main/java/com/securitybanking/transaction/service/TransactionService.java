@@ -1,17 +1,34 @@
 package com.securitybanking.transaction.service;
 
 import com.securitybanking.transaction.dto.*;
+import com.securitybanking.transaction.entity.NotificationOutbox;
 import com.securitybanking.transaction.entity.Transaction;
+import com.securitybanking.transaction.entity.TransferSaga;
+import com.securitybanking.transaction.exception.TransferPendingException;
+import com.securitybanking.transaction.repository.NotificationOutboxRepository;
 import com.securitybanking.transaction.repository.TransactionRepository;
+import com.securitybanking.transaction.repository.TransferSagaRepository;
 import com.securitybanking.transaction.FeignClient.AccountClient;
-import com.securitybanking.transaction.FeignClient.NotificationClient;
 
+import feign.FeignException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Service
 public class TransactionService {
@@ -20,14 +37,38 @@ public class TransactionService {
 
     private final TransactionRepository transactionRepository;
     private final AccountClient accountClient;
-    private final NotificationClient notificationClient;
+    private final NotificationOutboxRepository outboxRepository;
+    private final AccountLockManager accountLocks;
+    private final TransactionTemplate transactionTemplate;
+    private final AccountNearCache accountCache;
+    private final TransferSagaRepository sagaRepository;
+    private final VelocityGuard velocityGuard;
+    private final DailyLimitService dailyLimits;
+    private final long lookupTimeoutMs;
+    private final long sagaStaleAfterMs;
 
     public TransactionService(TransactionRepository transactionRepository,
             AccountClient accountClient,
-            NotificationClient notificationClient) {
+            NotificationOutboxRepository outboxRepository,
+            AccountLockManager accountLocks,
+            TransactionTemplate transactionTemplate,
+            AccountNearCache accountCache,
+            TransferSagaRepository sagaRepository,
+            VelocityGuard velocityGuard,
+            DailyLimitService dailyLimits,
+            @Value("${transaction.account-lookup.timeout-ms:3000}") long lookupTimeoutMs,
+            @Value("${transaction.saga.stale-after-ms:30000}") long sagaStaleAfterMs) {
         this.transactionRepository = transactionRepository;
         this.accountClient = accountClient;
-        this.notificationClient = notificationClient;
+        this.outboxRepository = outboxRepository;
+        this.accountLocks = accountLocks;
+        this.transactionTemplate = transactionTemplate;
+        this.accountCache = accountCache;
+        this.sagaRepository = sagaRepository;
+        this.velocityGuard = velocityGuard;
+        this.dailyLimits = dailyLimits;
+        this.lookupTimeoutMs = lookupTimeoutMs;
+        this.sagaStaleAfterMs = sagaStaleAfterMs;
     }
 
     // Dépôt
@@ -37,11 +78,10 @@ public class TransactionService {
 
         logger.info("Dépôt sur compte {} montant {}", mask(accountId), request.getAmount());
 
-        if (!accountClient.accountExists(accountId)) {
-            throw new IllegalArgumentException("Compte inexistant");
-        }
+        AccountSummary account = requireActiveAccount(accountId);
+        velocityGuard.check("DEPOT", accountId, account.getClientId(), request.getAmount());
 
-        accountClient.updateBalance(accountId, request.getAmount());
+        accountLocks.withAccountLock(accountId, () -> accountClient.updateBalance(accountId, request.getAmount()));
 
         Transaction tx = saveTransaction(null, accountId, request.getAmount(), "DEPOT");
 
@@ -55,24 +95,71 @@ public class TransactionService {
 
         logger.info("Retrait sur compte {} montant {}", mask(accountId), request.getAmount());
 
-        if (!accountClient.accountExists(accountId)) {
-            throw new IllegalArgumentException("Compte inexistant");
-        }
+        AccountSummary account = requireActiveAccount(accountId);
+        velocityGuard.check("RETRAIT", accountId, account.getClientId(), request.getAmount());
+        DailyLimitService.Reservation reservation = dailyLimits.reserve(accountId, account.getAccountType(),
+                DailyLimitService.WITHDRAWAL, request.getAmount());
 
-        if (!accountClient.hasSufficientBalance(accountId, request.getAmount())) {
-            logger.warn("Solde insuffisant pour {}", mask(accountId));
-            throw new RuntimeException("Solde insuffisant");
+        // Le contrôle de solde et le débit doivent s'exécuter sans entrelacement sur ce compte
+        try {
+            accountLocks.withAccountLock(accountId, () -> {
+                if (!accountClient.hasSufficientBalance(accountId, request.getAmount())) {
+                    logger.warn("Solde insuffisant pour {}", mask(accountId));
+                    throw new RuntimeException("Solde insuffisant");
+                }
+
+                return accountClient.updateBalance(accountId, request.getAmount().negate());
+            });
+        } catch (FeignException e) {
+            // Délai dépassé ou erreur serveur : le débit a pu être appliqué, la réservation est conservée
+            if (e.status() >= 400 && e.status() < 500) {
+                dailyLimits.release(reservation);
+            }
+            throw e;
+        } catch (RuntimeException e) {
+            dailyLimits.release(reservation);
+            throw e;
         }
 
-        accountClient.updateBalance(accountId, request.getAmount().negate());
-
-        Transaction tx = saveTransaction(accountId, null, request.getAmount(), "RETRAIT");
+        Transaction tx = saveWithdrawal(accountId, request.getAmount());
 
         return buildWithdrawResponse(tx);
     }
 
     // Virement
     public TransferResponse transfer(TransferRequest request) {
+        return transfer(request, UUID.randomUUID().toString(), true);
+    }
+
+    // Virement sous une référence dérivée de la clé d'idempotence : une référence déjà connue n'est pas rejouée
+    public TransferResponse transfer(TransferRequest request, String reference) {
+        return transfer(request, reference, true);
+    }
+
+    /**
+     * Issue du virement d'une référence : réponse si la saga est enregistrée, rien si elle est inconnue.
+     * Lève TransferPendingException si elle est encore ouverte, IllegalStateException si elle est close
+     * sans effet (compensée ou rejetée).
+     */
+    public Optional<TransferResponse> transferOutcome(String reference) {
+        return sagaRepository.findById(reference).map(saga -> switch (saga.getStatus()) {
+            case TransferSaga.STATUS_RECORDED -> buildTransferResponse(
+                    transactionRepository.findById(saga.getTransactionId()).orElseThrow());
+            case TransferSaga.STATUS_COMPENSATED -> throw new IllegalStateException("Virement annulé");
+            case TransferSaga.STATUS_FAILED -> throw new IllegalStateException("Virement refusé : "
+                    + saga.getLastError());
+            default -> throw new TransferPendingException(reference, null);
+        });
+    }
+
+    // Échéance d'ordre permanent, sous la référence de l'échéance. Les règles de vélocité visent les rafales
+    // d'opérations initiées par le client : elles ne s'appliquent pas aux échéances, que le planificateur
+    // exécute en lot pour un même compte ; le plafond journalier reste appliqué
+    public TransferResponse scheduledTransfer(TransferRequest request, String reference) {
+        return transfer(request, reference, false);
+    }
+
+    private TransferResponse transfer(TransferRequest request, String reference, boolean checkVelocity) {
         validateAmount(request.getAmount());
         String sourceAccountId = request.getSourceAccountId();
         String destAccountId = request.getDestinationAccountId();
@@ -84,60 +171,246 @@ public class TransactionService {
             throw new IllegalArgumentException("Source et destination identiques");
         }
 
-        if (!accountClient.accountExists(sourceAccountId) || !accountClient.accountExists(destAccountId)) {
+        // Référence déjà utilisée (clé d'idempotence rejouée après sa purge) : la saga fait foi,
+        // seule une saga rejetée est rejouée sous la même référence
+        Optional<TransferSaga> previous = sagaRepository.findById(reference);
+        if (previous.isPresent() && !TransferSaga.STATUS_FAILED.equals(previous.get().getStatus())) {
+            return transferOutcome(reference).orElseThrow();
+        }
+
+        // Rejet immédiat des comptes inexistants : les deux lectures sont indépendantes,
+        // elles partent en parallèle (latence max() au lieu de la somme)
+        CompletableFuture<Optional<AccountSummary>> source = accountCache.findAsync(sourceAccountId);
+        CompletableFuture<Optional<AccountSummary>> destination = accountCache.findAsync(destAccountId);
+        awaitAll(source, destination);
+        if (source.join().isEmpty() || destination.join().isEmpty()) {
             throw new IllegalArgumentException("Compte(s) inexistant(s)");
         }
+        AccountSummary sourceAccount = source.join().get();
+        if (checkVelocity) {
+            velocityGuard.check("VIREMENT", sourceAccountId, sourceAccount.getClientId(), request.getAmount());
+        }
+        DailyLimitService.Reservation reservation = dailyLimits.reserve(sourceAccountId,
+                sourceAccount.getAccountType(), DailyLimitService.TRANSFER, request.getAmount());
 
-        if (!accountClient.hasSufficientBalance(sourceAccountId, request.getAmount())) {
-            logger.warn("Solde insuffisant pour {}", mask(sourceAccountId));
-            throw new RuntimeException("Solde insuffisant");
+        Transaction tx;
+        try {
+            tx = runSaga(reference, sourceAccountId, destAccountId, request.getAmount(), null);
+        } catch (TransferPendingException e) {
+            // Issue inconnue : le montant reste compté dans le plafond du jour
+            throw e;
+        } catch (RuntimeException e) {
+            dailyLimits.release(reservation);
+            throw e;
         }
 
-        accountClient.updateBalance(sourceAccountId, request.getAmount().negate());
-        accountClient.updateBalance(destAccountId, request.getAmount());
+        return buildTransferResponse(tx);
+    }
 
-        Transaction tx = saveTransaction(sourceAccountId, destAccountId, request.getAmount(), "VIREMENT");
+    // Virement complet sous saga, bloquant (appelé aussi par ReactiveTransactionService sur boundedElastic).
+    // Lève TransferPendingException si l'issue reste inconnue, toute autre exception si rien n'a été appliqué
+    Transaction runSaga(String reference, String sourceAccountId, String destAccountId, BigDecimal amount,
+            String authorization) {
+        // Verrous pris avant de persister la saga : un délai d'attente dépassé ne laisse aucune saga PENDING
+        // que la reprise appliquerait après qu'une erreur a été rendue au client.
+        // La saga est persistée avant l'appel : si la réponse se perd, TransferSagaRecovery
+        // rejoue le virement (idempotent par référence) ou le compense
+        AtomicReference<TransferSaga> saga = new AtomicReference<>();
+        AccountTransferResult result = accountLocks.withAccountLocks(sourceAccountId, destAccountId, () -> {
+            saga.set(sagaRepository.save(new TransferSaga(reference,
+                    sourceAccountId, destAccountId, amount,
+                    LocalDateTime.now().plusNanos(sagaStaleAfterMs * 1_000_000))));
+            // Un seul appel : account-service valide, débite et crédite dans la même transaction
+            return applySaga(saga.get(), authorization);
+        });
+
+        return recordSaga(saga.get(), result);
+    }
 
-        // --- NOTIFICATIONS ---
+    // Applique le virement de la saga côté account-service ; authorization null = jeton de la requête en cours.
+    // Un rejet métier clôt la saga (FAILED) ; une erreur technique la laisse ouverte pour la reprise
+    AccountTransferResult applySaga(TransferSaga saga, String authorization) {
+        AccountTransferRequest transfer = new AccountTransferRequest(saga.getSourceAccountId(),
+                saga.getDestinationAccountId(), saga.getAmount(), saga.getReference());
         try {
-            // Récupérer infos client source
-            String sourceClientId = accountClient.getClientByAccountNumber(sourceAccountId);
-            // String sourceEmail = accountClient.getEmailByClientId(sourceClientId);
+            return authorization == null
+                    ? accountClient.transfer(transfer)
+                    : accountClient.transferAs(authorization, transfer);
+        } catch (FeignException.NotFound e) {
+            closeSaga(saga, TransferSaga.STATUS_FAILED, e);
+            throw new IllegalArgumentException("Compte(s) inexistant(s)");
+        } catch (FeignException.BadRequest e) {
+            closeSaga(saga, TransferSaga.STATUS_FAILED, e);
+            logger.warn("Solde insuffisant pour {}", mask(saga.getSourceAccountId()));
+            throw new RuntimeException("Solde insuffisant");
+        } catch (FeignException.Conflict e) {
+            closeSaga(saga, TransferSaga.STATUS_FAILED, e);
+            throw new IllegalArgumentException("Compte(s) inactif(s)");
+        } catch (FeignException.Forbidden e) {
+            // Virement réservé aux rôles EMPLOYEE et ADMIN côté account-service : rien n'a été appliqué
+            closeSaga(saga, TransferSaga.STATUS_FAILED, e);
+            throw new AccessDeniedException("Virement non autorisé");
+        } catch (FeignException.Gone e) {
+            // Référence déjà annulée par la compensation
+            closeSaga(saga, TransferSaga.STATUS_COMPENSATED, e);
+            throw new IllegalStateException("Virement annulé");
+        } catch (RuntimeException e) {
+            logger.warn("Virement {} non confirmé : {}", saga.getReference(), e.getMessage());
+            throw new TransferPendingException(saga.getReference(), e);
+        }
+    }
 
-            // Récupérer infos client destination
-            String destClientId = accountClient.getClientByAccountNumber(destAccountId);
-            // String destEmail = accountClient.getEmailByClientId(destClientId);
+    // Enregistre le virement appliqué ; en cas d'échec, la saga passe CREDITED
+    // et l'enregistrement est repris en arrière-plan
+    Transaction recordSaga(TransferSaga saga, AccountTransferResult result) {
+        try {
+            return saveTransferWithNotifications(saga.getSourceAccountId(), saga.getDestinationAccountId(),
+                    saga.getAmount(), result, saga);
+        } catch (SagaClosedException e) {
+            // Compensée ou clôturée en échec entre-temps : rien à enregistrer, la saga garde son statut
+            logger.warn("Virement {} non enregistré : saga {}", saga.getReference(), e.getMessage());
+            throw new IllegalStateException("Virement annulé");
+        } catch (RuntimeException e) {
+            logger.error("Virement {} appliqué mais non enregistré : {}", saga.getReference(), e.getMessage());
+            try {
+                saga.setStatus(TransferSaga.STATUS_CREDITED);
+                saga.setSourceClientId(result.getSourceClientId());
+                saga.setDestinationClientId(result.getDestinationClientId());
+                saga.setLastError(truncate(e.getMessage()));
+                saga.setUpdatedAt(LocalDateTime.now());
+                sagaRepository.save(saga);
+            } catch (RuntimeException ignored) {
+                // La saga reste PENDING : la reprise rejouera le virement, sans effet côté comptes
+            }
+            throw new TransferPendingException(saga.getReference(), e);
+        }
+    }
+
+    private static final class SagaClosedException extends IllegalStateException {
+        private SagaClosedException(String status) {
+            super(status);
+        }
+    }
+
+    private void closeSaga(TransferSaga saga, String status, Exception cause) {
+        saga.setStatus(status);
+        saga.setLastError(truncate(cause.getMessage()));
+        saga.setUpdatedAt(LocalDateTime.now());
+        sagaRepository.save(saga);
+    }
+
+    // Écriture du virement et des notifications dans la même transaction locale ;
+    // NotificationOutboxRelay les transmet ensuite à notification-service.
+    // Avec une saga, son passage à RECORDED est écrit dans la même transaction, sous verrou :
+    // la requête et la reprise ne peuvent pas enregistrer deux fois le même virement
+    private Transaction saveTransferWithNotifications(String sourceAccountId, String destAccountId, BigDecimal amount,
+            AccountTransferResult result, TransferSaga saga) {
+        return transactionTemplate.execute(status -> {
+            if (saga != null) {
+                TransferSaga current = sagaRepository.findForUpdate(saga.getReference()).orElse(saga);
+                if (TransferSaga.STATUS_RECORDED.equals(current.getStatus())) {
+                    return transactionRepository.findById(current.getTransactionId()).orElseThrow();
+                }
+                // Statuts finaux eux aussi : un virement compensé ou en échec ne doit pas entrer au grand livre
+                if (TransferSaga.STATUS_COMPENSATED.equals(current.getStatus())
+                        || TransferSaga.STATUS_FAILED.equals(current.getStatus())) {
+                    throw new SagaClosedException(current.getStatus());
+                }
+            }
+
+            Transaction saved = saveTransaction(sourceAccountId, destAccountId, amount, "VIREMENT");
 
             // Notification pour l'émetteur
-            NotificationRequest notifSource = new NotificationRequest(
-                    sourceClientId,
+            NotificationOutbox notifSource = new NotificationOutbox(
+                    String.valueOf(result.getSourceClientId()),
                     sourceAccountId,
                     "Virement envoyé",
-                    "Vous avez transféré " + request.getAmount() + " MAD vers le compte " + destAccountId);
-            notificationClient.sendGenericNotification(notifSource);
+                    "Vous avez transféré " + amount + " MAD vers le compte " + destAccountId);
 
             // Notification pour le bénéficiaire
-            NotificationRequest notifDest = new NotificationRequest(
-                    destClientId,
+            NotificationOutbox notifDest = new NotificationOutbox(
+                    String.valueOf(result.getDestinationClientId()),
                     destAccountId,
                     "Virement reçu",
-                    "Vous avez reçu " + request.getAmount() + " MAD du compte " + mask(sourceAccountId));
-            notificationClient.sendGenericNotification(notifDest);
+                    "Vous avez reçu " + amount + " MAD du compte " + mask(sourceAccountId));
+
+            outboxRepository.saveAll(List.of(notifSource, notifDest));
+
+            if (saga != null) {
+                saga.setStatus(TransferSaga.STATUS_RECORDED);
+                saga.setSourceClientId(result.getSourceClientId());
+                saga.setDestinationClientId(result.getDestinationClientId());
+                saga.setTransactionId(saved.getId());
+                saga.setLastError(null);
+                saga.setUpdatedAt(LocalDateTime.now());
+                sagaRepository.save(saga);
+            }
+            return saved;
+        });
+    }
+
+    // Le cumul du jour a déjà été compté par la réservation du plafond
+    Transaction saveWithdrawal(String accountId, BigDecimal amount) {
+        return transactionTemplate.execute(status -> saveTransaction(accountId, null, amount, "RETRAIT"));
+    }
 
-        } catch (Exception e) {
-            logger.error("Erreur lors de l'envoi de la notification de virement : {}", e.getMessage());
+    // Attend toutes les lectures ; au premier échec ou à l'expiration du délai, les autres sont annulées
+    private void awaitAll(CompletableFuture<?>... calls) {
+        CompletableFuture<Object> firstFailure = new CompletableFuture<>();
+        for (CompletableFuture<?> call : calls) {
+            call.whenComplete((result, error) -> {
+                if (error != null) {
+                    firstFailure.completeExceptionally(error);
+                }
+            });
         }
 
-        return buildTransferResponse(tx);
+        try {
+            CompletableFuture.anyOf(CompletableFuture.allOf(calls), firstFailure)
+                    .get(lookupTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            cancelAll(calls);
+            throw new RuntimeException("Service des comptes indisponible (délai dépassé)");
+        } catch (ExecutionException e) {
+            cancelAll(calls);
+            Throwable cause = e.getCause();
+            while (cause instanceof CompletionException && cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new RuntimeException("Service des comptes indisponible", cause);
+        } catch (InterruptedException e) {
+            cancelAll(calls);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Vérification des comptes interrompue");
+        }
+    }
+
+    // Les lectures d'AccountNearCache.findAsync relaient l'annulation à leur tâche (file ou interruption)
+    private void cancelAll(CompletableFuture<?>... calls) {
+        for (CompletableFuture<?> call : calls) {
+            call.cancel(true);
+        }
     }
 
-    private void validateAmount(BigDecimal amount) {
+    private AccountSummary requireActiveAccount(String accountId) {
+        AccountSummary account = accountCache.find(accountId)
+                .orElseThrow(() -> new IllegalArgumentException("Compte inexistant"));
+        if (!account.isActive()) {
+            throw new IllegalArgumentException("Compte inactif");
+        }
+        return account;
+    }
+
+    void validateAmount(BigDecimal amount) {
         if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
             throw new IllegalArgumentException("Montant invalide");
         }
     }
 
-    private Transaction saveTransaction(String source, String dest, BigDecimal amount, String type) {
+    Transaction saveTransaction(String source, String dest, BigDecimal amount, String type) {
         Transaction tx = new Transaction();
         tx.setSourceAccountId(source);
         tx.setDestinationAccountId(dest);
@@ -148,7 +421,7 @@ public class TransactionService {
         return transactionRepository.save(tx);
     }
 
-    private DepositResponse buildDepositResponse(Transaction transaction) {
+    DepositResponse buildDepositResponse(Transaction transaction) {
         DepositResponse response = new DepositResponse();
         response.setId(transaction.getId());
         response.setAccountId(transaction.getDestinationAccountId());
@@ -158,7 +431,7 @@ public class TransactionService {
         return response;
     }
 
-    private WithdrawResponse buildWithdrawResponse(Transaction transaction) {
+    WithdrawResponse buildWithdrawResponse(Transaction transaction) {
         WithdrawResponse response = new WithdrawResponse();
         response.setId(transaction.getId());
         response.setAccountId(transaction.getSourceAccountId());
@@ -168,7 +441,7 @@ public class TransactionService {
         return response;
     }
 
-    private TransferResponse buildTransferResponse(Transaction transaction) {
+    TransferResponse buildTransferResponse(Transaction transaction) {
         TransferResponse response = new TransferResponse();
         response.setId(transaction.getId());
         response.setSourceAccountId(transaction.getSourceAccountId());
@@ -179,7 +452,14 @@ public class TransactionService {
         return response;
     }
 
-    private String mask(String accountId) {
+    static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() <= 500 ? message : message.substring(0, 500);
+    }
+
+    String mask(String accountId) {
         return accountId == null ? "" : "****" + accountId.substring(accountId.length() - 4);
     }
 }
@@ -0,0 +1,154 @@
+package com.securitybanking.transaction.service;
+
+import com.securitybanking.transaction.FeignClient.AccountClient;
+import com.securitybanking.transaction.config.ServiceTokenProvider;
+import com.securitybanking.transaction.dto.AccountTransferRequest;
+import com.securitybanking.transaction.dto.AccountTransferResult;
+import com.securitybanking.transaction.entity.TransferSaga;
+import com.securitybanking.transaction.exception.TransferPendingException;
+import com.securitybanking.transaction.repository.TransferSagaRepository;
+import feign.FeignException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Termine ou compense par lots les sagas de virement restées ouvertes (réponse perdue, délai dépassé,
+ * enregistrement local en échec). Une saga PENDING est rejouée (idempotent par référence côté comptes),
+ * puis compensée après le nombre maximal de tentatives ; une saga CREDITED est seulement enregistrée.
+ * Les sagas sont réservées avec SKIP LOCKED : plusieurs instances se partagent la reprise.
+ */
+@Component
+public class TransferSagaRecovery {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransferSagaRecovery.class);
+
+    private final TransferSagaRepository sagaRepository;
+    private final TransactionService transactionService;
+    private final AccountClient accountClient;
+    private final ServiceTokenProvider serviceToken;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long baseBackoffMillis;
+    private final long maxBackoffMillis;
+    private final long staleAfterMillis;
+
+    public TransferSagaRecovery(TransferSagaRepository sagaRepository,
+            TransactionService transactionService,
+            AccountClient accountClient,
+            ServiceTokenProvider serviceToken,
+            TransactionTemplate transactionTemplate,
+            @Value("${transaction.saga.batch-size:50}") int batchSize,
+            @Value("${transaction.saga.max-attempts:5}") int maxAttempts,
+            @Value("${transaction.saga.base-backoff-ms:1000}") long baseBackoffMillis,
+            @Value("${transaction.saga.max-backoff-ms:300000}") long maxBackoffMillis,
+            @Value("${transaction.saga.stale-after-ms:30000}") long staleAfterMillis) {
+        this.sagaRepository = sagaRepository;
+        this.transactionService = transactionService;
+        this.accountClient = accountClient;
+        this.serviceToken = serviceToken;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.baseBackoffMillis = baseBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.staleAfterMillis = staleAfterMillis;
+    }
+
+    @Scheduled(fixedDelayString = "${transaction.saga.poll-interval-ms:5000}")
+    public void recover() {
+        List<TransferSaga> batch;
+        do {
+            batch = claim();
+            batch.forEach(this::resume);
+        } while (batch.size() == batchSize);
+    }
+
+    // Réservation courte : next_attempt_at est repoussé (bail) avant de relâcher les verrous,
+    // les appels à account-service se font ensuite hors transaction
+    private List<TransferSaga> claim() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<TransferSaga> due = sagaRepository.claimDue(now, PageRequest.of(0, batchSize));
+            for (TransferSaga saga : due) {
+                saga.setAttempts(saga.getAttempts() + 1);
+                saga.setNextAttemptAt(now.plusNanos(staleAfterMillis * 1_000_000));
+                saga.setUpdatedAt(now);
+            }
+            return sagaRepository.saveAll(due);
+        });
+    }
+
+    private void resume(TransferSaga saga) {
+        try {
+            if (TransferSaga.STATUS_CREDITED.equals(saga.getStatus())) {
+                transactionService.recordSaga(saga, creditedResult(saga));
+            } else if (saga.getAttempts() > maxAttempts) {
+                compensate(saga);
+            } else {
+                AccountTransferResult result = transactionService.applySaga(saga, serviceToken.authorization());
+                transactionService.recordSaga(saga, result);
+            }
+            logger.info("Saga {} terminée : {}", saga.getReference(), saga.getStatus());
+        } catch (TransferPendingException e) {
+            reschedule(saga, e.getCause() != null ? e.getCause() : e);
+        } catch (RuntimeException e) {
+            // Rejet métier : applySaga a déjà clôturé la saga (FAILED ou COMPENSATED)
+            logger.warn("Saga {} rejetée par account-service : {}", saga.getReference(), e.getMessage());
+        }
+    }
+
+    // Annule la référence côté comptes ; un virement déjà appliqué y est reversé
+    private void compensate(TransferSaga saga) {
+        AccountTransferRequest request = new AccountTransferRequest(saga.getSourceAccountId(),
+                saga.getDestinationAccountId(), saga.getAmount(), saga.getReference());
+        try {
+            accountClient.cancelTransfer(serviceToken.authorization(), request);
+            close(saga, TransferSaga.STATUS_COMPENSATED, null);
+            logger.warn("Saga {} compensée après {} tentatives", saga.getReference(), saga.getAttempts() - 1);
+        } catch (FeignException.BadRequest | FeignException.NotFound e) {
+            // Le compte destinataire ne couvre plus le montant : intervention manuelle
+            close(saga, TransferSaga.STATUS_FAILED, e);
+            logger.error("Compensation impossible pour la saga {} : {}", saga.getReference(), e.getMessage());
+        } catch (RuntimeException e) {
+            reschedule(saga, e);
+        }
+    }
+
+    private AccountTransferResult creditedResult(TransferSaga saga) {
+        AccountTransferResult result = new AccountTransferResult();
+        result.setReference(saga.getReference());
+        result.setSourceAccountNumber(saga.getSourceAccountId());
+        result.setSourceClientId(saga.getSourceClientId());
+        result.setDestinationAccountNumber(saga.getDestinationAccountId());
+        result.setDestinationClientId(saga.getDestinationClientId());
+        result.setAmount(saga.getAmount());
+        return result;
+    }
+
+    private void reschedule(TransferSaga saga, Throwable cause) {
+        int attempts = saga.getAttempts();
+        long delay = Math.min(maxBackoffMillis, baseBackoffMillis << Math.min(Math.max(attempts - 1, 0), 20));
+        saga.setNextAttemptAt(LocalDateTime.now().plusNanos(delay * 1_000_000));
+        saga.setLastError(TransactionService.truncate(cause.getMessage()));
+        saga.setUpdatedAt(LocalDateTime.now());
+        sagaRepository.save(saga);
+        logger.warn("Échec de reprise de la saga {} (tentative {}), nouvel essai dans {} ms",
+                saga.getReference(), attempts, delay);
+    }
+
+    private void close(TransferSaga saga, String status, Exception cause) {
+        saga.setStatus(status);
+        saga.setLastError(cause == null ? null : TransactionService.truncate(cause.getMessage()));
+        saga.setUpdatedAt(LocalDateTime.now());
+        sagaRepository.save(saga);
+    }
+}
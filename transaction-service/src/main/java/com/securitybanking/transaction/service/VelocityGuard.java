@@ -0,0 +1,150 @@
+package com.securitybanking.transaction.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.securitybanking.transaction.config.VelocityProperties;
+import com.securitybanking.transaction.exception.VelocityLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Règles de vélocité (nombre d'opérations et montant cumulé sur une fenêtre glissante, par compte
+ * ou par client) évaluées en mémoire, avant tout appel à account-service. Chaque opération est
+ * comptée dès son acceptation, même si elle échoue ensuite : les tentatives répétées comptent aussi.
+ * Les compteurs inactifs sont évincés (Caffeine, taille bornée) ; une instance ne voit que son trafic.
+ */
+@Component
+public class VelocityGuard {
+
+    private static final Logger logger = LoggerFactory.getLogger(VelocityGuard.class);
+
+    private static final List<String> ALL_OPERATIONS = List.of("DEPOT", "RETRAIT", "VIREMENT");
+
+    private static final class CompiledRule {
+        private final String name;
+        private final VelocityProperties.Scope scope;
+        private final List<String> operations;
+        private final int buckets;
+        private final int maxCount;
+        private final long maxAmountCents;
+        private final boolean reject;
+        private final Counter triggered;
+
+        private CompiledRule(VelocityProperties.Rule rule, int bucketSeconds, MeterRegistry meterRegistry) {
+            this.name = rule.getName();
+            this.scope = rule.getScope();
+            this.operations = rule.getOperations().isEmpty() ? ALL_OPERATIONS : List.copyOf(rule.getOperations());
+            this.buckets = Math.max(1, (rule.getWindowSeconds() + bucketSeconds - 1) / bucketSeconds);
+            this.maxCount = rule.getMaxCount();
+            this.maxAmountCents = rule.getMaxAmount() == null ? Long.MAX_VALUE : toCents(rule.getMaxAmount());
+            this.reject = rule.getAction() == VelocityProperties.Action.REJECT;
+            this.triggered = meterRegistry.counter("transaction.velocity.triggered",
+                    "rule", name, "action", rule.getAction().name());
+        }
+    }
+
+    private final boolean enabled;
+    private final int bucketSeconds;
+    private final int ringSize;
+    private final List<CompiledRule> rules = new ArrayList<>();
+    private final Cache<String, SlidingWindowCounter> counters;
+
+    public VelocityGuard(VelocityProperties properties, MeterRegistry meterRegistry) {
+        this.bucketSeconds = Math.max(1, properties.getBucketSeconds());
+        int longestWindow = 1;
+        for (VelocityProperties.Rule rule : properties.getRules()) {
+            CompiledRule compiled = new CompiledRule(rule, bucketSeconds, meterRegistry);
+            rules.add(compiled);
+            longestWindow = Math.max(longestWindow, compiled.buckets);
+        }
+        this.ringSize = longestWindow;
+        this.enabled = properties.isEnabled() && !rules.isEmpty();
+
+        // Un compteur sans opération sur la plus longue fenêtre ne porte plus aucune information
+        this.counters = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxKeys())
+                .expireAfterAccess(Duration.ofSeconds((long) ringSize * bucketSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, counters, "velocityCounters");
+    }
+
+    /**
+     * Compte l'opération et évalue les règles. Une règle FLAG est seulement journalisée et mesurée ;
+     * une règle REJECT annule le comptage et lève VelocityLimitExceededException.
+     */
+    public void check(String operation, String accountId, Long clientId, BigDecimal amount) {
+        if (!enabled) {
+            return;
+        }
+        long epoch = System.currentTimeMillis() / 1000 / bucketSeconds;
+        long cents = toCents(amount);
+
+        String accountKey = key("A", accountId, operation);
+        String clientKey = clientId == null ? null : key("C", String.valueOf(clientId), operation);
+        SlidingWindowCounter accountCounter = counter(accountKey);
+        SlidingWindowCounter clientCounter = clientKey == null ? null : counter(clientKey);
+        accountCounter.add(epoch, 1, cents);
+        if (clientCounter != null) {
+            clientCounter.add(epoch, 1, cents);
+        }
+
+        for (CompiledRule rule : rules) {
+            if (!rule.operations.contains(operation)) {
+                continue;
+            }
+            String prefix = rule.scope == VelocityProperties.Scope.ACCOUNT ? "A" : "C";
+            String id = rule.scope == VelocityProperties.Scope.ACCOUNT ? accountId
+                    : clientId == null ? null : String.valueOf(clientId);
+            if (id == null) {
+                continue;
+            }
+
+            int count = 0;
+            long sum = 0;
+            for (String op : rule.operations) {
+                SlidingWindowCounter counter = counters.getIfPresent(key(prefix, id, op));
+                if (counter != null) {
+                    count += counter.count(epoch, rule.buckets);
+                    sum += counter.sum(epoch, rule.buckets);
+                }
+            }
+            if ((rule.maxCount > 0 && count > rule.maxCount) || sum > rule.maxAmountCents) {
+                rule.triggered.increment();
+                if (rule.reject) {
+                    accountCounter.remove(epoch, cents);
+                    if (clientCounter != null) {
+                        clientCounter.remove(epoch, cents);
+                    }
+                    logger.warn("Opération {} refusée par la règle {} (client {}, {} opérations, {} MAD)",
+                            operation, rule.name, clientId, count, BigDecimal.valueOf(sum, 2));
+                    throw new VelocityLimitExceededException(rule.name);
+                }
+                logger.warn("Opération {} signalée par la règle {} (client {}, {} opérations, {} MAD)",
+                        operation, rule.name, clientId, count, BigDecimal.valueOf(sum, 2));
+            }
+        }
+    }
+
+    private SlidingWindowCounter counter(String key) {
+        return counters.get(key, k -> new SlidingWindowCounter(ringSize));
+    }
+
+    private static String key(String scope, String id, String operation) {
+        return scope + '|' + operation + '|' + id;
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue();
+    }
+}
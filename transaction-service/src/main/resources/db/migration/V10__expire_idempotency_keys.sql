@@ -0,0 +1,7 @@
+-- V10__expire_idempotency_keys.sql
+-- Durée de conservation des clés d'idempotence : les lignes expirées sont purgées par lots
+ALTER TABLE idempotency_keys
+    ADD COLUMN expires_at DATETIME(6) NULL,
+    ADD INDEX idx_idempotency_expires_at (expires_at);
+
+UPDATE idempotency_keys SET expires_at = created_at + INTERVAL 1 DAY WHERE expires_at IS NULL;
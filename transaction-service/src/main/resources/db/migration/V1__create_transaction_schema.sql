@@ -0,0 +1,32 @@
+-- V1__create_transaction_schema.sql
+-- Tables déjà créées par hibernate ddl-auto sur les bases existantes : IF NOT EXISTS
+CREATE TABLE IF NOT EXISTS transactions (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    type VARCHAR(255),
+    source_account_id VARCHAR(255),
+    destination_account_id VARCHAR(255),
+    amount DECIMAL(38,2),
+    transaction_date DATETIME(6)
+);
+
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    idempotency_key VARCHAR(150) PRIMARY KEY,
+    operation VARCHAR(20) NOT NULL,
+    response_body TEXT NOT NULL,
+    created_at DATETIME(6) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS notification_outbox (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    client_id VARCHAR(255),
+    recipient VARCHAR(255),
+    subject VARCHAR(500),
+    message TEXT,
+    status VARCHAR(20) NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at DATETIME(6) NOT NULL,
+    last_error VARCHAR(500),
+    created_at DATETIME(6) NOT NULL,
+    sent_at DATETIME(6) NULL,
+    INDEX idx_outbox_status_next_attempt (status, next_attempt_at, id)
+);
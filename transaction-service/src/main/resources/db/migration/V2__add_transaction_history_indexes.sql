@@ -0,0 +1,4 @@
+-- V2__add_transaction_history_indexes.sql
+-- Index composites pour l'historique par compte (pagination par clé sur date + id)
+CREATE INDEX idx_tx_source_date_id ON transactions(source_account_id, transaction_date, id);
+CREATE INDEX idx_tx_destination_date_id ON transactions(destination_account_id, transaction_date, id);
@@ -0,0 +1,13 @@
+-- V3__create_id_generators.sql
+-- Générateur d'identifiants par blocs (remplace AUTO_INCREMENT pour permettre les INSERT en lots)
+CREATE TABLE IF NOT EXISTS id_generators (
+    sequence_name VARCHAR(64) PRIMARY KEY,
+    next_val BIGINT NOT NULL
+);
+
+-- Démarre au-delà des identifiants existants (marge d'un bloc complet)
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'transactions', COALESCE(MAX(id), 0) + 100 FROM transactions;
+
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'notification_outbox', COALESCE(MAX(id), 0) + 100 FROM notification_outbox;
@@ -0,0 +1,28 @@
+-- V4__create_batch_transfer_tables.sql
+CREATE TABLE IF NOT EXISTS batch_transfer_jobs (
+    id VARCHAR(36) PRIMARY KEY,
+    source_account_id VARCHAR(255) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    total_lines INT NOT NULL,
+    processed_lines INT NOT NULL DEFAULT 0,
+    succeeded_lines INT NOT NULL DEFAULT 0,
+    failed_lines INT NOT NULL DEFAULT 0,
+    total_amount DECIMAL(19,4),
+    message VARCHAR(500),
+    created_at DATETIME(6) NOT NULL,
+    completed_at DATETIME(6) NULL
+);
+
+CREATE TABLE IF NOT EXISTS batch_transfer_lines (
+    id BIGINT PRIMARY KEY,
+    job_id VARCHAR(36) NOT NULL,
+    line_number INT NOT NULL,
+    destination_account_id VARCHAR(255),
+    amount DECIMAL(38,2),
+    status VARCHAR(20) NOT NULL,
+    message VARCHAR(500),
+    transaction_id BIGINT,
+    INDEX idx_batch_line_job_line (job_id, line_number)
+);
+
+INSERT INTO id_generators (sequence_name, next_val) VALUES ('batch_transfer_lines', 100);
@@ -0,0 +1,18 @@
+-- V5__create_transfer_sagas.sql
+-- État persistant des virements (saga) : reprise ou compensation par TransferSagaRecovery
+CREATE TABLE IF NOT EXISTS transfer_sagas (
+    reference VARCHAR(36) PRIMARY KEY,
+    source_account_id VARCHAR(255) NOT NULL,
+    destination_account_id VARCHAR(255) NOT NULL,
+    amount DECIMAL(38,2) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at DATETIME(6) NOT NULL,
+    last_error VARCHAR(500),
+    source_client_id BIGINT,
+    destination_client_id BIGINT,
+    transaction_id BIGINT,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    INDEX idx_saga_status_next_attempt (status, next_attempt_at)
+);
@@ -0,0 +1,25 @@
+-- V6__create_daily_limits.sql
+-- Plafonds journaliers par type de compte (NULL = pas de plafond)
+CREATE TABLE IF NOT EXISTS account_type_limits (
+    account_type VARCHAR(20) PRIMARY KEY,
+    daily_withdrawal_limit DECIMAL(38,2) NULL,
+    daily_transfer_limit DECIMAL(38,2) NULL,
+    updated_at DATETIME(6) NOT NULL
+);
+
+INSERT INTO account_type_limits (account_type, daily_withdrawal_limit, daily_transfer_limit, updated_at) VALUES
+    ('CHECKING', 2000.00, 10000.00, NOW(6)),
+    ('SAVINGS', 1000.00, 5000.00, NOW(6)),
+    ('CREDIT', 2000.00, 10000.00, NOW(6)),
+    ('INVESTMENT', 2000.00, 20000.00, NOW(6)),
+    ('BUSINESS', 10000.00, 100000.00, NOW(6));
+
+-- Cumul du jour par compte et type d'opération, incrémenté avec chaque transaction enregistrée
+CREATE TABLE IF NOT EXISTS daily_usage (
+    account_id VARCHAR(255) NOT NULL,
+    usage_date DATE NOT NULL,
+    operation VARCHAR(20) NOT NULL,
+    total_amount DECIMAL(38,2) NOT NULL,
+    operation_count INT NOT NULL,
+    PRIMARY KEY (account_id, usage_date, operation)
+);
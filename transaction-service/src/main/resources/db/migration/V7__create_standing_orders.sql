@@ -0,0 +1,27 @@
+-- V7__create_standing_orders.sql
+-- Ordres de virement différés et permanents, exécutés par StandingOrderScheduler
+CREATE TABLE IF NOT EXISTS standing_orders (
+    id BIGINT PRIMARY KEY,
+    source_account_id VARCHAR(255) NOT NULL,
+    destination_account_id VARCHAR(255) NOT NULL,
+    amount DECIMAL(38,2) NOT NULL,
+    frequency VARCHAR(10) NOT NULL,
+    start_at DATETIME(6) NOT NULL,
+    end_at DATETIME(6),
+    occurrence INT NOT NULL DEFAULT 0,
+    occurrence_at DATETIME(6) NOT NULL,
+    next_run_at DATETIME(6) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    last_error VARCHAR(500),
+    last_reference VARCHAR(36),
+    created_by VARCHAR(255),
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
+    -- Réservation par ordre de clé (next_run_at, id) : l'index couvre le filtre et le tri
+    INDEX idx_standing_order_due (status, next_run_at, id),
+    INDEX idx_standing_order_source (source_account_id)
+);
+
+INSERT INTO id_generators (sequence_name, next_val) VALUES ('standing_orders', 1);
@@ -0,0 +1,9 @@
+-- V8__reserve_idempotency_keys.sql
+-- La clé est réservée (PENDING) avant l'exécution puis complétée avec la réponse (COMPLETED).
+-- idempotency_key devient une empreinte SHA-256 de opération + utilisateur + clé fournie ;
+-- les lignes existantes (format "OPERATION:clé") ne correspondent plus à aucune requête
+ALTER TABLE idempotency_keys
+    MODIFY response_body TEXT NULL,
+    ADD COLUMN principal VARCHAR(255) NULL,
+    ADD COLUMN request_hash CHAR(64) NULL,
+    ADD COLUMN status VARCHAR(20) NOT NULL DEFAULT 'COMPLETED';
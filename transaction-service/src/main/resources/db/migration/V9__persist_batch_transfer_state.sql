@@ -0,0 +1,11 @@
+-- V9__persist_batch_transfer_state.sql
+-- État durable des virements groupés : débit du compte source (PENDING, DEBITED, REFUSED),
+-- lignes à créditer (PENDING) rattachées à leur lot, bail de reprise des traitements interrompus
+ALTER TABLE batch_transfer_jobs
+    ADD COLUMN debit_status VARCHAR(20) NULL,
+    ADD COLUMN next_attempt_at DATETIME(6) NULL,
+    ADD INDEX idx_batch_job_status_next (status, next_attempt_at);
+
+ALTER TABLE batch_transfer_lines
+    ADD COLUMN chunk_number INT NULL,
+    ADD INDEX idx_batch_line_job_chunk (job_id, chunk_number);
@@ -0,0 +1,11 @@
+package com.securitybanking.transaction;
+
+import org.springframework.boot.SpringApplication;
+
+// Démarre l'application avec le classpath de test : les benchmarks (package benchmark, sources de test)
+// ne sont pas livrés dans le jar. mvn spring-boot:test-run -Dspring-boot.run.profiles=<profil du benchmark>
+public class TestTransactionServiceApplication {
+    public static void main(String[] args) {
+        SpringApplication.from(TransactionServiceApplication::main).run(args);
+    }
+}
@@ -0,0 +1,115 @@
+package com.securitybanking.transaction.benchmark;
+
+import com.securitybanking.transaction.FeignClient.AccountClient;
+import com.securitybanking.transaction.FeignClient.AccountRpcClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Compare la lecture du résumé d'un compte par HTTP/JSON (client Feign, JWT validé à chaque
+ * appel) et par le canal binaire interne, en appels bloquants puis en pipelining
+ * (fenêtre de requêtes en vol sur les connexions du canal).
+ * Nécessite account-service démarré avec account.rpc.enabled=true ; se lance depuis les sources de test :
+ *   mvn spring-boot:test-run -Dspring-boot.run.profiles=rpc-benchmark
+ *   -Dspring-boot.run.arguments="--transaction.account-rpc.enabled=true --transaction.account-rpc.secret=...
+ *   --benchmark.rpc.token=... --benchmark.rpc.account=..."
+ */
+@Component
+@Profile("rpc-benchmark")
+public class AccountRpcBenchmark implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountRpcBenchmark.class);
+
+    private final AccountClient httpClient;
+    private final AccountRpcClient rpcClient;
+    private final String authorization;
+    private final String accountNumber;
+    private final int calls;
+    private final int threads;
+    private final int window;
+
+    public AccountRpcBenchmark(@Qualifier("accountFeignClient") AccountClient httpClient,
+            AccountRpcClient rpcClient,
+            @Value("${benchmark.rpc.token}") String token,
+            @Value("${benchmark.rpc.account}") String accountNumber,
+            @Value("${benchmark.rpc.calls:100000}") int calls,
+            @Value("${benchmark.rpc.threads:32}") int threads,
+            @Value("${benchmark.rpc.window:256}") int window) {
+        this.httpClient = httpClient;
+        this.rpcClient = rpcClient;
+        this.authorization = "Bearer " + token;
+        this.accountNumber = accountNumber;
+        this.calls = calls;
+        this.threads = threads;
+        this.window = window;
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        blocking("HTTP/JSON (Feign)", () -> httpClient.getAccountSummary(authorization, accountNumber));
+        blocking("Canal binaire", () -> rpcClient.getAccountSummary(accountNumber));
+        pipelined();
+    }
+
+    private void blocking(String name, Runnable call) throws Exception {
+        int perThread = calls / threads;
+        runThreads(Math.min(perThread, 2_000), call); // chauffe
+
+        long start = System.nanoTime();
+        runThreads(perThread, call);
+        report(name + ", " + threads + " threads", perThread * threads, System.nanoTime() - start);
+    }
+
+    private void runThreads(int perThread, Runnable call) throws Exception {
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                results.add(workers.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        call.run();
+                    }
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            workers.shutdown();
+        }
+    }
+
+    // Un seul thread émetteur, jusqu'à "window" requêtes en vol
+    private void pipelined() throws Exception {
+        Semaphore inFlight = new Semaphore(window);
+        long start = System.nanoTime();
+        CompletableFuture<?> last = CompletableFuture.completedFuture(null);
+        for (int i = 0; i < calls; i++) {
+            inFlight.acquire();
+            last = rpcClient.summaryAsync(accountNumber).whenComplete((summary, error) -> inFlight.release());
+        }
+        inFlight.acquire(window);
+        last.join();
+        report("Canal binaire, pipelining fenêtre " + window, calls, System.nanoTime() - start);
+    }
+
+    private void report(String name, long total, long nanos) {
+        double seconds = nanos / 1_000_000_000.0;
+        logger.info("Benchmark {} : {} appels en {} s ({} appels/s, {} µs en moyenne)",
+                name, total, String.format("%.2f", seconds), Math.round(total / seconds),
+                Math.round(nanos / 1000.0 / total));
+    }
+}
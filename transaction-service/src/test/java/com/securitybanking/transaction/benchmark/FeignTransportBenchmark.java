@@ -0,0 +1,124 @@
+package com.securitybanking.transaction.benchmark;
+
+import com.sun.net.httpserver.HttpServer;
+import feign.Client;
+import feign.Feign;
+import feign.Param;
+import feign.RequestLine;
+import feign.hc5.ApacheHttp5Client;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Micro-benchmark du transport Feign contre un serveur bouchon local (réponse "true") :
+ * débit (appels/s) et octets alloués par appel côté client, pour HttpURLConnection
+ * (client Feign par défaut) puis pour le client Apache HttpClient 5 mutualisé de l'application.
+ * Se lance depuis les sources de test (non livré dans le jar) :
+ *   mvn spring-boot:test-run -Dspring-boot.run.profiles=transport-benchmark
+ */
+@Component
+@Profile("transport-benchmark")
+public class FeignTransportBenchmark implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(FeignTransportBenchmark.class);
+    private static final byte[] STUB_BODY = "true".getBytes(StandardCharsets.UTF_8);
+
+    interface StubAccountApi {
+        @RequestLine("GET /api/accounts/{accountNumber}/exists")
+        String accountExists(@Param("accountNumber") String accountNumber);
+    }
+
+    private final CloseableHttpClient feignHttpClient;
+    private final int calls;
+    private final int threads;
+
+    public FeignTransportBenchmark(CloseableHttpClient feignHttpClient,
+            @Value("${benchmark.transport.calls:200000}") int calls,
+            @Value("${benchmark.transport.threads:32}") int threads) {
+        this.feignHttpClient = feignHttpClient;
+        this.calls = calls;
+        this.threads = threads;
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        HttpServer stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        stub.createContext("/", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, STUB_BODY.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(STUB_BODY);
+            }
+        });
+        ExecutorService stubExecutor = Executors.newFixedThreadPool(threads);
+        stub.setExecutor(stubExecutor);
+        stub.start();
+        String url = "http://127.0.0.1:" + stub.getAddress().getPort();
+
+        try {
+            measure("HttpURLConnection", new Client.Default(null, null), url);
+            measure("Apache HttpClient 5 (pool)", new ApacheHttp5Client(feignHttpClient), url);
+        } finally {
+            stub.stop(0);
+            stubExecutor.shutdown();
+        }
+    }
+
+    private void measure(String name, Client client, String url) throws Exception {
+        StubAccountApi api = Feign.builder().client(client).target(StubAccountApi.class, url);
+
+        // Chauffe : JIT et ouverture des connexions
+        run(api, Math.min(calls, 20_000));
+
+        int measured = calls / threads * threads;
+        long start = System.nanoTime();
+        long allocated = run(api, measured);
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        logger.info("Transport {} : {} appels/s, {} octets alloués par appel ({} threads)",
+                name, Math.round(measured / seconds), allocated / measured, threads);
+    }
+
+    // Retourne les octets alloués par les threads appelants
+    private long run(StubAccountApi api, int total) throws Exception {
+        com.sun.management.ThreadMXBean threadBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Long>> results = new ArrayList<>();
+            int perThread = total / threads;
+            for (int t = 0; t < threads; t++) {
+                results.add(workers.submit(() -> {
+                    long before = threadBean.getCurrentThreadAllocatedBytes();
+                    for (int i = 0; i < perThread; i++) {
+                        api.accountExists("0000000001");
+                    }
+                    return threadBean.getCurrentThreadAllocatedBytes() - before;
+                }));
+            }
+            long allocated = 0;
+            for (Future<Long> result : results) {
+                allocated += result.get();
+            }
+            return allocated;
+        } finally {
+            workers.shutdown();
+        }
+    }
+}
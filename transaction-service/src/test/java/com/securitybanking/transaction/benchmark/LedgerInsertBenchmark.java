@@ -0,0 +1,66 @@
+package com.securitybanking.transaction.benchmark;
+
+import com.securitybanking.transaction.entity.Transaction;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Mesure du débit d'insertion du grand livre (lignes/seconde).
+ * À lancer uniquement sur une base jetable, depuis les sources de test :
+ *   mvn spring-boot:test-run -Dspring-boot.run.profiles=benchmark
+ * Comparer le résultat avec et sans le générateur par blocs (IDENTITY empêche le batching JDBC).
+ */
+@Component
+@Profile("benchmark")
+public class LedgerInsertBenchmark implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(LedgerInsertBenchmark.class);
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int rows;
+    private final int chunkSize;
+
+    public LedgerInsertBenchmark(EntityManager entityManager,
+            TransactionTemplate transactionTemplate,
+            @Value("${benchmark.ledger.rows:100000}") int rows,
+            @Value("${benchmark.ledger.chunk-size:1000}") int chunkSize) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.rows = rows;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public void run(String... args) {
+        long start = System.nanoTime();
+        for (int offset = 0; offset < rows; offset += chunkSize) {
+            int from = offset;
+            int to = Math.min(rows, offset + chunkSize);
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int i = from; i < to; i++) {
+                    Transaction tx = new Transaction();
+                    tx.setType("DEPOT");
+                    tx.setDestinationAccountId(String.format("%010d", i % 10_000));
+                    tx.setAmount(BigDecimal.valueOf(i % 1000 + 1));
+                    tx.setTransactionDate(LocalDateTime.now());
+                    entityManager.persist(tx);
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        logger.info("Benchmark grand livre : {} lignes en {} s ({} lignes/s)",
+                rows, String.format("%.2f", seconds), Math.round(rows / seconds));
+    }
+}
@@ -0,0 +1,174 @@
+package com.securitybanking.transaction.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Charge en boucle fermée sur POST /api/transactions/transfer : N clients simultanés
+ * (5000 par défaut) enchaînent les virements pendant la durée de mesure.
+ * Rapporte les virements/seconde soutenus, la latence p50/p99 et le nombre de threads
+ * (plateforme) de l'instance ciblée, lu sur /actuator/metrics.
+ *
+ * Lancer deux fois contre la même base, le service ciblé démarré avec
+ * VIRTUAL_THREADS_ENABLED=false puis true (jar construit avec -Pvirtual-threads).
+ * Le client de charge se lance depuis les sources de test :
+ *   mvn spring-boot:test-run -Dspring-boot.run.profiles=load-benchmark
+ *   -Dspring-boot.run.arguments="--server.port=0 --benchmark.load.token=... --benchmark.load.accounts=ACC1,ACC2,..."
+ * Prévoir un ulimit -n supérieur au nombre de clients (une connexion par client).
+ */
+@Component
+@Profile("load-benchmark")
+public class TransferLoadBenchmark implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransferLoadBenchmark.class);
+    private static final int MAX_LATENCY_MS = 60_000;
+
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+    private final String authorization;
+    private final List<String> accounts;
+    private final int clients;
+    private final Duration warmup;
+    private final Duration duration;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    // Histogramme des latences à la milliseconde
+    private final AtomicLongArray latencies = new AtomicLongArray(MAX_LATENCY_MS + 1);
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private volatile boolean measuring;
+
+    public TransferLoadBenchmark(ObjectMapper objectMapper,
+            @Value("${benchmark.load.target:http://localhost:8083}") String baseUrl,
+            @Value("${benchmark.load.token}") String token,
+            @Value("${benchmark.load.accounts}") List<String> accounts,
+            @Value("${benchmark.load.clients:5000}") int clients,
+            @Value("${benchmark.load.warmup-seconds:30}") long warmupSeconds,
+            @Value("${benchmark.load.duration-seconds:120}") long durationSeconds) {
+        if (accounts.size() < 2) {
+            throw new IllegalArgumentException("benchmark.load.accounts : au moins deux comptes requis");
+        }
+        this.objectMapper = objectMapper;
+        this.baseUrl = baseUrl;
+        this.authorization = "Bearer " + token;
+        this.accounts = accounts;
+        this.clients = clients;
+        this.warmup = Duration.ofSeconds(warmupSeconds);
+        this.duration = Duration.ofSeconds(durationSeconds);
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        long warmupEnd = System.nanoTime() + warmup.toNanos();
+        long end = warmupEnd + duration.toNanos();
+        CountDownLatch done = new CountDownLatch(clients);
+
+        logger.info("Benchmark virements : {} clients vers {}, mesure {} s après {} s de chauffe",
+                clients, baseUrl, duration.toSeconds(), warmup.toSeconds());
+
+        for (int i = 0; i < clients; i++) {
+            sendNext(end, done);
+        }
+
+        Thread.sleep(warmup.toMillis());
+        measuring = true;
+        long measureStart = System.nanoTime();
+        done.await();
+        measuring = false;
+        double seconds = (System.nanoTime() - measureStart) / 1_000_000_000.0;
+
+        long ok = succeeded.sum();
+        logger.info("Benchmark virements : {} réussis, {} en échec, {} virements/s, p50 {} ms, p99 {} ms",
+                ok, failed.sum(), Math.round(ok / seconds), percentile(0.50), percentile(0.99));
+        logger.info("Threads de l'instance ciblée : {} actifs, pic {}",
+                serverMetric("jvm.threads.live"), serverMetric("jvm.threads.peak"));
+    }
+
+    // Un client enchaîne un nouveau virement dès la réponse précédente, jusqu'à l'échéance
+    private void sendNext(long end, CountDownLatch done) {
+        if (System.nanoTime() >= end) {
+            done.countDown();
+            return;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int source = random.nextInt(accounts.size());
+        int destination = (source + 1 + random.nextInt(accounts.size() - 1)) % accounts.size();
+        String body = "{\"sourceAccountId\":\"" + accounts.get(source)
+                + "\",\"destinationAccountId\":\"" + accounts.get(destination)
+                + "\",\"amount\":0.01}";
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/transactions/transfer"))
+                .timeout(Duration.ofSeconds(MAX_LATENCY_MS / 1000))
+                .header("Authorization", authorization)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+
+        long start = System.nanoTime();
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    if (measuring) {
+                        record(start, error == null && response.statusCode() / 100 == 2);
+                    }
+                    sendNext(end, done);
+                });
+    }
+
+    private void record(long start, boolean success) {
+        if (success) {
+            succeeded.increment();
+            int millis = (int) Math.min(MAX_LATENCY_MS, (System.nanoTime() - start) / 1_000_000);
+            latencies.incrementAndGet(millis);
+        } else {
+            failed.increment();
+        }
+    }
+
+    private long percentile(double quantile) {
+        long total = succeeded.sum();
+        long threshold = (long) Math.ceil(total * quantile);
+        long seen = 0;
+        for (int millis = 0; millis <= MAX_LATENCY_MS; millis++) {
+            seen += latencies.get(millis);
+            if (seen >= threshold && seen > 0) {
+                return millis;
+            }
+        }
+        return MAX_LATENCY_MS;
+    }
+
+    private String serverMetric(String name) {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/metrics/" + name))
+                    .header("Authorization", authorization)
+                    .GET()
+                    .build();
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            JsonNode measurement = objectMapper.readTree(response.body()).path("measurements").path(0);
+            return String.valueOf(Math.round(measurement.path("value").asDouble()));
+        } catch (Exception e) {
+            return "indisponible (" + e.getMessage() + ")";
+        }
+    }
+}